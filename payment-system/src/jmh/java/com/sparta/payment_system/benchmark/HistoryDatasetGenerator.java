@@ -0,0 +1,91 @@
+package com.sparta.payment_system.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * 주문 내역 페이지 조회 벤치마크용 데이터셋 생성기입니다.
+ * 대상 사용자의 주문을 1초 간격으로 만들고, 다른 사용자들의 주문을 사이사이에 섞어 인덱스에 분포시킵니다.
+ * 생성 규칙이 결정적이므로 i번째 주문의 (created_at, order_id)를 다시 조회하지 않고 계산할 수 있습니다.
+ *
+ * <p>MySQL에 직접 채울 때: {@code java ... HistoryDatasetGenerator <jdbcUrl> <user> <password> <userId> <rows> <startOrderId>}
+ * (스키마는 애플리케이션이 생성한 orders 테이블과 idx_orders_user_created 인덱스를 사용합니다)
+ */
+public class HistoryDatasetGenerator {
+
+    static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO orders (order_id, user_id, total_amount, status, created_at) VALUES (?, ?, ?, ?, ?)";
+    private static final int BATCH_SIZE = 1000;
+    private static final int OTHER_USERS = 4;
+
+    private HistoryDatasetGenerator() {
+    }
+
+    /**
+     * 벤치마크용 H2 스키마를 만듭니다. (JPA가 만드는 orders 테이블과 같은 컬럼/인덱스)
+     * MySQL은 오름차순 인덱스를 역방향으로 스캔하지만 H2는 그렇지 않으므로 내림차순 인덱스로 만듭니다.
+     */
+    static void createSchema(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE orders (order_id BIGINT PRIMARY KEY, user_id BIGINT NOT NULL, " +
+                    "total_amount DECIMAL(10, 2) NOT NULL, status VARCHAR(50) NOT NULL, created_at TIMESTAMP NOT NULL)");
+            statement.execute("CREATE INDEX idx_orders_user_created ON orders (user_id, created_at DESC, order_id DESC)");
+        }
+    }
+
+    /**
+     * userId의 주문 rows건과, 그 사이사이에 다른 사용자 주문을 OTHER_USERS건씩 생성합니다.
+     * 대상 사용자의 i번째(0부터) 주문은 created_at = BASE_TIME + i초, order_id = startOrderId + i * (OTHER_USERS + 1) 입니다.
+     */
+    static void generate(Connection connection, long userId, int rows, long startOrderId) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+            long orderId = startOrderId;
+            for (int i = 0; i < rows; i++) {
+                Timestamp createdAt = Timestamp.valueOf(createdAt(i));
+                for (int u = 0; u <= OTHER_USERS; u++) {
+                    insert.setLong(1, orderId++);
+                    insert.setLong(2, u == 0 ? userId : userId + u);
+                    insert.setBigDecimal(3, BigDecimal.valueOf(10000));
+                    insert.setString(4, "COMPLETED");
+                    insert.setTimestamp(5, createdAt);
+                    insert.addBatch();
+                }
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    static LocalDateTime createdAt(int index) {
+        return BASE_TIME.plusSeconds(index);
+    }
+
+    static long orderId(long startOrderId, int index) {
+        return startOrderId + (long) index * (OTHER_USERS + 1);
+    }
+
+    public static void main(String[] args) throws SQLException {
+        if (args.length != 6) {
+            throw new IllegalArgumentException("usage: <jdbcUrl> <user> <password> <userId> <rows> <startOrderId>");
+        }
+        try (Connection connection = DriverManager.getConnection(args[0], args[1], args[2])) {
+            generate(connection, Long.parseLong(args[3]), Integer.parseInt(args[4]), Long.parseLong(args[5]));
+        }
+    }
+}
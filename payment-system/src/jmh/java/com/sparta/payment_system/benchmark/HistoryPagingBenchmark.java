@@ -0,0 +1,109 @@
+package com.sparta.payment_system.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 내역 한 페이지(20건) 조회 지연을 페이지 깊이별로 keyset 커서와 OFFSET 방식으로 비교합니다.
+ * keyset은 깊이와 무관하게 일정하고, OFFSET은 건너뛰는 행 수에 비례해 느려져야 합니다.
+ * 데이터는 HistoryDatasetGenerator로 임베디드 H2에 생성합니다 (MySQL 쿼리 시간 자체는 포함되지 않습니다).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HistoryPagingBenchmark {
+
+    private static final long USER_ID = 1L;
+    private static final long START_ORDER_ID = 1L;
+    private static final int ROWS = 200_000;
+    private static final int PAGE_SIZE = 20;
+
+    // OrderRepository.findHistory와 같은 조건입니다. created_at 상한은 MySQL이 OR 조건에서 도출하는 범위를 H2에 명시한 것입니다.
+    private static final String KEYSET_SQL = "SELECT order_id, total_amount, status, created_at FROM orders " +
+            "WHERE user_id = ? AND created_at <= ? AND (created_at < ? OR (created_at = ? AND order_id < ?)) " +
+            "ORDER BY created_at DESC, order_id DESC LIMIT ?";
+    private static final String OFFSET_SQL = "SELECT order_id, total_amount, status, created_at FROM orders " +
+            "WHERE user_id = ? ORDER BY created_at DESC, order_id DESC LIMIT ? OFFSET ?";
+
+    /** 앞에서 건너뛴 행 수 (페이지 깊이) */
+    @Param({"0", "1000", "10000", "100000"})
+    public int depth;
+
+    private Connection connection;
+    private PreparedStatement keysetQuery;
+    private PreparedStatement offsetQuery;
+    private Timestamp cursorCreatedAt;
+    private long cursorOrderId;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:history-" + depth + ";DB_CLOSE_DELAY=-1");
+        HistoryDatasetGenerator.createSchema(connection);
+        HistoryDatasetGenerator.generate(connection, USER_ID, ROWS, START_ORDER_ID);
+
+        // 최신순으로 depth건을 읽은 뒤의 커서 = 마지막으로 읽은 행 (인덱스 ROWS - depth)
+        int cursorIndex = ROWS - depth;
+        cursorCreatedAt = Timestamp.valueOf(HistoryDatasetGenerator.createdAt(cursorIndex));
+        cursorOrderId = HistoryDatasetGenerator.orderId(START_ORDER_ID, cursorIndex);
+
+        keysetQuery = connection.prepareStatement(KEYSET_SQL);
+        offsetQuery = connection.prepareStatement(OFFSET_SQL);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (var statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public long keysetPage() throws SQLException {
+        keysetQuery.setLong(1, USER_ID);
+        keysetQuery.setTimestamp(2, cursorCreatedAt);
+        keysetQuery.setTimestamp(3, cursorCreatedAt);
+        keysetQuery.setTimestamp(4, cursorCreatedAt);
+        keysetQuery.setLong(5, cursorOrderId);
+        keysetQuery.setInt(6, PAGE_SIZE + 1);
+        return readPage(keysetQuery);
+    }
+
+    @Benchmark
+    public long offsetPage() throws SQLException {
+        offsetQuery.setLong(1, USER_ID);
+        offsetQuery.setInt(2, PAGE_SIZE + 1);
+        offsetQuery.setInt(3, depth);
+        return readPage(offsetQuery);
+    }
+
+    private static long readPage(PreparedStatement query) throws SQLException {
+        long checksum = 0;
+        int rows = 0;
+        try (ResultSet resultSet = query.executeQuery()) {
+            while (resultSet.next()) {
+                checksum += resultSet.getLong(1);
+                rows++;
+            }
+        }
+        if (rows == 0) {
+            throw new IllegalStateException("빈 페이지가 조회되었습니다.");
+        }
+        return checksum;
+    }
+}
@@ -0,0 +1,62 @@
+package com.sparta.payment_system.benchmark;
+
+import com.sparta.payment_system.entity.MembershipRank;
+import com.sparta.payment_system.entity.User;
+import com.sparta.payment_system.security.CustomUserDetails;
+import com.sparta.payment_system.security.JwtUtil;
+import com.sparta.payment_system.security.PrincipalCache;
+import com.sparta.payment_system.security.TokenBlacklist;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * JWT 발급과 요청마다 수행되는 검증/인증 정보 생성 비용을 측정합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private Authentication authentication;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        User user = new User("user@example.com", "hash", "user");
+        user.setUserId(1L);
+        user.setMembershipRank(MembershipRank.NORMAL);
+        CustomUserDetails principal = new CustomUserDetails(user);
+
+        PrincipalCache principalCache = mock(PrincipalCache.class);
+        when(principalCache.get(anyLong())).thenReturn(principal);
+
+        jwtUtil = new JwtUtil("benchmark-secret-key-benchmark-secret-key-0123456789", 3600,
+                mock(TokenBlacklist.class), principalCache);
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        accessToken = jwtUtil.createAccessToken(authentication);
+    }
+
+    @Benchmark
+    public String createAccessToken() {
+        return jwtUtil.createAccessToken(authentication);
+    }
+
+    @Benchmark
+    public Authentication parseAndAuthenticate() {
+        return jwtUtil.getAuthentication(jwtUtil.parseAccessToken(accessToken), accessToken);
+    }
+}
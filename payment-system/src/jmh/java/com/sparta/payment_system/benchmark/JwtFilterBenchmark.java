@@ -0,0 +1,166 @@
+package com.sparta.payment_system.benchmark;
+
+import com.sparta.payment_system.entity.MembershipRank;
+import com.sparta.payment_system.entity.User;
+import com.sparta.payment_system.repository.UserRepository;
+import com.sparta.payment_system.security.CustomUserDetails;
+import com.sparta.payment_system.security.JwtFilter;
+import com.sparta.payment_system.security.JwtUtil;
+import com.sparta.payment_system.security.PrincipalCache;
+import com.sparta.payment_system.security.TokenBlacklist;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * 인증된 요청 하나가 JWT 필터를 통과하는 비용을 변경 전후로 비교합니다.
+ * jwtFilter는 현재 필터(한 번의 파싱 + PrincipalCache), legacyJwtFilter는 이전 필터
+ * (검증/인증 정보 생성에서 토큰을 두 번 파싱하고 요청마다 사용자를 조회)를 그대로 재현합니다.
+ * 사용자 조회의 MySQL 왕복은 dbLatencyMicros만큼 대기하는 것으로 대신합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET_KEY = "benchmark-secret-key-benchmark-secret-key-0123456789";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Param({"0", "500"})
+    public long dbLatencyMicros;
+
+    private JwtFilter jwtFilter;
+    private LegacyJwtFilter legacyJwtFilter;
+    private String bearerToken;
+
+    @Setup
+    public void setUp() {
+        User user = new User("user@example.com", "hash", "user");
+        user.setUserId(1L);
+        user.setMembershipRank(MembershipRank.NORMAL);
+
+        // 호출 기록이 쌓이지 않도록 stubOnly 목을 사용합니다.
+        UserRepository userRepository = mock(UserRepository.class, withSettings().stubOnly());
+        when(userRepository.findById(anyLong())).thenAnswer(invocation -> {
+            if (dbLatencyMicros > 0) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(dbLatencyMicros));
+            }
+            return Optional.of(user);
+        });
+
+        PrincipalCache principalCache = new PrincipalCache(userRepository, 10000, 300);
+        JwtUtil jwtUtil = new JwtUtil(SECRET_KEY, 3600, mock(TokenBlacklist.class, withSettings().stubOnly()),
+                principalCache);
+        jwtFilter = new JwtFilter(jwtUtil, new SimpleMeterRegistry());
+        legacyJwtFilter = new LegacyJwtFilter(jwtUtil, userRepository);
+
+        CustomUserDetails principal = new CustomUserDetails(user);
+        bearerToken = "Bearer " + jwtUtil.createAccessToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        // 첫 요청에서 캐시가 채워진 이후의 정상 상태를 측정합니다.
+        principalCache.get(user.getUserId());
+    }
+
+    @Benchmark
+    public Authentication jwtFilter() throws ServletException, IOException {
+        return doFilter(jwtFilter);
+    }
+
+    @Benchmark
+    public Authentication legacyJwtFilter() throws ServletException, IOException {
+        return doFilter(legacyJwtFilter);
+    }
+
+    private Authentication doFilter(OncePerRequestFilter filter) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/me");
+        request.addHeader("Authorization", bearerToken);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    /**
+     * 변경 전 JwtFilter + JwtUtil.validateAccessToken/getAuthentication 경로입니다.
+     * 호출마다 파서를 새로 만들어 토큰을 두 번 검증하고, 사용자를 DB에서 조회합니다.
+     */
+    private static class LegacyJwtFilter extends OncePerRequestFilter {
+        private final JwtUtil jwtUtil;
+        private final UserRepository userRepository;
+        private final SecretKey key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+
+        LegacyJwtFilter(JwtUtil jwtUtil, UserRepository userRepository) {
+            this.jwtUtil = jwtUtil;
+            this.userRepository = userRepository;
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+                throws ServletException, IOException {
+            String accessToken = jwtUtil.resolveToken(request.getHeader("Authorization"));
+            if (StringUtils.hasText(accessToken) && validateAccessToken(accessToken)) {
+                SecurityContextHolder.getContext().setAuthentication(getAuthentication(accessToken));
+            }
+            filterChain.doFilter(request, response);
+        }
+
+        private boolean validateAccessToken(String token) {
+            try {
+                Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
+                return true;
+            } catch (JwtException e) {
+                return false;
+            }
+        }
+
+        private Authentication getAuthentication(String token) {
+            Claims claims = Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+            Collection<? extends GrantedAuthority> authorities =
+                    Arrays.stream(claims.get("auth", String.class).split(","))
+                            .map(SimpleGrantedAuthority::new)
+                            .collect(Collectors.toList());
+            User user = userRepository.findById(Long.valueOf(claims.getSubject())).orElseThrow(
+                    () -> new IllegalStateException("존재하지 않는 사용자입니다."));
+            return new UsernamePasswordAuthenticationToken(new CustomUserDetails(user), token, authorities);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.sparta.payment_system.benchmark;
+
+import com.sparta.payment_system.client.PortOneClient;
+import com.sparta.payment_system.dto.payment.PaymentRequestDto;
+import com.sparta.payment_system.dto.payment.PaymentResponseDto;
+import com.sparta.payment_system.dto.payment.PaymentVerificationDto;
+import com.sparta.payment_system.dto.payment.PortOnePaymentReadyResponseDto;
+import com.sparta.payment_system.entity.MembershipRank;
+import com.sparta.payment_system.entity.Order;
+import com.sparta.payment_system.entity.OrderItem;
+import com.sparta.payment_system.entity.Payment;
+import com.sparta.payment_system.entity.Product;
+import com.sparta.payment_system.entity.User;
+import com.sparta.payment_system.repository.OrderRepository;
+import com.sparta.payment_system.repository.PaymentRepository;
+import com.sparta.payment_system.repository.ProductRepository;
+import com.sparta.payment_system.repository.UserRepository;
+import com.sparta.payment_system.service.MembershipService;
+import com.sparta.payment_system.service.PaymentMetrics;
+import com.sparta.payment_system.service.PaymentService;
+import com.sparta.payment_system.service.PointBalanceService;
+import com.sparta.payment_system.service.StockReservationManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 결제 준비/완료의 서비스 계층 오케스트레이션 비용만 측정하는 마이크로 벤치마크입니다.
+ * 저장소는 미리 준비한 엔티티를 돌려주는 스텁, PortOne은 즉시 Paid를 돌려주는 스텁,
+ * 트랜잭션은 SimpleTransactionStatus로 콜백만 실행하는 템플릿으로 대체합니다.
+ * 따라서 DB 쿼리, 트랜잭션 시작/커밋, 커넥션 획득, PG 지연은 포함되지 않으며
+ * 상태 전이, 재고 예약, 응답 변환 비용의 변화를 비교하는 용도로만 사용합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PaymentServiceBenchmark {
+
+    private static final String PAYMENT_KEY = "T1000";
+    private static final long USER_ID = 1L;
+    private static final long ORDER_ID = 100L;
+
+    private PaymentService paymentService;
+    private Payment payment;
+    private PaymentRequestDto readyRequest;
+
+    @Setup
+    public void setUp() {
+        User user = new User("user@example.com", "hash", "user");
+        user.setUserId(USER_ID);
+        user.setMembershipRank(MembershipRank.NORMAL);
+        user.setTotalPoints(BigDecimal.ZERO);
+
+        Product product = new Product("상품", BigDecimal.valueOf(10000), Integer.MAX_VALUE, "");
+        product.setProductId(1L);
+        Order order = new Order(USER_ID);
+        order.setOrderId(ORDER_ID);
+        order.setAmount(BigDecimal.valueOf(20000));
+        order.setOrderItem(new OrderItem("상품", 2, BigDecimal.valueOf(20000), product));
+
+        payment = new Payment();
+        payment.setPaymentId(10L);
+        payment.setPaymentKey(PAYMENT_KEY);
+        payment.setOrder(order);
+        payment.setAmount(BigDecimal.valueOf(20000));
+
+        PaymentRepository paymentRepository = mock(PaymentRepository.class);
+        when(paymentRepository.findWithOrderItemsByPaymentKey(PAYMENT_KEY)).thenReturn(Optional.of(payment));
+        when(paymentRepository.findByOrder_OrderId(ORDER_ID)).thenReturn(Optional.of(payment));
+        when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(paymentRepository.saveAndFlush(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        OrderRepository orderRepository = mock(OrderRepository.class);
+        when(orderRepository.findWithItemsByOrderId(ORDER_ID)).thenReturn(Optional.of(order));
+
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findStockByProductId(anyLong())).thenReturn(Optional.of(Integer.MAX_VALUE));
+
+        PortOneClient portOneClient = mock(PortOneClient.class);
+        when(portOneClient.getPayment(anyString())).thenReturn(PaymentVerificationDto.builder()
+                .paymentKey(PAYMENT_KEY)
+                .amount(BigDecimal.valueOf(20000))
+                .status("Paid")
+                .orderId(String.valueOf(ORDER_ID))
+                .build());
+
+        // 트랜잭션 매니저 없이 새 트랜잭션 상태로 콜백만 실행합니다.
+        TransactionTemplate transactionTemplate = new TransactionTemplate() {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                return action.doInTransaction(new SimpleTransactionStatus());
+            }
+        };
+
+        paymentService = new PaymentService(paymentRepository, orderRepository, userRepository, productRepository,
+                mock(PointBalanceService.class), portOneClient,
+                new StockReservationManager(productRepository, 15), mock(MembershipService.class),
+                transactionTemplate, new PaymentMetrics(new SimpleMeterRegistry()));
+
+        readyRequest = new PaymentRequestDto();
+        readyRequest.setUsePoint(false);
+    }
+
+    @Benchmark
+    public PortOnePaymentReadyResponseDto createPaymentReady() {
+        return paymentService.createPaymentReady(USER_ID, ORDER_ID, readyRequest);
+    }
+
+    /** PG 검증부터 재고 확정, 포인트/멤버십 반영까지 전체 완료 처리 */
+    @Benchmark
+    public PaymentResponseDto completePaymentVerification() {
+        payment.setStatus(Payment.PaymentStatus.READY);
+        return paymentService.completePaymentVerification(PAYMENT_KEY, USER_ID);
+    }
+
+    /** 이미 완료된 결제의 재요청: 상태 확인과 응답 변환(convertToPaymentResponseDto) 비용 */
+    @Benchmark
+    public PaymentResponseDto completeAlreadyPaid() {
+        payment.setStatus(Payment.PaymentStatus.PAID);
+        return paymentService.completePaymentVerification(PAYMENT_KEY, USER_ID);
+    }
+}
@@ -0,0 +1,118 @@
+package com.sparta.payment_system.benchmark;
+
+import com.sparta.payment_system.dto.PointBalanceResponseDto;
+import com.sparta.payment_system.entity.PointTransaction;
+import com.sparta.payment_system.entity.User;
+import com.sparta.payment_system.repository.PointBalanceSnapshotRepository;
+import com.sparta.payment_system.repository.PointTransactionRepository;
+import com.sparta.payment_system.repository.UserRepository;
+import com.sparta.payment_system.service.PointBalanceService;
+import com.sparta.payment_system.service.PointLedgerWriter;
+import com.sparta.payment_system.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * 사용자의 원장 건수(10 ~ 1,000,000)에 따른 포인트 충전 지연을 측정합니다.
+ * charge는 원자적 증감으로 잔액을 갱신하므로 원장 건수와 무관하게 일정해야 하고,
+ * legacyCharge(원장 컬렉션 전체를 합산하던 이전 방식)는 원장 건수에 비례해 느려집니다.
+ * DB 접근은 메모리 스텁으로 대체하므로 쿼리 시간은 포함되지 않습니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PointChargeBenchmark {
+
+    private static final long USER_ID = 1L;
+    private static final BigDecimal CHARGE_AMOUNT = BigDecimal.valueOf(100000);
+
+    @Param({"10", "1000", "1000000"})
+    public int ledgerRows;
+
+    private final AtomicReference<BigDecimal> dbBalance = new AtomicReference<>(BigDecimal.ZERO);
+
+    private User user;
+    private UserService userService;
+
+    @Setup
+    public void setUp() {
+        user = new User("bench@example.com", "password", "벤치마크");
+        user.setUserId(USER_ID);
+        List<PointTransaction> ledger = new ArrayList<>(ledgerRows + 1);
+        LocalDateTime createdAt = LocalDateTime.now();
+        for (int i = 0; i < ledgerRows; i++) {
+            PointTransaction transaction = new PointTransaction();
+            transaction.setUser(user);
+            transaction.setPointsChanged(BigDecimal.TEN);
+            transaction.setType(PointTransaction.PointType.EARNED);
+            transaction.setCreatedAt(createdAt);
+            ledger.add(transaction);
+        }
+        user.setPointTransactions(ledger);
+        dbBalance.set(BigDecimal.TEN.multiply(BigDecimal.valueOf(ledgerRows)));
+
+        // 호출 기록이 쌓이지 않도록 stubOnly 목을 사용합니다.
+        UserRepository userRepository = mock(UserRepository.class, withSettings().stubOnly());
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
+        when(userRepository.addTotalPoints(anyLong(), any())).thenAnswer(invocation -> {
+            BigDecimal delta = invocation.getArgument(1);
+            dbBalance.accumulateAndGet(delta, BigDecimal::add);
+            return 1;
+        });
+        when(userRepository.findTotalPointsByUserId(USER_ID)).thenAnswer(invocation -> Optional.of(dbBalance.get()));
+
+        PointBalanceService pointBalanceService = new PointBalanceService(userRepository,
+                mock(PointTransactionRepository.class, withSettings().stubOnly()),
+                mock(PointBalanceSnapshotRepository.class, withSettings().stubOnly()),
+                mock(PointLedgerWriter.class, withSettings().stubOnly()),
+                mock(TransactionTemplate.class, withSettings().stubOnly()), 60);
+        userService = new UserService(userRepository, pointBalanceService);
+    }
+
+    @Benchmark
+    public PointBalanceResponseDto charge() {
+        return userService.charge(USER_ID);
+    }
+
+    /**
+     * 이전 charge 구현: 새 거래를 컬렉션에 추가한 뒤 전체 원장을 합산해 잔액을 다시 계산합니다.
+     * 측정 간 원장 건수가 변하지 않도록 추가한 거래는 다시 제거합니다.
+     */
+    @Benchmark
+    public BigDecimal legacyCharge() {
+        PointTransaction charged = new PointTransaction();
+        charged.setUser(user);
+        charged.setPointsChanged(CHARGE_AMOUNT);
+        charged.setType(PointTransaction.PointType.EARNED);
+
+        List<PointTransaction> ledger = user.getPointTransactions();
+        ledger.add(charged);
+        BigDecimal sumTotalPoints = BigDecimal.ZERO;
+        for (PointTransaction transaction : ledger) {
+            sumTotalPoints = sumTotalPoints.add(transaction.getPointsChanged());
+        }
+        ledger.remove(ledger.size() - 1);
+        return sumTotalPoints;
+    }
+}
@@ -0,0 +1,103 @@
+package com.sparta.payment_system.benchmark;
+
+import com.sparta.payment_system.dto.product.ProductCreateResponseDto;
+import com.sparta.payment_system.entity.Product;
+import com.sparta.payment_system.repository.ProductRepository;
+import com.sparta.payment_system.service.ProductCache;
+import com.sparta.payment_system.service.ProductSearchIndex;
+import com.sparta.payment_system.service.ProductService;
+import com.sparta.payment_system.service.StockReservationManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * 읽기 위주 부하에서 상품 상세 조회의 지연 분포(p50/p99)를 캐시 사용 여부에 따라 비교합니다.
+ * cachedRead는 현재 ProductService.getProductInfo(ProductCache + 재고 슬롯), uncachedRead는 이전 구현
+ * (요청마다 findById)입니다. DB 조회는 dbLatencyMicros만큼 대기하는 스텁으로 대신합니다.
+ * 결과의 p0.99 행을 비교합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(16)
+public class ProductReadBenchmark {
+
+    private static final int PRODUCTS = 1000;
+
+    @Param({"300"})
+    public long dbLatencyMicros;
+
+    private ProductRepository productRepository;
+    private ProductService productService;
+
+    @Setup
+    public void setUp() {
+        // 호출 기록이 쌓이지 않도록 stubOnly 목을 사용합니다.
+        productRepository = mock(ProductRepository.class, withSettings().stubOnly());
+        when(productRepository.findById(anyLong())).thenAnswer(invocation -> {
+            simulateDbRoundTrip();
+            return Optional.of(product(invocation.getArgument(0)));
+        });
+        when(productRepository.findStockByProductId(anyLong())).thenAnswer(invocation -> {
+            simulateDbRoundTrip();
+            return Optional.of(100);
+        });
+
+        StockReservationManager stockReservationManager = new StockReservationManager(productRepository, 15);
+        ProductCache productCache = new ProductCache(productRepository, stockReservationManager, 10000, 600);
+        productService = new ProductService(productRepository, productCache, stockReservationManager,
+                mock(ProductSearchIndex.class, withSettings().stubOnly()));
+
+        // 캐시가 채워진 정상 상태를 측정합니다.
+        for (long id = 1; id <= PRODUCTS; id++) {
+            productService.getProductInfo(id);
+        }
+    }
+
+    @Benchmark
+    public ProductCreateResponseDto cachedRead() {
+        return productService.getProductInfo(nextProductId());
+    }
+
+    /** 변경 전 getProductInfo: 요청마다 상품을 DB에서 조회합니다. */
+    @Benchmark
+    public ProductCreateResponseDto uncachedRead() {
+        Product product = productRepository.findById(nextProductId())
+                .orElseThrow(() -> new RuntimeException("존재하지 않는 상품입니다."));
+        return ProductCreateResponseDto.from(product);
+    }
+
+    private void simulateDbRoundTrip() {
+        if (dbLatencyMicros > 0) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(dbLatencyMicros));
+        }
+    }
+
+    private static long nextProductId() {
+        return ThreadLocalRandom.current().nextLong(1, PRODUCTS + 1);
+    }
+
+    private static Product product(long productId) {
+        Product product = new Product("상품" + productId, BigDecimal.valueOf(10000), 100, "설명");
+        product.setProductId(productId);
+        return product;
+    }
+}
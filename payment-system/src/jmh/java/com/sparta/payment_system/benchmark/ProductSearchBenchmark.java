@@ -0,0 +1,126 @@
+package com.sparta.payment_system.benchmark;
+
+import com.sparta.payment_system.dto.product.ProductSearchResponseDto;
+import com.sparta.payment_system.entity.Product;
+import com.sparta.payment_system.repository.ProductRepository;
+import com.sparta.payment_system.service.ProductSearchIndex;
+import com.sparta.payment_system.service.StockReservationManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * 합성 상품 100만 건에 대한 ProductSearchIndex 검색 지연을 측정합니다.
+ * 상품명은 "브랜드 품목 모델코드" 형태로 생성하여 흔한 검색어(품목)와 드문 검색어(모델코드)를 함께 비교하고,
+ * linearScan은 LIKE '%x%' 전체 스캔과 같은 방식으로 모든 상품명을 최신순으로 확인하는 기준값입니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductSearchBenchmark {
+
+    private static final String[] BRANDS = {"삼성", "엘지", "애플", "소니", "레노버", "에이수스", "로지텍", "보스",
+            "샤오미", "델", "HP", "캐논", "니콘", "필립스", "브라운", "다이슨"};
+    private static final String[] ITEMS = {"노트북", "모니터", "키보드", "마우스", "헤드폰", "스피커", "태블릿",
+            "카메라", "충전기", "케이블", "청소기", "드라이기", "면도기", "이어폰", "웹캠", "공유기"};
+    private static final int MODEL_CODES = 50_000;
+    private static final int LIMIT = 20;
+
+    @Param({"1000000"})
+    public int productCount;
+
+    private ProductSearchIndex productSearchIndex;
+    private String[] normalizedNames;
+
+    @Setup
+    public void setUp() {
+        normalizedNames = new String[productCount + 1];
+        for (int id = 1; id <= productCount; id++) {
+            normalizedNames[id] = name(id).toLowerCase(Locale.ROOT);
+        }
+
+        // 호출 기록이 쌓이지 않도록 stubOnly 목을 사용합니다.
+        ProductRepository productRepository = mock(ProductRepository.class, withSettings().stubOnly());
+        when(productRepository.findSearchRowsAfter(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            long lastProductId = invocation.getArgument(0);
+            Pageable pageable = invocation.getArgument(1);
+            List<Object[]> rows = new ArrayList<>(pageable.getPageSize());
+            for (long id = lastProductId + 1; id <= Math.min(lastProductId + pageable.getPageSize(), productCount); id++) {
+                rows.add(new Object[]{id, name(id), price(id), Product.ProductStatus.ACTIVE, (int) (id % 10)});
+            }
+            return rows;
+        });
+
+        productSearchIndex = new ProductSearchIndex(productRepository,
+                new StockReservationManager(productRepository, 15), 10_000);
+        productSearchIndex.rebuild();
+        if (productSearchIndex.size() != productCount) {
+            throw new IllegalStateException("인덱스 구성 실패: " + productSearchIndex.size());
+        }
+    }
+
+    /** 드문 검색어 (모델코드, 약 200건 일치) */
+    @Benchmark
+    public List<ProductSearchResponseDto> rareName() {
+        return productSearchIndex.search("m1234", null, null, null, false, LIMIT);
+    }
+
+    /** 흔한 검색어 (품목, 약 6만 건 일치) */
+    @Benchmark
+    public List<ProductSearchResponseDto> commonName() {
+        return productSearchIndex.search("노트북", null, null, null, false, LIMIT);
+    }
+
+    /** 좁은 가격 범위 (약 1천 건 일치) */
+    @Benchmark
+    public List<ProductSearchResponseDto> priceRange() {
+        return productSearchIndex.search(null, new BigDecimal("500000"), new BigDecimal("500900"), null, false, LIMIT);
+    }
+
+    /** 이름 + 가격 범위 + 재고 있음 */
+    @Benchmark
+    public List<ProductSearchResponseDto> nameAndPriceInStock() {
+        return productSearchIndex.search("모니터", new BigDecimal("100000"), new BigDecimal("300000"),
+                Product.ProductStatus.ACTIVE, true, LIMIT);
+    }
+
+    /** 인덱스 없이 드문 검색어를 최신순 전체 스캔으로 찾는 기준값 */
+    @Benchmark
+    public List<Long> linearScan() {
+        List<Long> results = new ArrayList<>(LIMIT);
+        for (int id = productCount; id >= 1 && results.size() < LIMIT; id--) {
+            if (normalizedNames[id].contains("m1234")) {
+                results.add((long) id);
+            }
+        }
+        return results;
+    }
+
+    private static String name(long id) {
+        return BRANDS[(int) (id % BRANDS.length)] + " " + ITEMS[(int) ((id / BRANDS.length) % ITEMS.length)]
+                + " m" + (id % MODEL_CODES);
+    }
+
+    // 1,000원 ~ 1,000,000원, 100원 단위
+    private static BigDecimal price(long id) {
+        return BigDecimal.valueOf(1000 + (id * 7919 % 9991) * 100);
+    }
+}
@@ -0,0 +1,86 @@
+package com.sparta.payment_system.benchmark;
+
+import com.sparta.payment_system.entity.OrderItem;
+import com.sparta.payment_system.entity.Product;
+import com.sparta.payment_system.repository.ProductRepository;
+import com.sparta.payment_system.repository.StockAlertRepository;
+import com.sparta.payment_system.service.ProductCache;
+import com.sparta.payment_system.service.ProductSearchIndex;
+import com.sparta.payment_system.service.StockReservationManager;
+import com.sparta.payment_system.service.StockService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 인기 상품 하나에 재고 예약/차감이 몰릴 때의 처리량을 측정합니다.
+ * DB는 조건부 UPDATE와 같은 의미의 메모리 재고로 대체합니다 (행 잠금 대기는 포함되지 않습니다).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class StockBenchmark {
+
+    private static final long HOT_PRODUCT_ID = 1L;
+
+    private final AtomicLong orderIds = new AtomicLong();
+    private final AtomicInteger dbStock = new AtomicInteger(Integer.MAX_VALUE);
+
+    private StockReservationManager stockReservationManager;
+    private StockService stockService;
+    private List<OrderItem> items;
+
+    @Setup
+    public void setUp() {
+        Product product = new Product("인기 상품", BigDecimal.valueOf(10000), Integer.MAX_VALUE, "");
+        product.setProductId(HOT_PRODUCT_ID);
+        items = List.of(new OrderItem(product.getName(), 1, product.getPrice(), product));
+
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findByIdForUpdate(anyLong())).thenAnswer(invocation -> {
+            product.setStock(dbStock.get());
+            return Optional.of(product);
+        });
+        when(productRepository.findStockByProductId(anyLong())).thenAnswer(invocation -> Optional.of(dbStock.get()));
+        when(productRepository.decreaseStockIfAvailable(anyLong(), anyInt())).thenAnswer(invocation -> {
+            int quantity = invocation.getArgument(1);
+            return dbStock.getAndUpdate(stock -> stock >= quantity ? stock - quantity : stock) >= quantity ? 1 : 0;
+        });
+
+        stockReservationManager = new StockReservationManager(productRepository, 15);
+        stockService = new StockService(productRepository, mock(StockAlertRepository.class), stockReservationManager,
+                mock(ProductCache.class), mock(ProductSearchIndex.class), mock(ApplicationEventPublisher.class));
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void reserveAndRelease() {
+        long orderId = orderIds.incrementAndGet();
+        stockReservationManager.reserve(orderId, items);
+        stockReservationManager.release(orderId);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean decreaseStock() {
+        return stockService.decreaseStock(HOT_PRODUCT_ID, 1);
+    }
+}
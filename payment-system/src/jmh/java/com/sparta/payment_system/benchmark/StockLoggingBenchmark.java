@@ -0,0 +1,107 @@
+package com.sparta.payment_system.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.sparta.payment_system.entity.Product;
+import com.sparta.payment_system.repository.ProductRepository;
+import com.sparta.payment_system.repository.StockAlertRepository;
+import com.sparta.payment_system.service.ProductCache;
+import com.sparta.payment_system.service.ProductSearchIndex;
+import com.sparta.payment_system.service.StockReservationManager;
+import com.sparta.payment_system.service.StockService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * 재고 차감 경로의 로깅 비용을 SLF4J(운영 레벨 INFO, 요청/완료 로그는 DEBUG)와 기존 System.out 출력으로 비교합니다.
+ * 기존 방식은 요청/완료마다 문자열을 이어 붙여 동기화된 stdout에 쓰던 코드를 그대로 재현합니다.
+ * stdout은 자동 flush되는 빈 출력 스트림으로 바꿔 콘솔/터미널 쓰기 비용은 빼고 측정하므로, 실제 차이보다 작게 나옵니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class StockLoggingBenchmark {
+
+    private static final long HOT_PRODUCT_ID = 1L;
+
+    private final AtomicInteger dbStock = new AtomicInteger(Integer.MAX_VALUE);
+
+    private StockService stockService;
+    private PrintStream originalOut;
+
+    @Setup
+    public void setUp() {
+        // logback-spring.xml은 Spring Boot 없이 적용되지 않으므로 운영 레벨을 직접 맞춥니다.
+        ((Logger) LoggerFactory.getLogger("com.sparta.payment_system")).setLevel(Level.INFO);
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream(), true));
+
+        Product product = new Product("인기 상품", BigDecimal.valueOf(10000), Integer.MAX_VALUE, "");
+        product.setProductId(HOT_PRODUCT_ID);
+
+        ProductRepository productRepository = mock(ProductRepository.class, withSettings().stubOnly());
+        when(productRepository.findByIdForUpdate(anyLong())).thenAnswer(invocation -> {
+            product.setStock(dbStock.get());
+            return Optional.of(product);
+        });
+        when(productRepository.decreaseStockIfAvailable(anyLong(), anyInt())).thenAnswer(invocation -> {
+            int quantity = invocation.getArgument(1);
+            return dbStock.getAndUpdate(stock -> stock >= quantity ? stock - quantity : stock) >= quantity ? 1 : 0;
+        });
+
+        stockService = new StockService(productRepository, mock(StockAlertRepository.class, withSettings().stubOnly()),
+                new StockReservationManager(productRepository, 15), mock(ProductCache.class, withSettings().stubOnly()),
+                mock(ProductSearchIndex.class, withSettings().stubOnly()),
+                mock(ApplicationEventPublisher.class, withSettings().stubOnly()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean decreaseStock() {
+        return stockService.decreaseStock(HOT_PRODUCT_ID, 1);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean legacyDecreaseStock() {
+        try {
+            System.out.println("재고 차감 요청 - Product ID: " + HOT_PRODUCT_ID + ", Quantity: " + 1);
+            boolean result = stockService.decreaseStock(HOT_PRODUCT_ID, 1);
+            int newStock = dbStock.get();
+            System.out.println("재고 차감 완료 - Product ID: " + HOT_PRODUCT_ID +
+                    ", Requested Quantity: " + 1 + ", New Stock: " + newStock);
+            return result;
+        } catch (RuntimeException e) {
+            System.err.println("재고 차감 중 오류 발생: " + e.getMessage());
+            e.printStackTrace();
+            throw e;
+        }
+    }
+}
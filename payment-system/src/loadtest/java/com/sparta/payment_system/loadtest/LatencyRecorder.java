@@ -0,0 +1,80 @@
+package com.sparta.payment_system.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 엔드포인트별 응답 시간과 실패 수를 모아 처리량과 백분위 지연을 계산합니다.
+ */
+class LatencyRecorder {
+
+    private final Map<String, EndpointStats> stats = new ConcurrentSkipListMap<>();
+
+    /**
+     * @param endpoint     엔드포인트 이름 (예: POST /api/orders)
+     * @param elapsedNanos 요청 시작부터 응답 본문 수신까지 걸린 시간
+     * @param success      2xx 응답 여부
+     */
+    void record(String endpoint, long elapsedNanos, boolean success) {
+        stats.computeIfAbsent(endpoint, ignored -> new EndpointStats()).add(elapsedNanos, success);
+    }
+
+    /**
+     * 엔드포인트별 결과를 표 형태로 출력합니다.
+     *
+     * @param elapsedNanos 전체 실행 시간 (처리량 계산용)
+     */
+    void print(long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        System.out.printf("%-40s %8s %7s %10s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50(ms)", "p95(ms)", "p99(ms)", "max(ms)");
+        stats.forEach((endpoint, endpointStats) -> {
+            long[] sorted = endpointStats.sortedLatencies();
+            System.out.printf("%-40s %8d %7d %10.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    endpoint, sorted.length, endpointStats.errors(), sorted.length / seconds,
+                    millis(percentile(sorted, 50)), millis(percentile(sorted, 95)), millis(percentile(sorted, 99)),
+                    millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]));
+        });
+    }
+
+    // 최근접 순위 방식의 백분위수
+    private static long percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static class EndpointStats {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+
+        synchronized void add(long elapsedNanos, boolean success) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = elapsedNanos;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        synchronized long[] sortedLatencies() {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+
+        synchronized int errors() {
+            return errors;
+        }
+    }
+}
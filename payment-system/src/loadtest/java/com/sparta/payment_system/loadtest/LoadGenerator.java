@@ -0,0 +1,181 @@
+package com.sparta.payment_system.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 결제 흐름 전체를 재현하는 오프라인 부하 생성기입니다.
+ * 애플리케이션을 portone-sim 프로파일로 띄운 뒤 실행하면, 가상 사용자마다 가입/로그인 후
+ * 주문 -> 결제 준비 -> 결제창 승인(시뮬레이터) -> 결제 완료 -> 환불을 반복하고 엔드포인트별 처리량과 p50/p95/p99를 출력합니다.
+ * 한 단계가 실패하면 그 회차의 나머지 단계는 건너뜁니다.
+ *
+ * <p>실행: {@code ./gradlew loadTest -PloadBaseUrl=http://localhost:8080 -PloadUsers=50 -PloadIterations=20}
+ */
+public class LoadGenerator {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final AtomicInteger failedIterations = new AtomicInteger();
+
+    LoadGenerator(String baseUrl, HttpClient httpClient) {
+        this.baseUrl = baseUrl;
+        this.httpClient = httpClient;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int users = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        // 가상 사용자 스레드는 응답을 기다리며 블로킹하므로 HttpClient 내부 실행기와 공유하지 않습니다.
+        ExecutorService executor = Executors.newFixedThreadPool(users);
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        LoadGenerator generator = new LoadGenerator(baseUrl, httpClient);
+
+        long productId = generator.createProduct(users * iterations);
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        System.out.printf("부하 테스트 시작 - 대상: %s, 사용자: %d, 사용자당 반복: %d%n", baseUrl, users, iterations);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < users; i++) {
+            String email = "load-" + runId + "-" + i + "@example.com";
+            executor.execute(() -> generator.runUser(email, productId, iterations));
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(1, TimeUnit.HOURS)) {
+            executor.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("전체 %.1f초, 실패한 회차 %d건%n", elapsed / 1_000_000_000.0, generator.failedIterations.get());
+        generator.recorder.print(elapsed);
+    }
+
+    // 모든 주문이 재고 부족 없이 진행되도록 충분한 재고로 상품을 만듭니다.
+    private long createProduct(int orders) throws IOException, InterruptedException {
+        JsonNode product = call("POST /api/products", post("/api/products", null, Map.of(
+                "name", "부하 테스트 상품",
+                "description", "부하 테스트용 상품입니다.",
+                "price", 10000,
+                "stock", orders * 2)));
+        if (product == null) {
+            throw new IllegalStateException("부하 테스트 상품을 만들지 못했습니다: " + baseUrl);
+        }
+        return product.get("productId").asLong();
+    }
+
+    private void runUser(String email, long productId, int iterations) {
+        try {
+            String password = "load-test-password";
+            call("POST /api/auth/register", post("/api/auth/register", null,
+                    Map.of("email", email, "password", password, "name", "load")));
+            JsonNode login = call("POST /api/auth/login", post("/api/auth/login", null,
+                    Map.of("email", email, "password", password)));
+            if (login == null) {
+                failedIterations.addAndGet(iterations);
+                return;
+            }
+            String token = login.get("token").asText();
+
+            for (int i = 0; i < iterations; i++) {
+                if (!runIteration(token, productId)) {
+                    failedIterations.incrementAndGet();
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("부하 테스트 사용자 중단 - " + email + ": " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean runIteration(String token, long productId) throws IOException, InterruptedException {
+        JsonNode order = call("POST /api/orders", post("/api/orders", token,
+                Map.of("productList", new Object[]{Map.of("productId", productId, "quantity", 1)})));
+        if (order == null) {
+            return false;
+        }
+
+        JsonNode ready = call("POST /api/payments/{orderId}/payments",
+                withIdempotencyKey(post("/api/payments/" + order.get("orderId").asLong() + "/payments", token,
+                        Map.of("usePoint", false))));
+        if (ready == null) {
+            return false;
+        }
+        String paymentKey = ready.get("paymentKey").asText();
+        long paymentId = ready.get("paymentId").asLong();
+
+        // 브라우저 결제창에서 결제가 끝난 상황: 시뮬레이터가 잠시 뒤 결제 완료 웹훅을 보냅니다.
+        if (call("POST /portone-sim/payments/{id}/approve",
+                post("/portone-sim/payments/" + paymentKey + "/approve", null, Map.of())) == null) {
+            return false;
+        }
+
+        if (call("POST /api/payments/complete",
+                withIdempotencyKey(post("/api/payments/complete?paymentKey=" + paymentKey, token, Map.of()))) == null) {
+            return false;
+        }
+
+        return call("POST /api/payments/{paymentId}/refund",
+                withIdempotencyKey(post("/api/payments/" + paymentId + "/refund", token,
+                        Map.of("reason", "부하 테스트")))) != null;
+    }
+
+    private HttpRequest.Builder post(String path, String token, Object body) throws IOException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(OBJECT_MAPPER.writeValueAsBytes(body)));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return request;
+    }
+
+    // 실제 클라이언트처럼 재시도 안전한 요청에 Idempotency-Key를 붙입니다.
+    private static HttpRequest.Builder withIdempotencyKey(HttpRequest.Builder request) {
+        return request.header("Idempotency-Key", UUID.randomUUID().toString());
+    }
+
+    /**
+     * 요청을 보내고 응답 시간을 기록합니다.
+     *
+     * @return 2xx 응답의 JSON 본문, 실패하면 null
+     */
+    private JsonNode call(String endpoint, HttpRequest.Builder request) throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            boolean success = response.statusCode() / 100 == 2;
+            recorder.record(endpoint, System.nanoTime() - start, success);
+            if (!success) {
+                return null;
+            }
+            byte[] body = response.body();
+            return body.length == 0 ? OBJECT_MAPPER.createObjectNode() : OBJECT_MAPPER.readTree(body);
+        } catch (IOException e) {
+            recorder.record(endpoint, System.nanoTime() - start, false);
+            return null;
+        }
+    }
+}
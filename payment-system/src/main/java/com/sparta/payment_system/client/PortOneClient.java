@@ -1,93 +1,189 @@
 package com.sparta.payment_system.client;
 
 import com.sparta.payment_system.dto.payment.PaymentVerificationDto; // DTO 임포트
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 
+@Slf4j
 @Component
 public class PortOneClient {
 
     private final WebClient webClient;
     private final String apiSecret;
+    private final PortOneTokenManager tokenManager;
+    private final Duration callTimeout;
+    private final MeterRegistry meterRegistry;
 
-    public PortOneClient(@Value("${portone.api.url}") String apiUrl,
-                         @Value("${portone.api.secret}") String apiSecret) {
-        this.webClient = WebClient.create(apiUrl);
+    public PortOneClient(WebClient.Builder webClientBuilder,
+                         MeterRegistry meterRegistry,
+                         @Value("${portone.api.url}") String apiUrl,
+                         @Value("${portone.api.secret}") String apiSecret,
+                         @Value("${portone.token.ttl-seconds:1800}") long tokenTtlSeconds,
+                         @Value("${portone.token.refresh-before-seconds:300}") long refreshBeforeSeconds,
+                         @Value("${portone.http.max-connections:50}") int maxConnections,
+                         @Value("${portone.http.pending-acquire-timeout-ms:2000}") long pendingAcquireTimeoutMs,
+                         @Value("${portone.http.connect-timeout-ms:3000}") int connectTimeoutMs,
+                         @Value("${portone.http.response-timeout-ms:5000}") long responseTimeoutMs,
+                         @Value("${portone.http.call-timeout-ms:8000}") long callTimeoutMs) {
+        // PortOne 전용 커넥션 풀: 동시 연결 수와 대기 시간을 제한해 PG 지연이 전체 스레드/커넥션으로 번지지 않게 합니다.
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("portone")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofSeconds(30))
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMs));
+
+        this.webClient = webClientBuilder
+                .baseUrl(apiUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
         this.apiSecret = apiSecret;
+        this.callTimeout = Duration.ofMillis(callTimeoutMs);
+        this.meterRegistry = meterRegistry;
+        this.tokenManager = new PortOneTokenManager(this::getAccessToken,
+                tokenTtlSeconds * 1000, refreshBeforeSeconds * 1000);
+    }
+
+    // 만료가 가까운 Access Token 미리 갱신
+    @Scheduled(fixedDelayString = "${portone.token.refresh-check-interval-ms:60000}")
+    public void refreshAccessTokenIfNeeded() {
+        tokenManager.refreshIfNeeded();
+    }
+
+    // 캐시된 토큰으로 호출하고, 401이면 토큰을 폐기한 뒤 한 번만 재시도 (호출 전체에 deadline 적용)
+    private <T> Mono<T> withAccessToken(Function<String, Mono<T>> call) {
+        return accessToken()
+                .flatMap(accessToken -> call.apply(accessToken)
+                        .onErrorResume(WebClientResponseException.Unauthorized.class, e -> {
+                            tokenManager.invalidate(accessToken);
+                            return accessToken().flatMap(call);
+                        }))
+                .timeout(callTimeout);
+    }
+
+    // 토큰 발급은 블로킹일 수 있으므로 이벤트 루프가 아닌 별도 스케줄러에서 가져옵니다.
+    private Mono<String> accessToken() {
+        return Mono.fromCallable(tokenManager::getToken).subscribeOn(Schedulers.boundedElastic());
     }
 
     // API Secret으로 인증 토큰 요청
     public String getAccessToken() {
-        return webClient.post()
+        return timed("login", webClient.post()
                 .uri("/login/api-secret")
                 .bodyValue(Map.of("apiSecret", apiSecret))
                 .retrieve()
                 .onStatus(statusCode->statusCode.isError(), clientResponse ->
                         clientResponse.bodyToMono(String.class)
                                 .flatMap(errorBody -> {
-                                    System.err.println(" PortOne Payment Details Error Status: " + clientResponse.statusCode());
-                                    System.err.println(" PortOne Payment Details Error Body: " + errorBody);
+                                    log.error("PortOne Payment Details Error - status: {}, body: {}", clientResponse.statusCode(), errorBody);
                                     return Mono.error(new RuntimeException("PortOne 결제 정보 조회 실패: " + errorBody));
                                 })
                 )
                 .bodyToMono(Map.class)
                 .map(response -> (String) response.get("accessToken"))
+                .timeout(callTimeout))
                 .blockOptional()
                 .orElseThrow(() -> new RuntimeException("PortOne Acess Token 발급 실패"));
     }
 
-    //  결제 ID로 결제 정보 조회
-    public Map getPaymentDetails(String paymentId, String accessToken) {
+    private Mono<Map> paymentDetails(String paymentId, String accessToken) {
 
-        return webClient.get()
+        return timed("get_payment", webClient.get()
                 .uri("/payments/{paymentId}", paymentId)
                 .header("Authorization", "Bearer " + accessToken)
                 .retrieve()
-                .onStatus(statusCode->statusCode.isError(), clientResponse ->
+                // 401은 기본 처리(WebClientResponseException.Unauthorized)로 넘겨 토큰 재발급 후 재시도할 수 있게 합니다.
+                .onStatus(statusCode->statusCode.isError() && statusCode.value() != HttpStatus.UNAUTHORIZED.value(), clientResponse ->
                         clientResponse.bodyToMono(String.class)
                                 .flatMap(errorBody -> {
-                                    System.err.println(" PortOne Payment Details Error Status: " + clientResponse.statusCode());
-                                    System.err.println(" PortOne Payment Details Error Body: " + errorBody);
+                                    log.error("PortOne Payment Details Error - status: {}, body: {}", clientResponse.statusCode(), errorBody);
                                     return Mono.error(new RuntimeException("PortOne 결제 정보 조회 실패: " + errorBody));
                                 })
                 )
-                .bodyToMono(Map.class)
-                .blockOptional()
-                .orElseThrow(() -> new IllegalArgumentException("PortOne에서 해당 paymentId의 결제정보를 찾을수 없습니다"));
+                .bodyToMono(Map.class));
+    }
+
+    // 결제 취소 (캐시된 Access Token 사용)
+    public Map cancelPayment(String paymentId, String reason) {
+        return cancelPaymentAsync(paymentId, reason).block();
+    }
+
+    // 결제 취소 (비동기)
+    public Mono<Map> cancelPaymentAsync(String paymentId, String reason) {
+        return withAccessToken(accessToken -> cancel(paymentId, accessToken, reason));
     }
 
-    // 결제 취소
-    public Map cancelPayment(String paymentId, String accessToken, String reason) {
+    private Mono<Map> cancel(String paymentId, String accessToken, String reason) {
 
-        return webClient.post()
+        return timed("cancel_payment", webClient.post()
                 .uri("/payments/{paymentId}/cancel", paymentId)
                 .header("Authorization", "Bearer " + accessToken)
                 .bodyValue(Map.of("reason", reason))
                 .retrieve()
-                .bodyToMono(Map.class)
-                .block();
+                .bodyToMono(Map.class));
     }
 
+    // PortOne API 호출별 소요 시간과 결과(성공, HTTP 상태, 타임아웃, 기타 오류)를 기록합니다.
+    private <T> Mono<T> timed(String endpoint, Mono<T> call) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return call
+                    .doOnSuccess(result -> sample.stop(callTimer(endpoint, "success")))
+                    .doOnError(e -> sample.stop(callTimer(endpoint, outcome(e))));
+        });
+    }
 
-    public PaymentVerificationDto getPayment(String paymentKey) {
-        //  AccessToken 발급
-        String accessToken = getAccessToken();
+    private Timer callTimer(String endpoint, String outcome) {
+        return meterRegistry.timer("portone.client.requests", "endpoint", endpoint, "outcome", outcome);
+    }
 
+    private static String outcome(Throwable e) {
+        if (e instanceof WebClientResponseException responseException) {
+            return "http_" + responseException.getStatusCode().value();
+        }
+        if (e instanceof TimeoutException) {
+            return "timeout";
+        }
+        return "error";
+    }
 
-        Map details = getPaymentDetails(paymentKey, accessToken);
 
-        return PaymentVerificationDto.builder()
-                .paymentKey(paymentKey)
-                .amount(new BigDecimal(details.get("amount").toString()))
-                .status((String) details.get("status"))
-                .orderId(Optional.ofNullable((String) details.get("merchant_uid")) .orElse(""))
-                .build();
+    public PaymentVerificationDto getPayment(String paymentKey) {
+        return getPaymentAsync(paymentKey)
+                .blockOptional()
+                .orElseThrow(() -> new IllegalArgumentException("PortOne에서 해당 paymentId의 결제정보를 찾을수 없습니다"));
+    }
+
+    // 결제 정보 조회 (비동기)
+    public Mono<PaymentVerificationDto> getPaymentAsync(String paymentKey) {
+        return withAccessToken(accessToken -> paymentDetails(paymentKey, accessToken))
+                .map(details -> PaymentVerificationDto.builder()
+                        .paymentKey(paymentKey)
+                        .amount(new BigDecimal(details.get("amount").toString()))
+                        .status((String) details.get("status"))
+                        .orderId(Optional.ofNullable((String) details.get("merchant_uid")) .orElse(""))
+                        .build());
     }
-}
\ No newline at end of file
+}
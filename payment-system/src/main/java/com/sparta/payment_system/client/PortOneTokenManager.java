@@ -0,0 +1,120 @@
+package com.sparta.payment_system.client;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * PortOne Access Token을 만료 직전까지 재사용하는 토큰 관리자입니다.
+ * 만료가 가까워지면 백그라운드에서 갱신하고, 동시에 여러 요청이 갱신을 시도해도 로그인 API는 한 번만 호출합니다(single-flight).
+ */
+@Slf4j
+public class PortOneTokenManager {
+
+    private final Supplier<String> issuer;
+    private final long ttlMillis;
+    private final long refreshBeforeMillis;
+
+    private volatile CachedToken cached;
+    private final AtomicReference<CompletableFuture<CachedToken>> inFlight = new AtomicReference<>();
+
+    /**
+     * @param issuer              새 Access Token을 발급하는 함수 (로그인 API 호출)
+     * @param ttlMillis           토큰 유효 시간
+     * @param refreshBeforeMillis 만료 전 미리 갱신을 시작할 시간
+     */
+    public PortOneTokenManager(Supplier<String> issuer, long ttlMillis, long refreshBeforeMillis) {
+        this.issuer = issuer;
+        this.ttlMillis = ttlMillis;
+        this.refreshBeforeMillis = refreshBeforeMillis;
+    }
+
+    /**
+     * 유효한 Access Token을 반환합니다.
+     * 갱신 구간에 들어선 토큰은 그대로 반환하면서 백그라운드 갱신을 시작하고, 만료된 경우에만 갱신을 기다립니다.
+     */
+    public String getToken() {
+        CachedToken token = cached;
+        long now = System.currentTimeMillis();
+
+        if (token != null && now < token.expiresAt()) {
+            if (now >= token.expiresAt() - refreshBeforeMillis) {
+                refreshAsync();
+            }
+            return token.value();
+        }
+
+        try {
+            return refresh().join().value();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException runtimeException
+                    ? runtimeException
+                    : new RuntimeException("PortOne Access Token 발급 실패", e.getCause());
+        }
+    }
+
+    /**
+     * 만료가 가까운 토큰을 미리 갱신합니다. (스케줄러에서 주기적으로 호출)
+     * 아직 한 번도 발급하지 않았거나 401로 폐기된 경우에는 다음 호출 시 발급합니다.
+     */
+    public void refreshIfNeeded() {
+        CachedToken token = cached;
+        if (token != null && System.currentTimeMillis() >= token.expiresAt() - refreshBeforeMillis) {
+            refreshAsync();
+        }
+    }
+
+    /**
+     * 401 응답을 받은 토큰을 폐기합니다. 그 사이 다른 스레드가 새 토큰으로 교체했다면 유지합니다.
+     *
+     * @param token 거부된 토큰
+     */
+    public void invalidate(String token) {
+        CachedToken current = cached;
+        if (current != null && current.value().equals(token)) {
+            cached = null;
+        }
+    }
+
+    private void refreshAsync() {
+        if (inFlight.get() == null) {
+            CompletableFuture.runAsync(() -> refresh().exceptionally(e -> {
+                log.warn("PortOne Access Token 백그라운드 갱신 실패: {}", e.getMessage());
+                return null;
+            }));
+        }
+    }
+
+    private CompletableFuture<CachedToken> refresh() {
+        CompletableFuture<CachedToken> future = new CompletableFuture<>();
+        CompletableFuture<CachedToken> existing = inFlight.compareAndExchange(null, future);
+        if (existing != null) {
+            return existing;
+        }
+
+        try {
+            // 만료를 확인한 뒤 갱신을 시작하기 전에 다른 스레드가 이미 새 토큰을 발급했으면 그대로 사용합니다.
+            long issuedAt = System.currentTimeMillis();
+            CachedToken current = cached;
+            if (current != null && issuedAt < current.expiresAt() - refreshBeforeMillis) {
+                future.complete(current);
+                return future;
+            }
+
+            CachedToken token = new CachedToken(issuer.get(), issuedAt + ttlMillis);
+            cached = token;
+            future.complete(token);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        } finally {
+            inFlight.set(null);
+        }
+        return future;
+    }
+
+    private record CachedToken(String value, long expiresAt) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.sparta.payment_system.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * 요청마다 상관관계 ID를 MDC에 설정하여 한 요청에서 남긴 로그를 묶어 볼 수 있게 합니다.
+ * 클라이언트가 X-Request-Id 헤더를 보내면 그대로 사용하고, 응답 헤더로도 돌려줍니다.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CorrelationIdFilter extends OncePerRequestFilter {
+
+    static final String HEADER = "X-Request-Id";
+    private static final int MAX_LENGTH = 64;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String requestId = request.getHeader(HEADER);
+        if (!StringUtils.hasText(requestId) || requestId.length() > MAX_LENGTH) {
+            requestId = UUID.randomUUID().toString().replace("-", "").substring(0, 16);
+        }
+        response.setHeader(HEADER, requestId);
+
+        try (LogContext ignored = LogContext.put(LogContext.REQUEST_ID, requestId)) {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
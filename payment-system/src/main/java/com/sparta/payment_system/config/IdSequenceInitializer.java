@@ -0,0 +1,53 @@
+package com.sparta.payment_system.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * IDENTITY에서 pooled 시퀀스로 전환한 테이블의 시퀀스 값을 기존 데이터의 최대 ID 이후로 맞춥니다.
+ * MySQL은 시퀀스를 지원하지 않아 Hibernate가 {@code <테이블>_seq} 테이블로 시퀀스를 에뮬레이션하며,
+ * 새로 생성된 시퀀스 테이블은 1부터 시작하므로 기존 행과 ID가 충돌하지 않도록 기동 시 한 번 보정합니다.
+ */
+@Slf4j
+@Component
+public class IdSequenceInitializer implements InitializingBean {
+
+    /** pooled 옵티마이저의 할당 크기 (엔티티의 allocationSize와 동일해야 합니다) */
+    private static final int ALLOCATION_SIZE = 50;
+
+    /** 시퀀스 테이블 -> (대상 테이블, ID 컬럼) */
+    private static final Map<String, String[]> SEQUENCES = Map.of(
+            "point_transaction_seq", new String[]{"point_transaction", "id"},
+            "orders_seq", new String[]{"orders", "order_id"},
+            "order_items_seq", new String[]{"order_items", "order_item_id"},
+            "stock_alerts_seq", new String[]{"stock_alerts", "alert_id"}
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // EntityManagerFactory 초기화(스키마 생성) 이후에 실행되도록 의존성으로 받습니다.
+    public IdSequenceInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        SEQUENCES.forEach((sequenceTable, target) -> {
+            try {
+                // pooled 옵티마이저는 (next_val - allocationSize, next_val] 구간을 사용하므로 그만큼 여유를 둡니다.
+                int updated = jdbcTemplate.update(
+                        "UPDATE " + sequenceTable + " SET next_val = GREATEST(next_val, " +
+                                "(SELECT COALESCE(MAX(" + target[1] + "), 0) + " + (ALLOCATION_SIZE + 1) +
+                                " FROM " + target[0] + "))");
+                log.debug("시퀀스 보정 완료 - {}: {}건", sequenceTable, updated);
+            } catch (RuntimeException e) {
+                log.warn("시퀀스 보정 실패 - {}: {}", sequenceTable, e.getMessage());
+            }
+        });
+    }
+}
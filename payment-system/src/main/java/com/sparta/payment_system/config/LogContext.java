@@ -0,0 +1,39 @@
+package com.sparta.payment_system.config;
+
+import org.slf4j.MDC;
+
+/**
+ * 로그 상관관계 ID(MDC)를 지정한 범위 안에서만 설정합니다.
+ * try-with-resources로 사용하며, 범위가 끝나면 이전 값으로 되돌리므로 중첩 호출에서도 바깥 값이 지워지지 않습니다.
+ */
+public final class LogContext implements AutoCloseable {
+
+    public static final String REQUEST_ID = "requestId";
+    public static final String PAYMENT_KEY = "paymentKey";
+    public static final String ORDER_ID = "orderId";
+
+    private final String key;
+    private final String previous;
+
+    private LogContext(String key, String previous) {
+        this.key = key;
+        this.previous = previous;
+    }
+
+    public static LogContext put(String key, Object value) {
+        String previous = MDC.get(key);
+        if (value != null) {
+            MDC.put(key, String.valueOf(value));
+        }
+        return new LogContext(key, previous);
+    }
+
+    @Override
+    public void close() {
+        if (previous != null) {
+            MDC.put(key, previous);
+        } else {
+            MDC.remove(key);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.sparta.payment_system.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * 요청 경로 변수/파라미터의 주문 ID, 결제 키를 MDC에 설정하여 주문/결제 단위로 로그를 추적할 수 있게 합니다.
+ */
+public class LogContextInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        @SuppressWarnings("unchecked")
+        Map<String, String> pathVariables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+
+        String orderId = pathVariables != null ? pathVariables.get(LogContext.ORDER_ID) : null;
+        if (orderId == null) {
+            orderId = request.getParameter(LogContext.ORDER_ID);
+        }
+        String paymentKey = request.getParameter(LogContext.PAYMENT_KEY);
+
+        if (orderId != null) {
+            MDC.put(LogContext.ORDER_ID, orderId);
+        }
+        if (paymentKey != null) {
+            MDC.put(LogContext.PAYMENT_KEY, paymentKey);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        MDC.remove(LogContext.ORDER_ID);
+        MDC.remove(LogContext.PAYMENT_KEY);
+    }
+}
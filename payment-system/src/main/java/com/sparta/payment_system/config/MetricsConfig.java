@@ -0,0 +1,144 @@
+package com.sparta.payment_system.config;
+
+import com.sparta.payment_system.cache.LocalCache;
+import com.sparta.payment_system.security.PrincipalCache;
+import com.sparta.payment_system.security.TokenBlacklist;
+import com.sparta.payment_system.service.IdempotencyService;
+import com.sparta.payment_system.service.PointLedgerWriter;
+import com.sparta.payment_system.service.ProductCache;
+import com.sparta.payment_system.service.StockAlertAggregator;
+import com.sparta.payment_system.service.StockAlertStreamHub;
+import com.sparta.payment_system.service.StockReservationManager;
+import com.sparta.payment_system.service.WebhookInboxService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 각 컴포넌트가 이미 집계하고 있는 카운터와 상태 값을 Micrometer 메트릭으로 노출합니다.
+ * 값은 스크랩 시점에 읽어 오므로 요청 경로에는 추가 비용이 없습니다.
+ * HTTP 요청, JVM, HikariCP 커넥션 풀 메트릭은 Actuator 자동 설정이 등록합니다.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder cacheMetrics(PrincipalCache principalCache, ProductCache productCache,
+                                    IdempotencyService idempotencyService) {
+        return registry -> {
+            bindCache(registry, "principal", principalCache.getCache());
+            bindCache(registry, "product", productCache.getCache());
+            bindCache(registry, "idempotency", idempotencyService.getCache());
+        };
+    }
+
+    @Bean
+    public MeterBinder idempotencyMetrics(IdempotencyService idempotencyService) {
+        return registry -> {
+            FunctionCounter.builder("idempotency.replays", idempotencyService, IdempotencyService::getReplayCount)
+                    .register(registry);
+            FunctionCounter.builder("idempotency.conflicts", idempotencyService, IdempotencyService::getConflictCount)
+                    .register(registry);
+            Gauge.builder("idempotency.in_flight", idempotencyService, IdempotencyService::getInFlightCount)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder pointLedgerMetrics(PointLedgerWriter pointLedgerWriter) {
+        return registry -> {
+            Gauge.builder("point.ledger.queue.depth", pointLedgerWriter, PointLedgerWriter::getQueueDepth)
+                    .register(registry);
+            FunctionCounter.builder("point.ledger.flushes", pointLedgerWriter, PointLedgerWriter::getFlushCount)
+                    .register(registry);
+            // 배치당 행 수 = point.ledger.rows / point.ledger.flushes
+            FunctionCounter.builder("point.ledger.rows", pointLedgerWriter, PointLedgerWriter::getFlushedRows)
+                    .register(registry);
+            FunctionTimer.builder("point.ledger.flush", pointLedgerWriter,
+                            PointLedgerWriter::getFlushCount, PointLedgerWriter::getTotalFlushNanos, TimeUnit.NANOSECONDS)
+                    .register(registry);
+            TimeGauge.builder("point.ledger.flush.last", pointLedgerWriter, TimeUnit.NANOSECONDS,
+                            PointLedgerWriter::getLastFlushNanos)
+                    .register(registry);
+            Gauge.builder("point.ledger.batch.last_size", pointLedgerWriter, PointLedgerWriter::getLastBatchSize)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder webhookInboxMetrics(WebhookInboxService webhookInboxService) {
+        return registry -> {
+            FunctionCounter.builder("webhook.inbox.received", webhookInboxService, WebhookInboxService::getReceivedCount)
+                    .register(registry);
+            FunctionCounter.builder("webhook.inbox.duplicates", webhookInboxService, WebhookInboxService::getDedupHits)
+                    .register(registry);
+            FunctionCounter.builder("webhook.inbox.processed", webhookInboxService, WebhookInboxService::getProcessedCount)
+                    .register(registry);
+            FunctionCounter.builder("webhook.inbox.failed", webhookInboxService, WebhookInboxService::getFailedCount)
+                    .register(registry);
+            Gauge.builder("webhook.inbox.lag", webhookInboxService, WebhookInboxService::getLagMillis)
+                    .baseUnit("milliseconds")
+                    .register(registry);
+            Gauge.builder("webhook.inbox.in_flight", webhookInboxService, WebhookInboxService::getInFlight)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder stockMetrics(StockReservationManager stockReservationManager,
+                                    StockAlertAggregator stockAlertAggregator,
+                                    StockAlertStreamHub stockAlertStreamHub) {
+        return registry -> {
+            // 재고 선점 경합: 카운터 CAS 재시도와 재고 부족 거절
+            FunctionCounter.builder("stock.reservation.cas_retries", stockReservationManager, StockReservationManager::getCasRetries)
+                    .register(registry);
+            FunctionCounter.builder("stock.reservation.rejected", stockReservationManager, StockReservationManager::getRejectedReservations)
+                    .register(registry);
+            Gauge.builder("stock.reservation.active", stockReservationManager, StockReservationManager::getActiveReservations)
+                    .register(registry);
+            Gauge.builder("stock.reservation.slots", stockReservationManager, StockReservationManager::getLoadedSlots)
+                    .register(registry);
+
+            FunctionCounter.builder("stock.alert.received", stockAlertAggregator, StockAlertAggregator::getReceivedCount)
+                    .register(registry);
+            FunctionCounter.builder("stock.alert.coalesced", stockAlertAggregator, StockAlertAggregator::getCoalescedCount)
+                    .register(registry);
+            FunctionCounter.builder("stock.alert.suppressed", stockAlertAggregator, StockAlertAggregator::getSuppressedCount)
+                    .register(registry);
+            FunctionCounter.builder("stock.alert.written", stockAlertAggregator, StockAlertAggregator::getWrittenCount)
+                    .register(registry);
+            Gauge.builder("stock.alert.pending", stockAlertAggregator, StockAlertAggregator::getPendingCount)
+                    .register(registry);
+            Gauge.builder("stock.alert.stream.subscribers", stockAlertStreamHub, StockAlertStreamHub::getSubscriberCount)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder tokenBlacklistMetrics(TokenBlacklist tokenBlacklist) {
+        return registry -> Gauge.builder("security.blacklist.size", tokenBlacklist, TokenBlacklist::size)
+                .register(registry);
+    }
+
+    private static void bindCache(MeterRegistry registry, String name, LocalCache<?, ?> cache) {
+        FunctionCounter.builder("cache.gets", cache, LocalCache::getHitCount)
+                .tag("cache", name).tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", cache, LocalCache::getMissCount)
+                .tag("cache", name).tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", cache, LocalCache::getEvictionCount)
+                .tag("cache", name)
+                .register(registry);
+        Gauge.builder("cache.size", cache, LocalCache::size)
+                .tag("cache", name)
+                .register(registry);
+    }
+}
@@ -0,0 +1,51 @@
+package com.sparta.payment_system.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * 가상 스레드 모드(spring.threads.virtual.enabled=true, Java 21 이상) 전용 설정입니다.
+ * Java 17에서는 속성이 켜져 있어도 Spring Boot와 같은 기준으로 비활성화되어 플랫폼 스레드 설정을 그대로 사용합니다.
+ * Tomcat 요청 처리, @Async/스케줄러 실행기는 Spring Boot가 가상 스레드로 전환하고,
+ * 여기서는 DB 커넥션 동시 사용 수를 제한하는 DataSource 래퍼를 등록합니다.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(
+            @Value("${db.connection-limit.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+            @Value("${db.connection-limit.acquire-timeout-ms:30000}") long acquireTimeoutMs) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionLimitingDataSource)) {
+                    return new ConnectionLimitingDataSource(dataSource, permits, acquireTimeoutMs);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder connectionLimitMetrics(ObjectProvider<DataSource> dataSource) {
+        return registry -> {
+            if (dataSource.getIfAvailable() instanceof ConnectionLimitingDataSource limited) {
+                Gauge.builder("db.connection-limit.available", limited, ConnectionLimitingDataSource::getAvailablePermits)
+                        .register(registry);
+                Gauge.builder("db.connection-limit.waiting", limited, ConnectionLimitingDataSource::getQueueLength)
+                        .register(registry);
+            }
+        };
+    }
+}
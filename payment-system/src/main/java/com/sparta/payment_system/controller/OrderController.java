@@ -1,14 +1,22 @@
 package com.sparta.payment_system.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sparta.payment_system.dto.order.OrderDetailRequestDto;
 import com.sparta.payment_system.dto.order.OrderDetailResponseDto;
 import com.sparta.payment_system.security.CustomUserDetails;
 import com.sparta.payment_system.service.OrderService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -17,6 +25,10 @@ import org.springframework.web.bind.annotation.*;
 public class OrderController {
 
     private final OrderService orderService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${order.bulk.max-size:1000}")
+    private int bulkMaxSize;
     
     @PostMapping
     public ResponseEntity<OrderDetailResponseDto> createOrder(
@@ -26,6 +38,34 @@ public class OrderController {
         return ResponseEntity.ok(responseDto);
     }
 
+    /**
+     * 대량 주문 생성 API (B2B 주문 일괄 등록)
+     * 주문별 처리 결과를 NDJSON(한 줄에 하나의 JSON)으로 처리되는 즉시 스트리밍합니다.
+     */
+    @PostMapping(value = "/bulk", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> createOrders(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestBody List<OrderDetailRequestDto> requestDtos) {
+        if (requestDtos.isEmpty() || requestDtos.size() > bulkMaxSize) {
+            throw new IllegalArgumentException("대량 주문은 1건 이상 " + bulkMaxSize + "건 이하로 요청해야 합니다.");
+        }
+
+        Long userId = userDetails.getId();
+        StreamingResponseBody body = outputStream -> orderService.createOrders(userId, requestDtos, result -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(result));
+                outputStream.write('\n');
+                outputStream.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping("/{orderId}")
     public ResponseEntity<OrderDetailResponseDto> getOrder(@PathVariable Long orderId) {
         OrderDetailResponseDto responseDto = orderService.getOrder(orderId);
@@ -0,0 +1,176 @@
+package com.sparta.payment_system.controller;
+
+import com.sparta.payment_system.repository.PaymentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * 오프라인 부하 테스트용 PortOne API 시뮬레이터입니다. (portone-sim 프로파일에서만 활성화)
+ * PortOneClient가 사용하는 로그인/결제 조회/결제 취소 API를 흉내 내고, 설정한 지연/실패율을 적용하며,
+ * 승인/취소 후에는 실제 PG처럼 웹훅을 애플리케이션으로 보냅니다.
+ * 결제 금액과 주문 ID는 결제 준비 단계에서 애플리케이션이 저장한 결제 정보를 기준으로 응답합니다.
+ */
+@Slf4j
+@Profile("portone-sim")
+@RestController
+@RequestMapping("/portone-sim")
+public class PortOneSimulatorController {
+
+    private final PaymentRepository paymentRepository;
+    private final WebClient webhookClient;
+    private final String apiSecret;
+    private final long tokenTtlMillis;
+    private final long latencyMillis;
+    private final long latencyJitterMillis;
+    private final double failureRate;
+    private final long webhookDelayMillis;
+
+    /** 발급한 Access Token -> 만료 시각 */
+    private final ConcurrentHashMap<String, Long> tokens = new ConcurrentHashMap<>();
+    /** 결제 키 -> PG 결제 상태 (승인 전 조회는 Paid로 응답) */
+    private final ConcurrentHashMap<String, String> statuses = new ConcurrentHashMap<>();
+
+    public PortOneSimulatorController(PaymentRepository paymentRepository,
+                                      WebClient.Builder webClientBuilder,
+                                      @Value("${portone.api.secret}") String apiSecret,
+                                      @Value("${portone.simulator.token-ttl-seconds:1800}") long tokenTtlSeconds,
+                                      @Value("${portone.simulator.latency-ms:50}") long latencyMillis,
+                                      @Value("${portone.simulator.latency-jitter-ms:50}") long latencyJitterMillis,
+                                      @Value("${portone.simulator.failure-rate:0.0}") double failureRate,
+                                      @Value("${portone.simulator.webhook-url:http://localhost:${server.port:8080}/api/webhook/payment}") String webhookUrl,
+                                      @Value("${portone.simulator.webhook-delay-ms:500}") long webhookDelayMillis) {
+        this.paymentRepository = paymentRepository;
+        this.webhookClient = webClientBuilder.baseUrl(webhookUrl).build();
+        this.apiSecret = apiSecret;
+        this.tokenTtlMillis = tokenTtlSeconds * 1000;
+        this.latencyMillis = latencyMillis;
+        this.latencyJitterMillis = latencyJitterMillis;
+        this.failureRate = failureRate;
+        this.webhookDelayMillis = webhookDelayMillis;
+    }
+
+    // Access Token 발급
+    @PostMapping("/login/api-secret")
+    public Mono<ResponseEntity<Map<String, Object>>> login(@RequestBody Map<String, String> request) {
+        if (!apiSecret.equals(request.get("apiSecret"))) {
+            return Mono.just(error(HttpStatus.UNAUTHORIZED, "Invalid api secret"));
+        }
+        String accessToken = UUID.randomUUID().toString();
+        tokens.put(accessToken, System.currentTimeMillis() + tokenTtlMillis);
+        return respond(() -> ResponseEntity.ok(Map.of("accessToken", accessToken)));
+    }
+
+    // 결제 정보 조회
+    @GetMapping("/payments/{paymentId}")
+    public Mono<ResponseEntity<Map<String, Object>>> getPayment(
+            @PathVariable String paymentId,
+            @RequestHeader(value = "Authorization", required = false) String authorization
+    ) {
+        if (!isAuthorized(authorization)) {
+            return Mono.just(error(HttpStatus.UNAUTHORIZED, "Invalid access token"));
+        }
+        List<Object[]> rows = paymentRepository.findAmountAndOrderIdByPaymentKey(paymentId);
+        if (rows.isEmpty()) {
+            return Mono.just(error(HttpStatus.NOT_FOUND, "Payment not found"));
+        }
+        Object[] row = rows.get(0);
+        return respond(() -> ResponseEntity.ok(Map.of(
+                "id", paymentId,
+                "status", statuses.getOrDefault(paymentId, "Paid"),
+                "amount", row[0],
+                "merchant_uid", String.valueOf(row[1]))));
+    }
+
+    // 결제 취소
+    @PostMapping("/payments/{paymentId}/cancel")
+    public Mono<ResponseEntity<Map<String, Object>>> cancelPayment(
+            @PathVariable String paymentId,
+            @RequestHeader(value = "Authorization", required = false) String authorization
+    ) {
+        if (!isAuthorized(authorization)) {
+            return Mono.just(error(HttpStatus.UNAUTHORIZED, "Invalid access token"));
+        }
+        String orderId = findOrderId(paymentId);
+        return respond(() -> {
+            statuses.put(paymentId, "Cancelled");
+            sendWebhook(paymentId, orderId, "CANCELLED");
+            return ResponseEntity.ok(Map.of("id", paymentId, "status", "Cancelled"));
+        });
+    }
+
+    /**
+     * 브라우저 결제창에서 결제가 끝난 상황을 흉내 냅니다. (시뮬레이터 전용 API)
+     * 상태를 기록하고 잠시 뒤 결제 결과 웹훅을 보냅니다.
+     *
+     * @param paymentId 결제 키
+     * @param status    결제 결과 (Paid 또는 Failed)
+     */
+    @PostMapping("/payments/{paymentId}/approve")
+    public ResponseEntity<Map<String, Object>> approvePayment(
+            @PathVariable String paymentId,
+            @RequestParam(defaultValue = "Paid") String status
+    ) {
+        if (!"Paid".equalsIgnoreCase(status) && !"Failed".equalsIgnoreCase(status)) {
+            return error(HttpStatus.BAD_REQUEST, "status must be Paid or Failed");
+        }
+        String normalized = "Paid".equalsIgnoreCase(status) ? "Paid" : "Failed";
+        statuses.put(paymentId, normalized);
+        sendWebhook(paymentId, findOrderId(paymentId), normalized.toUpperCase());
+        return ResponseEntity.ok(Map.of("id", paymentId, "status", normalized));
+    }
+
+    private boolean isAuthorized(String authorization) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return false;
+        }
+        Long expiresAt = tokens.get(authorization.substring(7));
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    // 설정한 지연 후 응답하고, 설정한 확률로 PG 장애(503)를 응답합니다. 지연 동안 요청 스레드를 점유하지 않습니다.
+    private Mono<ResponseEntity<Map<String, Object>>> respond(
+            Supplier<ResponseEntity<Map<String, Object>>> response) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delay = latencyMillis + (latencyJitterMillis > 0 ? random.nextLong(latencyJitterMillis + 1) : 0);
+        boolean fail = random.nextDouble() < failureRate;
+        return Mono.delay(Duration.ofMillis(delay))
+                .map(ignored -> fail ? error(HttpStatus.SERVICE_UNAVAILABLE, "Simulated PG failure") : response.get());
+    }
+
+    private String findOrderId(String paymentId) {
+        return paymentRepository.findAmountAndOrderIdByPaymentKey(paymentId).stream()
+                .findFirst()
+                .map(row -> String.valueOf(row[1]))
+                .orElse("");
+    }
+
+    private void sendWebhook(String paymentId, String orderId, String status) {
+        Mono.delay(Duration.ofMillis(webhookDelayMillis))
+                .then(webhookClient.post()
+                        .header("webhook-id", UUID.randomUUID().toString())
+                        .bodyValue(Map.of("imp_uid", paymentId, "merchant_uid", orderId, "status", status))
+                        .retrieve()
+                        .toBodilessEntity())
+                .subscribe(
+                        ignored -> log.debug("시뮬레이터 웹훅 전송 - paymentKey: {}, status: {}", paymentId, status),
+                        e -> log.warn("시뮬레이터 웹훅 전송 실패 - paymentKey: {}: {}", paymentId, e.getMessage()));
+    }
+
+    private static ResponseEntity<Map<String, Object>> error(HttpStatus status, String message) {
+        return ResponseEntity.status(status).body(Map.of("message", message));
+    }
+}
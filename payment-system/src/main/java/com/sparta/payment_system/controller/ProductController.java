@@ -2,20 +2,23 @@ package com.sparta.payment_system.controller;
 
 import com.sparta.payment_system.dto.product.ProductCreateRequestDto;
 import com.sparta.payment_system.dto.product.ProductCreateResponseDto;
-import com.sparta.payment_system.repository.ProductRepository;
+import com.sparta.payment_system.dto.product.ProductSearchResponseDto;
+import com.sparta.payment_system.entity.Product;
 import com.sparta.payment_system.service.ProductService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/products")
 @RequiredArgsConstructor
 public class ProductController {
 
     private final ProductService productService;
-    private final ProductRepository productRepository;
 
     @PostMapping
     public ResponseEntity<?> createProduct(@Valid @RequestBody ProductCreateRequestDto requestDto) {
@@ -23,6 +26,18 @@ public class ProductController {
         return ResponseEntity.ok(responseDto);
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<List<ProductSearchResponseDto>> searchProducts(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Product.ProductStatus status,
+            @RequestParam(defaultValue = "false") boolean inStock,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(productService.searchProducts(name, minPrice, maxPrice, status, inStock, size));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ProductCreateResponseDto> getProduct(@PathVariable Long id) {
         ProductCreateResponseDto result = productService.getProductInfo(id);
@@ -31,7 +46,7 @@ public class ProductController {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteProduct(@PathVariable Long id) {
-        productRepository.deleteById(id);
+        productService.deleteProduct(id);
         return ResponseEntity.ok().build();
     }
 
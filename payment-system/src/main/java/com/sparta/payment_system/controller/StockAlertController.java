@@ -0,0 +1,46 @@
+package com.sparta.payment_system.controller;
+
+import com.sparta.payment_system.dto.product.StockAlertStreamDto;
+import com.sparta.payment_system.service.StockAlertStreamHub;
+import com.sparta.payment_system.service.StockService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/products/stock-alerts")
+@RequiredArgsConstructor
+public class StockAlertController {
+
+    private final StockService stockService;
+    private final StockAlertStreamHub stockAlertStreamHub;
+
+    // 대기중인 알림 조회 (화면 최초 진입 시 한 번만 호출하고, 이후에는 스트림으로 받습니다)
+    @GetMapping("/pending")
+    public ResponseEntity<List<StockAlertStreamDto>> getPendingAlerts() {
+        List<StockAlertStreamDto> alerts = stockService.getPendingStockAlerts().stream()
+                .map(StockAlertStreamDto::from)
+                .toList();
+        return ResponseEntity.ok(alerts);
+    }
+
+    // 재고 알림/실시간 재고 스트림 (SSE). 재연결 시 브라우저가 보내는 Last-Event-ID 이후의 이벤트를 다시 보냅니다.
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    // 구독자 수가 한도에 도달하면 503을 반환합니다.
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        try {
+            return stockAlertStreamHub.subscribe(lastEventId);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+}
@@ -2,7 +2,12 @@ package com.sparta.payment_system.controller;
 
 import com.sparta.payment_system.dto.MyInfoResponseDto;
 import com.sparta.payment_system.dto.PointBalanceResponseDto;
+import com.sparta.payment_system.dto.history.CursorPageResponseDto;
+import com.sparta.payment_system.dto.history.OrderHistoryDto;
+import com.sparta.payment_system.dto.history.PaymentHistoryDto;
+import com.sparta.payment_system.dto.history.PointHistoryDto;
 import com.sparta.payment_system.security.CustomUserDetails;
+import com.sparta.payment_system.service.HistoryService;
 import com.sparta.payment_system.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -16,6 +21,9 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private HistoryService historyService;
+
     /**
      * 내 정보 조회 API
      * @return User 객체
@@ -39,6 +47,42 @@ public class UserController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * 내 주문 내역 조회 API (커서 기반 페이지네이션, 최신순)
+     */
+    @GetMapping("/users/me/orders")
+    public ResponseEntity<CursorPageResponseDto<OrderHistoryDto>> getMyOrders(
+            @AuthenticationPrincipal CustomUserDetails customUserDetails,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(historyService.getOrders(customUserDetails.getId(), cursor, size));
+    }
+
+    /**
+     * 내 결제 내역 조회 API (커서 기반 페이지네이션, 최신순)
+     */
+    @GetMapping("/users/me/payments")
+    public ResponseEntity<CursorPageResponseDto<PaymentHistoryDto>> getMyPayments(
+            @AuthenticationPrincipal CustomUserDetails customUserDetails,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(historyService.getPayments(customUserDetails.getId(), cursor, size));
+    }
+
+    /**
+     * 내 포인트 거래 내역 조회 API (커서 기반 페이지네이션, 최신순)
+     */
+    @GetMapping("/users/me/points/history")
+    public ResponseEntity<CursorPageResponseDto<PointHistoryDto>> getMyPointHistory(
+            @AuthenticationPrincipal CustomUserDetails customUserDetails,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(historyService.getPoints(customUserDetails.getId(), cursor, size));
+    }
+
     @PostMapping("/points/charge/{userId}")
     public ResponseEntity<PointBalanceResponseDto> chargePoints(@PathVariable Long userId) {
         PointBalanceResponseDto result = userService.charge(userId);
@@ -1,8 +1,7 @@
 package com.sparta.payment_system.controller;
 
 import com.sparta.payment_system.dto.webhook.WebhookRequestDto;
-import com.sparta.payment_system.service.PaymentService;
-import com.sparta.payment_system.service.RefundService;
+import com.sparta.payment_system.service.WebhookInboxService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -14,37 +13,26 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class WebhookController {
 
-    private final PaymentService paymentService;
-    private final RefundService refundService;
+    private final WebhookInboxService webhookInboxService;
 
+    /**
+     * PG 웹훅 수신 API
+     * 웹훅은 Inbox에 기록만 하고 즉시 200으로 응답하며, 실제 처리는 WebhookInboxService 워커가 비동기로 수행합니다.
+     */
     @PostMapping("/payment")
-    public ResponseEntity<String> handleWebhook(@RequestBody WebhookRequestDto webhookRequest) {
+    public ResponseEntity<String> handleWebhook(
+            @RequestBody WebhookRequestDto webhookRequest,
+            @RequestHeader(value = "webhook-id", required = false) String webhookId
+    ) {
         log.info("Webhook Received: {}", webhookRequest);
 
         String paymentKey = webhookRequest.getPaymentKey();
-        String status = webhookRequest.getStatus().toUpperCase();
-
-        try {
-            switch (status) {
-                case "PAID" -> {
-                    paymentService.completePaymentVerification(paymentKey, null);
-                }
-                case "FAILED" -> {
-                    paymentService.failPaymentByPaymentKey(paymentKey);
-                }
-                case "CANCELLED", "REFUNDED" -> {
-                    refundService.processWebhookRefund(paymentKey, "PG Webhook Notification");
-                }
-                default -> {
-                    log.warn("Unknown Webhook Status: {}", status);
-                    return ResponseEntity.ok("Unknown status ignored");
-                }
-            }
-        } catch (Exception e) {
-            log.error("Error processing webhook for paymentKey {}: {}", paymentKey, e.getMessage());
-            return ResponseEntity.status(500).body("Error during processing");
+        if (paymentKey == null || webhookRequest.getStatus() == null) {
+            return ResponseEntity.badRequest().body("paymentKey and status are required");
         }
 
-        return ResponseEntity.ok("Webhook processed successfully");
+        boolean accepted = webhookInboxService.enqueue(paymentKey, webhookRequest.getStatus(), webhookId);
+
+        return ResponseEntity.ok(accepted ? "Webhook accepted" : "Duplicate webhook ignored");
     }
-}
\ No newline at end of file
+}
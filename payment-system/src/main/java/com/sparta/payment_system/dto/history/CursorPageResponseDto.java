@@ -0,0 +1,18 @@
+package com.sparta.payment_system.dto.history;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 커서(keyset) 기반 페이지 응답
+ * 다음 페이지는 nextCursor 값을 cursor 파라미터로 전달하여 조회합니다. 마지막 페이지이면 nextCursor는 null입니다.
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPageResponseDto<T> {
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasNext;
+}
@@ -0,0 +1,17 @@
+package com.sparta.payment_system.dto.history;
+
+import com.sparta.payment_system.entity.Order;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class OrderHistoryDto {
+    private Long orderId;
+    private BigDecimal totalAmount;
+    private Order.OrderStatus status;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,21 @@
+package com.sparta.payment_system.dto.history;
+
+import com.sparta.payment_system.entity.Payment;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class PaymentHistoryDto {
+    private Long paymentId;
+    private Long orderId;
+    private BigDecimal amount;
+    private BigDecimal pointsUsed;
+    private Payment.PaymentStatus status;
+    private LocalDateTime paidAt;
+    // 주문 생성 시각 (커서 기준)
+    private LocalDateTime orderedAt;
+}
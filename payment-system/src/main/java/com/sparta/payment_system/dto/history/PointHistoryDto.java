@@ -0,0 +1,17 @@
+package com.sparta.payment_system.dto.history;
+
+import com.sparta.payment_system.entity.PointTransaction;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class PointHistoryDto {
+    private Long id;
+    private PointTransaction.PointType type;
+    private BigDecimal pointsChanged;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,28 @@
+package com.sparta.payment_system.dto.order;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 대량 주문 생성 API의 주문별 처리 결과 (NDJSON 한 줄)
+ */
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkOrderResultDto {
+
+    // 요청 목록에서의 순번 (0부터)
+    private final int index;
+    private final boolean success;
+    private final OrderDetailResponseDto order;
+    private final String error;
+
+    public static BulkOrderResultDto success(int index, OrderDetailResponseDto order) {
+        return new BulkOrderResultDto(index, true, order, null);
+    }
+
+    public static BulkOrderResultDto failure(int index, String error) {
+        return new BulkOrderResultDto(index, false, null, error);
+    }
+}
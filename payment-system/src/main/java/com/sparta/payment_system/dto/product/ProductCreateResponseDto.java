@@ -36,4 +36,9 @@ public class ProductCreateResponseDto {
                 product.getCreatedAt()
         );
     }
+
+    // 재고만 다른 값으로 바꾼 사본 (상품 정보는 캐시, 재고는 재고 슬롯에서 가져올 때 사용)
+    public ProductCreateResponseDto withStock(Integer stock) {
+        return new ProductCreateResponseDto(productId, name, description, price, stock, createdDate);
+    }
 }
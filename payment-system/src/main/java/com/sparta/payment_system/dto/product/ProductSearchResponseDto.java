@@ -0,0 +1,18 @@
+package com.sparta.payment_system.dto.product;
+
+import com.sparta.payment_system.entity.Product;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+@Getter
+@AllArgsConstructor
+public class ProductSearchResponseDto {
+
+    private final Long productId; // 상품아이디
+    private final String name; // 상품명
+    private final BigDecimal price; // 상품 가격
+    private final Product.ProductStatus status; // 판매 상태
+    private final Integer stock; // 가용 재고
+}
@@ -0,0 +1,32 @@
+package com.sparta.payment_system.dto.product;
+
+import com.sparta.payment_system.entity.StockAlert;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class StockAlertStreamDto {
+
+    private final Long alertId; // 알림 ID
+    private final Long productId; // 상품 ID
+    private final StockAlert.AlertType alertType; // 알림 타입
+    private final Integer currentStock; // 알림 시점 재고
+    private final Integer minStockThreshold; // 최소 재고 기준
+    private final String message; // 알림 메시지
+    private final LocalDateTime createdAt; // 알림 생성 시각
+
+    public static StockAlertStreamDto from(StockAlert alert) {
+        return new StockAlertStreamDto(
+                alert.getAlertId(),
+                alert.getProductId(),
+                alert.getAlertType(),
+                alert.getCurrentStock(),
+                alert.getMinStockThreshold(),
+                alert.getMessage(),
+                alert.getCreatedAt()
+        );
+    }
+}
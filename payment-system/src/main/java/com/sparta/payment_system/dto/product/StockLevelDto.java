@@ -0,0 +1,12 @@
+package com.sparta.payment_system.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class StockLevelDto {
+
+    private final Long productId; // 상품 ID
+    private final Integer stock; // 가용 재고
+}
@@ -6,15 +6,17 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "blacklisted_token")
+@Table(name = "blacklisted_token",
+        indexes = @Index(name = "idx_blacklisted_token_expiration", columnList = "expiration"))
 public class BlacklistToken {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(unique = true, nullable = false)
-    private String token;
+    // 토큰 원문 대신 SHA-256 해시(hex)를 저장합니다.
+    @Column(name = "token", unique = true, nullable = false, length = 64)
+    private String tokenHash;
 
     @Column(nullable = false)
     private LocalDateTime expiration;
@@ -23,10 +25,18 @@ public class BlacklistToken {
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
-    public BlacklistToken(String token, LocalDateTime expiration) {
-        this.token = token;
+    public BlacklistToken(String tokenHash, LocalDateTime expiration) {
+        this.tokenHash = tokenHash;
         this.expiration = expiration;
     }
 
     public BlacklistToken() {}
-}
\ No newline at end of file
+
+    public String getTokenHash() {
+        return tokenHash;
+    }
+
+    public LocalDateTime getExpiration() {
+        return expiration;
+    }
+}
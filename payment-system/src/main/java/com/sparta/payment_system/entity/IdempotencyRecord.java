@@ -0,0 +1,65 @@
+package com.sparta.payment_system.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Idempotency-Key 요청의 처리 상태와 응답을 보관하는 엔티티입니다.
+ * (사용자, 키) 유니크 제약으로 여러 인스턴스에서 같은 키의 요청이 동시에 들어와도 하나만 처리를 선점합니다.
+ */
+@Entity
+@Table(name = "idempotency_records",
+        uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_records_key", columnNames = "record_key"),
+        indexes = @Index(name = "idx_idempotency_records_expires_at", columnList = "expires_at"))
+@Getter
+@NoArgsConstructor
+public class IdempotencyRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "record_id")
+    private Long recordId;
+
+    // 사용자 ID + ":" + Idempotency-Key
+    @Column(name = "record_key", nullable = false, length = 150)
+    private String recordKey;
+
+    // 요청 메서드, 경로, 파라미터, 본문의 SHA-256 해시(hex)
+    @Column(name = "fingerprint", nullable = false, length = 64)
+    private String fingerprint;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "state", nullable = false, length = 20)
+    private State state = State.IN_PROGRESS;
+
+    @Column(name = "response_status")
+    private Integer responseStatus;
+
+    @Column(name = "response_content_type", length = 100)
+    private String responseContentType;
+
+    @Column(name = "response_body", columnDefinition = "MEDIUMTEXT")
+    private String responseBody;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // 처리 중인 기록은 선점 만료 시각, 완료된 기록은 보관 만료 시각
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public IdempotencyRecord(String recordKey, String fingerprint, LocalDateTime expiresAt) {
+        this.recordKey = recordKey;
+        this.fingerprint = fingerprint;
+        this.expiresAt = expiresAt;
+    }
+
+    public enum State {
+        IN_PROGRESS, COMPLETED
+    }
+}
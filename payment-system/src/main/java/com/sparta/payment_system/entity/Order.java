@@ -12,14 +12,17 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders",
+        indexes = @Index(name = "idx_orders_user_created", columnList = "user_id, created_at, order_id"))
 @Getter
 @Setter
 @NoArgsConstructor
 public class Order {
 
+    // IDENTITY 전략은 INSERT 배치가 불가능하므로 pooled 시퀀스(테이블 에뮬레이션)로 ID를 미리 할당합니다.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     @Column(name = "order_id")
     private Long orderId;
     
@@ -37,8 +40,8 @@ public class Order {
     @Column(name = "created_at",nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
-    @OneToMany
-    @JoinColumn(name = "order_id")
+    // 외래 키는 OrderItem.order가 관리하여 주문 상품 INSERT 후 별도의 UPDATE가 발생하지 않도록 합니다.
+    @OneToMany(mappedBy = "order", cascade = CascadeType.PERSIST)
     private List<OrderItem> orderItems = new ArrayList<>();
 
     @OneToOne(mappedBy = "order", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
@@ -58,5 +61,6 @@ public class Order {
 
     public void setOrderItem(OrderItem orderItem) {
         this.orderItems.add(orderItem);
+        orderItem.setOrder(this);
     }
 }
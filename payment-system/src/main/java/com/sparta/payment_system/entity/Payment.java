@@ -68,12 +68,19 @@ public class Payment {
     private BigDecimal amount = BigDecimal.ZERO;
 
     /**
-     * 결제 상태 (READY, PAID, FAILED, REFUNDED)
+     * 결제 상태 (READY, PAID, FAILED, REFUND_PENDING, REFUNDED)
      */
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
     private PaymentStatus status;
 
+    /**
+     * 낙관적 잠금 버전 (서로 다른 서버의 동시 결제 완료 처리 방지)
+     */
+    @Version
+    @Column(columnDefinition = "bigint default 0")
+    private Long version;
+
     /**
      * 레코드 생성 일시
      */
@@ -102,7 +109,10 @@ public class Payment {
      * 결제 상태를 정의하는 Enum.
      */
     public enum PaymentStatus {
-        READY, PAID, FAILED, REFUNDED
+        READY, PAID, FAILED,
+        /** PG 환불 요청 중 (PG 응답 대기 또는 결과 미확인) */
+        REFUND_PENDING,
+        REFUNDED
     }
 
     /**
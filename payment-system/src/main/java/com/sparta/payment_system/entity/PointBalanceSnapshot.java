@@ -0,0 +1,55 @@
+package com.sparta.payment_system.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 특정 시각 이전에 생성된 원장까지 반영한 사용자 포인트 잔액 스냅샷입니다.
+ * 잔액 검증 시 전체 원장 대신 마지막 스냅샷 이후의 거래 내역만 재생합니다.
+ * 원장 ID는 인스턴스별 pooled 블록에서 할당되어 커밋 순서와 다르므로 경계로 생성 시각을 사용합니다.
+ */
+@Entity
+@Table(name = "point_balance_snapshots",
+        indexes = @Index(name = "idx_point_snapshot_user_covered", columnList = "user_id, covered_until"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class PointBalanceSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "snapshot_id")
+    private Long snapshotId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // covered_until 이전에 생성된 원장을 반영한 잔액
+    @Column(name = "balance", nullable = false)
+    private BigDecimal balance;
+
+    // 반영한 원장의 생성 시각 상한 (이 시각 미만). 값이 없는 이전 형식의 스냅샷은 사용하지 않습니다.
+    @Column(name = "covered_until")
+    private LocalDateTime coveredUntil;
+
+    // 반영한 원장 중 가장 큰 ID (참고용, 경계로 사용하지 않음)
+    @Column(name = "last_transaction_id", nullable = false)
+    private Long lastTransactionId;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public PointBalanceSnapshot(Long userId, BigDecimal balance, LocalDateTime coveredUntil, Long lastTransactionId) {
+        this.userId = userId;
+        this.balance = balance;
+        this.coveredUntil = coveredUntil;
+        this.lastTransactionId = lastTransactionId;
+    }
+}
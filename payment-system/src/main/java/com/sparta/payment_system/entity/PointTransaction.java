@@ -10,13 +10,17 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(name = "point_transaction",
+        indexes = @Index(name = "idx_point_transaction_user_created", columnList = "user_id, created_at, id"))
 @Getter
 @Setter
 @NoArgsConstructor
 public class PointTransaction {
 
+    // IDENTITY 전략은 INSERT 배치가 불가능하므로 pooled 시퀀스(테이블 에뮬레이션)로 ID를 미리 할당합니다.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "point_transaction_seq")
+    @SequenceGenerator(name = "point_transaction_seq", sequenceName = "point_transaction_seq", allocationSize = 50)
     private Long id;
 
     // 포인트 거래와 관련된 사용자
@@ -35,6 +39,7 @@ public class PointTransaction {
     @Column(nullable = false)
     private BigDecimal pointsChanged;
     // 거래 생성 시간
+    @Column(name = "created_at")
     private LocalDateTime createdAt = LocalDateTime.now();
 
     // 생성자 (필요 시 추가)
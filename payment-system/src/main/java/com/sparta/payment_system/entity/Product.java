@@ -29,7 +29,8 @@ public class Product {
     @Column(name ="price", nullable = false, precision = 10, scale = 2)
     private BigDecimal price;
 
-    @Column(name = "stock", nullable = false)
+    // 재고는 ProductRepository의 조건부 UPDATE로만 변경합니다 (엔티티 저장 시 덮어쓰지 않음).
+    @Column(name = "stock", nullable = false, updatable = false)
     private Integer stock = 0;
 
     @Column(name = "description", columnDefinition = "TEXT")
@@ -79,21 +80,4 @@ public class Product {
         return this.stock <= this.minStockAlert;
     }
 
-    // 재고 차감 메서드
-    public boolean decreaseStock(int quantity) {
-        System.out.println("Product.decreaseStock 호출 - 현재 재고: " + this.stock + ", 차감 수량: " + quantity);
-        if (this.stock >= quantity) {
-            this.stock -= quantity;
-            System.out.println("재고 차감 성공 - 새로운 재고: " + this.stock);
-            return true;
-        }
-        System.out.println("재고 차감 실패 - 재고 부족");
-        return false;
-    }
-
-    // 재고 증가 메서드
-    public void increaseStock(int quantity) {
-        this.stock += quantity;
-    }
-
 }
@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 public class StockAlert {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_alerts_seq")
+    @SequenceGenerator(name = "stock_alerts_seq", sequenceName = "stock_alerts_seq", allocationSize = 50)
     @Column(name = "alert_id")
     private Long alertId;
     
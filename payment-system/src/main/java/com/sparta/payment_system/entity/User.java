@@ -33,10 +33,12 @@ public class User {
     @Column(name = "name")
     private String name;
 
-    @Column(name = "total_payment_amount")
+    // 누적 결제 금액은 UserRepository의 원자적 UPDATE로만 변경합니다 (엔티티 저장 시 덮어쓰지 않음).
+    @Column(name = "total_payment_amount", updatable = false)
     private BigDecimal totalPaymentAmount = BigDecimal.ZERO;
 
-    @Column(name = "total_points", nullable = false)
+    // 포인트 잔액도 원자적 UPDATE(PointBalanceService)로만 변경합니다.
+    @Column(name = "total_points", nullable = false, updatable = false)
     private BigDecimal totalPoints = BigDecimal.ZERO;
 
     @Enumerated(EnumType.STRING)
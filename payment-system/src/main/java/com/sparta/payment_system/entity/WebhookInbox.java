@@ -0,0 +1,73 @@
+package com.sparta.payment_system.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 수신한 PG 웹훅을 처리 전까지 보관하는 Inbox 엔티티입니다.
+ * (결제 키, 상태, 이벤트 ID) 유니크 제약으로 PG의 중복 재전송을 한 번만 기록합니다.
+ */
+@Entity
+@Table(name = "webhook_inbox",
+        uniqueConstraints = @UniqueConstraint(name = "uk_webhook_inbox_event",
+                columnNames = {"payment_key", "status", "event_id"}),
+        indexes = {
+                @Index(name = "idx_webhook_inbox_state", columnList = "state, inbox_id"),
+                @Index(name = "idx_webhook_inbox_payment_key", columnList = "payment_key, inbox_id")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+public class WebhookInbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "inbox_id")
+    private Long inboxId;
+
+    @Column(name = "payment_key", nullable = false)
+    private String paymentKey;
+
+    // 웹훅 결제 상태 (PAID, FAILED, CANCELLED ...)
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    // PG 웹훅 이벤트 ID (webhook-id 헤더, 없으면 빈 문자열)
+    @Column(name = "event_id", nullable = false, length = 100)
+    private String eventId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "state", nullable = false, length = 20)
+    private State state = State.RECEIVED;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "received_at", nullable = false, updatable = false)
+    private LocalDateTime receivedAt;
+
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    public WebhookInbox(String paymentKey, String status, String eventId) {
+        this.paymentKey = paymentKey;
+        this.status = status;
+        this.eventId = eventId;
+    }
+
+    public enum State {
+        RECEIVED, PROCESSING, PROCESSED, FAILED
+    }
+}
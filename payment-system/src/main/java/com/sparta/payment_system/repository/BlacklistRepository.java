@@ -2,12 +2,41 @@ package com.sparta.payment_system.repository;
 
 import com.sparta.payment_system.entity.BlacklistToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.Optional;
+import java.util.List;
 
 public interface BlacklistRepository extends JpaRepository<BlacklistToken, Long> {
-    boolean existsByToken(String token);
-    Optional<BlacklistToken> findByToken(String token);
-    void deleteByExpiration(LocalDateTime expiration);
-}
\ No newline at end of file
+    boolean existsByTokenHash(String tokenHash);
+
+    // 만료되지 않은 블랙리스트 (해시, 만료 시각)
+    @Query("SELECT b.tokenHash, b.expiration FROM BlacklistToken b WHERE b.expiration > :now")
+    List<Object[]> findActive(@Param("now") LocalDateTime now);
+
+    // 지정 시각 이후 추가된 블랙리스트 (다른 인스턴스에서 추가된 항목 동기화용)
+    @Query("SELECT b.tokenHash, b.expiration FROM BlacklistToken b WHERE b.createdAt >= :since AND b.expiration > :now")
+    List<Object[]> findActiveCreatedSince(@Param("since") LocalDateTime since, @Param("now") LocalDateTime now);
+
+    // 해시 저장 이전에 원문으로 기록된 행 중 같은 토큰의 해시 행이 이미 있는 행 삭제 (마이그레이션 1단계)
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE b FROM blacklisted_token b JOIN blacklisted_token h ON h.token = SHA2(b.token, 256) " +
+            "WHERE CHAR_LENGTH(b.token) <> 64", nativeQuery = true)
+    int deleteLegacyDuplicates();
+
+    // 원문으로 기록된 행을 SHA-256 해시로 변환 (마이그레이션 2단계)
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE blacklisted_token SET token = SHA2(token, 256) WHERE CHAR_LENGTH(token) <> 64", nativeQuery = true)
+    int hashLegacyTokens();
+
+    // 만료된 블랙리스트를 최대 limit 건씩 삭제
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM blacklisted_token WHERE expiration < :now LIMIT :limit", nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
@@ -0,0 +1,46 @@
+package com.sparta.payment_system.repository;
+
+import com.sparta.payment_system.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    Optional<IdempotencyRecord> findByRecordKey(String recordKey);
+
+    // IN_PROGRESS -> COMPLETED: 응답을 저장하고 보관 만료 시각으로 갱신합니다.
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.state = com.sparta.payment_system.entity.IdempotencyRecord.State.COMPLETED, " +
+            "r.responseStatus = :status, r.responseContentType = :contentType, r.responseBody = :body, r.expiresAt = :expiresAt " +
+            "WHERE r.recordKey = :recordKey AND r.state = com.sparta.payment_system.entity.IdempotencyRecord.State.IN_PROGRESS")
+    int complete(@Param("recordKey") String recordKey, @Param("status") int status, @Param("contentType") String contentType,
+                 @Param("body") String body, @Param("expiresAt") LocalDateTime expiresAt);
+
+    // 처리 실패: 같은 키로 다시 시도할 수 있도록 선점 기록을 삭제합니다.
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.recordKey = :recordKey " +
+            "AND r.state = com.sparta.payment_system.entity.IdempotencyRecord.State.IN_PROGRESS")
+    int deleteInProgress(@Param("recordKey") String recordKey);
+
+    // 만료된 기록 하나를 삭제합니다. (선점한 인스턴스가 종료되어 남은 IN_PROGRESS 기록 정리용)
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.recordKey = :recordKey AND r.expiresAt < :now")
+    int deleteExpiredByRecordKey(@Param("recordKey") String recordKey, @Param("now") LocalDateTime now);
+
+    // 만료된 기록을 최대 limit 건씩 삭제
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM idempotency_records WHERE expires_at < :now LIMIT :limit", nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
@@ -1,9 +1,15 @@
 package com.sparta.payment_system.repository;
 
+import com.sparta.payment_system.dto.history.OrderHistoryDto;
 import com.sparta.payment_system.entity.Order;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,4 +23,18 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByUserIdAndStatus(Long userId, Order.OrderStatus status);
     
     Optional<Order> findByOrderId(Long orderId);
+
+    // 사용자 주문 내역 (keyset 페이지네이션, 최신순)
+    @Query("SELECT new com.sparta.payment_system.dto.history.OrderHistoryDto(o.orderId, o.totalAmount, o.status, o.createdAt) " +
+            "FROM Order o WHERE o.userId = :userId " +
+            "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.orderId < :orderId)) " +
+            "ORDER BY o.createdAt DESC, o.orderId DESC")
+    List<OrderHistoryDto> findHistory(@Param("userId") Long userId,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("orderId") Long orderId,
+                                      Pageable pageable);
+
+    // 주문 상품과 상품을 함께 조회
+    @EntityGraph(attributePaths = {"orderItems", "orderItems.product"})
+    Optional<Order> findWithItemsByOrderId(Long orderId);
 }
@@ -1,9 +1,16 @@
 package com.sparta.payment_system.repository;
 
+import com.sparta.payment_system.dto.history.PaymentHistoryDto;
 import com.sparta.payment_system.entity.Payment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,6 +30,24 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
      */
     Optional<Payment> findByPaymentKey(String paymentKey);
 
+    // 결제 키로 결제 금액과 주문 ID만 조회 [amount, orderId] (PortOne 시뮬레이터용)
+    @Query("SELECT p.amount, p.order.orderId FROM Payment p WHERE p.paymentKey = :paymentKey")
+    List<Object[]> findAmountAndOrderIdByPaymentKey(@Param("paymentKey") String paymentKey);
+
+    /**
+     * 결제 ID로 결제와 주문, 주문 상품, 상품을 한 번의 쿼리로 함께 조회합니다.
+     */
+    @Query("SELECT p FROM Payment p JOIN FETCH p.order o LEFT JOIN FETCH o.orderItems i LEFT JOIN FETCH i.product " +
+            "WHERE p.paymentId = :paymentId")
+    Optional<Payment> findWithOrderItemsById(@Param("paymentId") Long paymentId);
+
+    /**
+     * 결제 키로 결제와 주문, 주문 상품, 상품을 한 번의 쿼리로 함께 조회합니다.
+     */
+    @Query("SELECT p FROM Payment p JOIN FETCH p.order o LEFT JOIN FETCH o.orderItems i LEFT JOIN FETCH i.product " +
+            "WHERE p.paymentKey = :paymentKey")
+    Optional<Payment> findWithOrderItemsByPaymentKey(@Param("paymentKey") String paymentKey);
+
     /**
      * 특정 결제 상태를 가진 모든 결제 엔티티를 조회합니다.
      */
@@ -37,4 +62,42 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
      * 특정 사용자 ID의 주문에 연결된 모든 결제 엔티티를 조회합니다.
      */
     List<Payment> findAllByOrderUserId(Long userId);
+
+    /**
+     * 사용자의 결제 내역을 주문 생성 시각 기준 최신순으로 조회합니다. (keyset 페이지네이션)
+     * 결제와 주문은 1:1이므로 orders(user_id, created_at, order_id) 인덱스를 따라 읽습니다.
+     */
+    @Query("SELECT new com.sparta.payment_system.dto.history.PaymentHistoryDto(" +
+            "p.paymentId, o.orderId, p.amount, p.pointsUsed, p.status, p.paidAt, o.createdAt) " +
+            "FROM Payment p JOIN p.order o WHERE o.userId = :userId " +
+            "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.orderId < :orderId)) " +
+            "ORDER BY o.createdAt DESC, o.orderId DESC")
+    List<PaymentHistoryDto> findHistory(@Param("userId") Long userId,
+                                        @Param("createdAt") LocalDateTime createdAt,
+                                        @Param("orderId") Long orderId,
+                                        Pageable pageable);
+
+    /**
+     * 현재 상태가 from인 경우에만 결제 상태를 to로 변경합니다. 변경된 행 수(0 또는 1)를 반환합니다.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Payment p SET p.status = :to, p.updatedAt = :now, p.version = p.version + 1 " +
+            "WHERE p.paymentId = :paymentId AND p.status = :from")
+    int transitionStatus(@Param("paymentId") Long paymentId,
+                         @Param("from") Payment.PaymentStatus from,
+                         @Param("to") Payment.PaymentStatus to,
+                         @Param("now") LocalDateTime now);
+
+    /**
+     * 특정 상태로 지정 시각 이전부터 머물러 있는 결제 엔티티를 조회합니다.
+     */
+    List<Payment> findByStatusAndUpdatedAtBefore(Payment.PaymentStatus status, LocalDateTime cutoff);
+
+    /**
+     * 사용자 ID 목록별로 지정한 상태들의 결제 금액 합계를 집계합니다. (userId, 합계) 쌍을 반환합니다.
+     */
+    @Query("SELECT o.userId, COALESCE(SUM(p.amount), 0) FROM Payment p JOIN p.order o " +
+            "WHERE p.status IN :statuses AND o.userId IN :userIds GROUP BY o.userId")
+    List<Object[]> sumAmountByUserIds(@Param("userIds") Collection<Long> userIds,
+                                      @Param("statuses") Collection<Payment.PaymentStatus> statuses);
 }
\ No newline at end of file
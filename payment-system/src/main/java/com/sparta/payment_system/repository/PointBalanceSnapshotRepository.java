@@ -0,0 +1,18 @@
+package com.sparta.payment_system.repository;
+
+import com.sparta.payment_system.entity.PointBalanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface PointBalanceSnapshotRepository extends JpaRepository<PointBalanceSnapshot, Long> {
+
+    Optional<PointBalanceSnapshot> findTopByUserIdAndCoveredUntilIsNotNullOrderByCoveredUntilDesc(Long userId);
+
+    @Query("SELECT MAX(s.coveredUntil) FROM PointBalanceSnapshot s")
+    Optional<LocalDateTime> findMaxCoveredUntil();
+}
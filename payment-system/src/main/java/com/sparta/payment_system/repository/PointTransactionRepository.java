@@ -1,10 +1,16 @@
 package com.sparta.payment_system.repository;
 
+import com.sparta.payment_system.dto.history.PointHistoryDto;
 import com.sparta.payment_system.entity.PointTransaction;
 import com.sparta.payment_system.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -13,4 +19,49 @@ public interface PointTransactionRepository extends JpaRepository<PointTransacti
     List<PointTransaction> findAllByUser(User user);
 
     List<PointTransaction> findAllByUserOrderByCreatedAtDesc(User user);
+
+    /**
+     * 사용자의 포인트 거래 내역을 최신순으로 조회합니다. (keyset 페이지네이션)
+     */
+    @Query("SELECT new com.sparta.payment_system.dto.history.PointHistoryDto(t.id, t.type, t.pointsChanged, t.createdAt) " +
+            "FROM PointTransaction t WHERE t.user.userId = :userId " +
+            "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<PointHistoryDto> findHistory(@Param("userId") Long userId,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") Long id,
+                                      Pageable pageable);
+
+    /**
+     * [from, to) 구간에 생성된 사용자의 거래 내역을 부호를 적용해 합산합니다. (USED는 차감)
+     */
+    @Query("SELECT COALESCE(SUM(CASE WHEN t.type = com.sparta.payment_system.entity.PointTransaction.PointType.USED " +
+            "THEN -t.pointsChanged ELSE t.pointsChanged END), 0) " +
+            "FROM PointTransaction t WHERE t.user.userId = :userId AND t.createdAt >= :from AND t.createdAt < :to")
+    BigDecimal sumSignedPointsCreatedBetween(@Param("userId") Long userId,
+                                             @Param("from") LocalDateTime from,
+                                             @Param("to") LocalDateTime to);
+
+    /**
+     * from 이후에 생성된 사용자의 거래 내역을 부호를 적용해 합산합니다. (잔액 검증용)
+     */
+    @Query("SELECT COALESCE(SUM(CASE WHEN t.type = com.sparta.payment_system.entity.PointTransaction.PointType.USED " +
+            "THEN -t.pointsChanged ELSE t.pointsChanged END), 0) " +
+            "FROM PointTransaction t WHERE t.user.userId = :userId AND t.createdAt >= :from")
+    BigDecimal sumSignedPointsCreatedSince(@Param("userId") Long userId, @Param("from") LocalDateTime from);
+
+    /**
+     * [from, to) 구간에 생성된 사용자의 거래 중 가장 큰 ID를 조회합니다. (스냅샷 참고 정보)
+     */
+    @Query("SELECT COALESCE(MAX(t.id), 0) FROM PointTransaction t " +
+            "WHERE t.user.userId = :userId AND t.createdAt >= :from AND t.createdAt < :to")
+    Long findMaxIdCreatedBetween(@Param("userId") Long userId,
+                                 @Param("from") LocalDateTime from,
+                                 @Param("to") LocalDateTime to);
+
+    /**
+     * [from, to) 구간에 거래가 생성된 사용자 ID 목록을 조회합니다.
+     */
+    @Query("SELECT DISTINCT t.user.userId FROM PointTransaction t WHERE t.createdAt >= :from AND t.createdAt < :to")
+    List<Long> findUserIdsWithTransactionsCreatedBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
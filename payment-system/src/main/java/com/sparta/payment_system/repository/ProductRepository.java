@@ -1,21 +1,59 @@
 package com.sparta.payment_system.repository;
 
 import com.sparta.payment_system.entity.Product;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductStockRepository {
     
     List<Product> findByNameContainingIgnoreCase(String name);
     
-    List<Product> findByPriceBetween(Double minPrice, Double maxPrice);
+    List<Product> findByPriceBetween(BigDecimal minPrice, BigDecimal maxPrice);
     
     List<Product> findByStockGreaterThan(Integer stock);
     
     // 새로 추가된 메서드들
     List<Product> findByStatus(Product.ProductStatus status);
 
+    // 재고 변경 전 상품 행 잠금 조회. 같은 상품의 동시 변경이 순서대로 실행되어 변경 전 재고를 정확히 알 수 있습니다.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.productId = :productId")
+    Optional<Product> findByIdForUpdate(@Param("productId") Long productId);
+
+    // 재고가 충분한 경우에만 차감 (갱신된 행 수 반환: 1 성공, 0 재고 부족 또는 상품 없음)
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE products SET stock = stock - :quantity, updated_at = NOW() " +
+            "WHERE product_id = :productId AND stock >= :quantity", nativeQuery = true)
+    int decreaseStockIfAvailable(@Param("productId") Long productId, @Param("quantity") int quantity);
+
+    // 재고 증가 (갱신된 행 수 반환: 0 상품 없음)
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE products SET stock = stock + :quantity, updated_at = NOW() " +
+            "WHERE product_id = :productId", nativeQuery = true)
+    int increaseStock(@Param("productId") Long productId, @Param("quantity") int quantity);
+
+    // 영속성 컨텍스트를 거치지 않고 현재 재고 조회
+    @Query("SELECT p.stock FROM Product p WHERE p.productId = :productId")
+    Optional<Integer> findStockByProductId(@Param("productId") Long productId);
+
+    // 재고 슬롯 동기화용: 여러 상품의 현재 재고를 한 번에 조회 [productId, stock]
+    @Query("SELECT p.productId, p.stock FROM Product p WHERE p.productId IN :productIds")
+    List<Object[]> findStocksByProductIdIn(@Param("productIds") Collection<Long> productIds);
+
+    // 검색 인덱스 구성용: 상품 ID 순으로 검색에 필요한 컬럼만 조회 [productId, name, price, status, stock]
+    @Query("SELECT p.productId, p.name, p.price, p.status, p.stock FROM Product p " +
+            "WHERE p.productId > :lastProductId ORDER BY p.productId")
+    List<Object[]> findSearchRowsAfter(@Param("lastProductId") Long lastProductId, Pageable pageable);
 }
@@ -0,0 +1,23 @@
+package com.sparta.payment_system.repository;
+
+import com.sparta.payment_system.entity.OrderItem;
+
+import java.util.List;
+
+/**
+ * 주문 상품 목록 단위의 재고 일괄 변경을 담당하는 커스텀 리포지토리입니다.
+ * 상품별 조건부 UPDATE를 하나의 JDBC 배치로 실행합니다.
+ */
+public interface ProductStockRepository {
+
+    /**
+     * 주문 상품 목록의 재고를 한 번에 차감합니다.
+     * 하나라도 재고가 부족하면 예외를 던져 트랜잭션 전체를 롤백시킵니다.
+     */
+    void decreaseStocks(List<OrderItem> items);
+
+    /**
+     * 주문 상품 목록의 재고를 한 번에 복구합니다.
+     */
+    void increaseStocks(List<OrderItem> items);
+}
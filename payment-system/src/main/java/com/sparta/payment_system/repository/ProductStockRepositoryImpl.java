@@ -0,0 +1,59 @@
+package com.sparta.payment_system.repository;
+
+import com.sparta.payment_system.entity.OrderItem;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@RequiredArgsConstructor
+public class ProductStockRepositoryImpl implements ProductStockRepository {
+
+    private static final String DECREASE_SQL =
+            "UPDATE products SET stock = stock - ?, updated_at = NOW() WHERE product_id = ? AND stock >= ?";
+    private static final String INCREASE_SQL =
+            "UPDATE products SET stock = stock + ?, updated_at = NOW() WHERE product_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void decreaseStocks(List<OrderItem> items) {
+        List<Object[]> batch = new ArrayList<>();
+        toQuantities(items).forEach((productId, quantity) ->
+                batch.add(new Object[]{quantity, productId, quantity}));
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        int[] updated = jdbcTemplate.batchUpdate(DECREASE_SQL, batch);
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                throw new IllegalStateException("재고 부족으로 결제 완료 불가 - Product ID: " + batch.get(i)[1]);
+            }
+        }
+    }
+
+    @Override
+    public void increaseStocks(List<OrderItem> items) {
+        List<Object[]> batch = new ArrayList<>();
+        toQuantities(items).forEach((productId, quantity) ->
+                batch.add(new Object[]{quantity, productId}));
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INCREASE_SQL, batch);
+        }
+    }
+
+    // 같은 상품을 합산하고 상품 ID 순으로 정렬하여 행 잠금 순서를 일정하게 유지합니다.
+    private static Map<Long, Integer> toQuantities(List<OrderItem> items) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        if (items != null) {
+            for (OrderItem item : items) {
+                quantities.merge(item.getProduct().getProductId(), item.getQuantity(), Integer::sum);
+            }
+        }
+        return quantities;
+    }
+}
@@ -1,6 +1,7 @@
 package com.sparta.payment_system.repository;
 
 import com.sparta.payment_system.entity.StockAlert;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,9 +14,11 @@ import java.util.List;
 public interface StockAlertRepository extends JpaRepository<StockAlert, Long> {
     
     // 특정 상품의 알림 조회
+    @EntityGraph(attributePaths = "product")
     List<StockAlert> findByProductIdOrderByCreatedAtDesc(Long productId);
     
     // 대기중인 알림 조회
+    @EntityGraph(attributePaths = "product")
     List<StockAlert> findByStatusOrderByCreatedAtAsc(StockAlert.AlertStatus status);
     
     // 특정 상품의 대기중인 알림 조회
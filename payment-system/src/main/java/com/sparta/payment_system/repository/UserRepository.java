@@ -1,13 +1,52 @@
 package com.sparta.payment_system.repository;
 
+import com.sparta.payment_system.entity.MembershipRank;
 import com.sparta.payment_system.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    // 누적 결제 금액 원자적 증감
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE User u SET u.totalPaymentAmount = COALESCE(u.totalPaymentAmount, 0) + :amount " +
+            "WHERE u.userId = :userId")
+    int addTotalPaymentAmount(@Param("userId") Long userId, @Param("amount") BigDecimal amount);
+
+    @Query("SELECT COALESCE(u.totalPaymentAmount, 0) FROM User u WHERE u.userId = :userId")
+    BigDecimal findTotalPaymentAmountByUserId(@Param("userId") Long userId);
+
+    // 포인트 잔액 원자적 증감
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE User u SET u.totalPoints = u.totalPoints + :delta WHERE u.userId = :userId")
+    int addTotalPoints(@Param("userId") Long userId, @Param("delta") BigDecimal delta);
+
+    // 포인트 잔액 조건부 차감 (잔액이 부족하면 0건 갱신)
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE User u SET u.totalPoints = u.totalPoints - :amount WHERE u.userId = :userId AND u.totalPoints >= :amount")
+    int subtractTotalPoints(@Param("userId") Long userId, @Param("amount") BigDecimal amount);
+
+    @Query("SELECT u.totalPoints FROM User u WHERE u.userId = :userId")
+    Optional<BigDecimal> findTotalPointsByUserId(@Param("userId") Long userId);
+
+    // 재계산 작업용
+    @Query("SELECT u.userId FROM User u WHERE u.userId > :lastUserId ORDER BY u.userId")
+    List<Long> findUserIdsAfter(@Param("lastUserId") Long lastUserId, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE User u SET u.totalPaymentAmount = :totalPaid, u.membershipRank = :rank WHERE u.userId = :userId")
+    int updateMembership(@Param("userId") Long userId,
+                         @Param("totalPaid") BigDecimal totalPaid,
+                         @Param("rank") MembershipRank rank);
+}
@@ -0,0 +1,61 @@
+package com.sparta.payment_system.repository;
+
+import com.sparta.payment_system.entity.WebhookInbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WebhookInboxRepository extends JpaRepository<WebhookInbox, Long> {
+
+    // 처리 대기 중인 웹훅 (수신 순서). 같은 결제 키에 먼저 수신된 웹훅이 대기(재시도 포함) 또는 처리 중이면
+    // 뒤의 웹훅은 가져오지 않아, 결제 키별로 수신 순서대로 하나씩만 처리되도록 합니다.
+    @Query("SELECT w FROM WebhookInbox w WHERE w.state = com.sparta.payment_system.entity.WebhookInbox.State.RECEIVED " +
+            "AND NOT EXISTS (SELECT 1 FROM WebhookInbox e WHERE e.paymentKey = w.paymentKey AND e.inboxId < w.inboxId " +
+            "AND e.state IN (com.sparta.payment_system.entity.WebhookInbox.State.RECEIVED, " +
+            "com.sparta.payment_system.entity.WebhookInbox.State.PROCESSING)) " +
+            "ORDER BY w.inboxId")
+    List<WebhookInbox> findProcessable(Pageable pageable);
+
+    // 가장 오래된 처리 대기 웹훅의 수신 시각 (Inbox 지연 측정용)
+    @Query("SELECT MIN(w.receivedAt) FROM WebhookInbox w WHERE w.state = :state")
+    Optional<LocalDateTime> findOldestReceivedAt(@Param("state") WebhookInbox.State state);
+
+    // RECEIVED -> PROCESSING 선점 (여러 인스턴스가 같은 웹훅을 동시에 처리하지 않도록)
+    @Transactional
+    @Modifying
+    @Query("UPDATE WebhookInbox w SET w.state = com.sparta.payment_system.entity.WebhookInbox.State.PROCESSING, w.claimedAt = :now " +
+            "WHERE w.inboxId = :inboxId AND w.state = com.sparta.payment_system.entity.WebhookInbox.State.RECEIVED")
+    int claim(@Param("inboxId") Long inboxId, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE WebhookInbox w SET w.state = com.sparta.payment_system.entity.WebhookInbox.State.PROCESSED, " +
+            "w.processedAt = :now WHERE w.inboxId = :inboxId")
+    int markProcessed(@Param("inboxId") Long inboxId, @Param("now") LocalDateTime now);
+
+    // 처리 실패: 재시도 횟수를 늘리고 한도 이내면 다시 RECEIVED, 초과하면 FAILED
+    @Transactional
+    @Modifying
+    @Query("UPDATE WebhookInbox w SET w.attempts = w.attempts + 1, w.lastError = :error, " +
+            "w.state = CASE WHEN w.attempts + 1 >= :maxAttempts " +
+            "THEN com.sparta.payment_system.entity.WebhookInbox.State.FAILED " +
+            "ELSE com.sparta.payment_system.entity.WebhookInbox.State.RECEIVED END " +
+            "WHERE w.inboxId = :inboxId")
+    int markFailed(@Param("inboxId") Long inboxId, @Param("error") String error, @Param("maxAttempts") int maxAttempts);
+
+    // 처리 중 서버가 종료되어 PROCESSING에 남은 웹훅을 다시 대기 상태로 돌립니다.
+    @Transactional
+    @Modifying
+    @Query("UPDATE WebhookInbox w SET w.state = com.sparta.payment_system.entity.WebhookInbox.State.RECEIVED " +
+            "WHERE w.state = com.sparta.payment_system.entity.WebhookInbox.State.PROCESSING AND w.claimedAt < :cutoff")
+    int releaseStaleClaims(@Param("cutoff") LocalDateTime cutoff);
+}
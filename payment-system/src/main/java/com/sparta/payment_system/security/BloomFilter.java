@@ -0,0 +1,66 @@
+package com.sparta.payment_system.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 토큰 해시 조회용 Bloom Filter입니다.
+ * "없음"은 확정적으로, "있음"은 오탐 가능성을 가지고 판단하므로 대부분의 정상 토큰은 Set/DB 조회 없이 통과합니다.
+ * 입력은 이미 SHA-256으로 고르게 분산된 값이므로 별도 해시 함수 없이 두 개의 64비트 값으로 이중 해싱합니다.
+ */
+class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashCount;
+    private final int expectedInsertions;
+
+    BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        int n = Math.max(expectedInsertions, 1);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitSize = Math.max(64, ((m + 63) / 64) * 64);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitSize / n * Math.log(2)));
+        this.bits = new AtomicLongArray((int) (bitSize / 64));
+        this.expectedInsertions = n;
+    }
+
+    void put(byte[] hash) {
+        long h1 = toLong(hash, 0);
+        long h2 = toLong(hash, 8);
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitSize);
+            int word = (int) (index >>> 6);
+            long mask = 1L << (index & 63);
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    boolean mightContain(byte[] hash) {
+        long h1 = toLong(hash, 0);
+        long h2 = toLong(hash, 8);
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitSize);
+            if ((bits.get((int) (index >>> 6)) & (1L << (index & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int getExpectedInsertions() {
+        return expectedInsertions;
+    }
+
+    private static long toLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xFF);
+        }
+        return value;
+    }
+}
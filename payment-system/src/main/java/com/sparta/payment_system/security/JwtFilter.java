@@ -1,5 +1,8 @@
 package com.sparta.payment_system.security;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,9 +18,11 @@ import java.io.IOException;
 @Component
 public class JwtFilter extends OncePerRequestFilter {
     private final JwtUtil jwtUtil;
+    private final MeterRegistry meterRegistry;
 
-    public JwtFilter(JwtUtil jwtUtil) {
+    public JwtFilter(JwtUtil jwtUtil, MeterRegistry meterRegistry) {
         this.jwtUtil = jwtUtil;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
@@ -28,9 +33,21 @@ public class JwtFilter extends OncePerRequestFilter {
         String accessToken = jwtUtil.resolveToken(bearerToken);
 
         //AccessToken Filter
-        if (StringUtils.hasText(accessToken) && jwtUtil.validateAccessToken(accessToken)) {
-            Authentication authentication = jwtUtil.getAuthentication(accessToken);
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+        if (StringUtils.hasText(accessToken)) {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String outcome = "invalid";
+            try {
+                // 서명 검증과 Claims 추출을 한 번의 파싱으로 처리합니다.
+                Claims claims = jwtUtil.parseAccessToken(accessToken);
+                if (claims != null) {
+                    Authentication authentication = jwtUtil.getAuthentication(claims, accessToken);
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    outcome = "authenticated";
+                }
+            } finally {
+                // 다음 필터/컨트롤러 처리 시간은 제외하고 토큰 검증과 인증 주체 조회 시간만 기록합니다.
+                sample.stop(meterRegistry.timer("security.jwt.authentication", "outcome", outcome));
+            }
         }
 
         filterChain.doFilter(request, response);
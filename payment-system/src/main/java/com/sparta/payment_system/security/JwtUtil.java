@@ -1,10 +1,8 @@
 package com.sparta.payment_system.security;
 
-import com.sparta.payment_system.entity.User;
-import com.sparta.payment_system.repository.BlacklistRepository;
-import com.sparta.payment_system.repository.UserRepository;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -19,24 +17,28 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Component
 public class JwtUtil {
     private final SecretKey key;
     private final long accessExpiration;
     private final long refreshExpiration;
-    private final BlacklistRepository blacklistRepository;
-    private final UserRepository userRepository;
+    private final TokenBlacklist tokenBlacklist;
+    private final PrincipalCache principalCache;
+    private final JwtParser parser;
 
     public JwtUtil(@Value("${jwt.secret.key}") String secretKey,
                    @Value("${jwt.token-validity-in-seconds}") long expiration,
-                   BlacklistRepository blacklistRepository,
-                   UserRepository userRepository) {
+                   TokenBlacklist tokenBlacklist,
+                   PrincipalCache principalCache) {
         this.key = Keys.hmacShaKeyFor(secretKey.getBytes());
         this.accessExpiration = expiration * 1000; //밀리초 변환 - 1시간
         this.refreshExpiration = expiration * 24 * 7 * 1000; //밀리초 변환 - 7일
 
-        this.blacklistRepository = blacklistRepository;
-        this.userRepository = userRepository;
+        this.tokenBlacklist = tokenBlacklist;
+        this.principalCache = principalCache;
+        // 파서는 스레드 안전하므로 한 번만 생성해 재사용합니다.
+        this.parser = Jwts.parser().verifyWith(key).build();
     }
 
     /**
@@ -78,20 +80,19 @@ public class JwtUtil {
      * 가져와 활용하시면 됩니다.
      */
     public Authentication getAuthentication(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return getAuthentication(parser.parseSignedClaims(token).getPayload(), token);
+    }
 
+    /**
+     * 이미 검증된 Claims로 인증 정보를 생성합니다. 사용자 정보는 PrincipalCache에서 가져옵니다.
+     */
+    public Authentication getAuthentication(Claims claims, String token) {
         Collection<? extends GrantedAuthority> authorities =
                 Arrays.stream(claims.get("auth", String.class).split(","))
                         .map(SimpleGrantedAuthority::new)
                         .collect(Collectors.toList());
-        User user = userRepository.findById(Long.valueOf(claims.getSubject())).orElseThrow(
-                () -> new IllegalStateException("존재하지 않는 사용자입니다."));
 
-        CustomUserDetails principal = new CustomUserDetails(user);
+        CustomUserDetails principal = principalCache.get(Long.valueOf(claims.getSubject()));
 
         return new UsernamePasswordAuthenticationToken(principal, token, authorities);
     }
@@ -101,31 +102,37 @@ public class JwtUtil {
      * Access Token Refresh Token 검증 과정 분리
      */
     public boolean validateAccessToken(String token) {
+        return parseAccessToken(token) != null;
+    }
+
+    /**
+     * Access Token을 한 번만 파싱(서명 검증)하여 Claims를 반환합니다. 유효하지 않으면 null을 반환합니다.
+     */
+    public Claims parseAccessToken(String token) {
         try {
-            Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
-            return true;
+            return parser.parseSignedClaims(token).getPayload();
         } catch (ExpiredJwtException e) {
-            System.out.println("만료된 Token: " + e.getMessage());
-            return false;
+            log.debug("만료된 Token: {}", e.getMessage());
+            return null;
         } catch (JwtException e) {
-            System.out.println("유효하지 않은 Token: " + e.getMessage());
-            return false;
+            log.debug("유효하지 않은 Token: {}", e.getMessage());
+            return null;
         }
     }
     public boolean validateRefreshToken(String token) {
         try {
-            Jws<Claims> claims = Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
+            Jws<Claims> claims = parser.parseSignedClaims(token);
 
             if(claims.getPayload().getExpiration().before(new Date())) {
                 return false;
             }
-            if(blacklistRepository.existsByToken(token)) {
-                System.out.println("로그아웃 이력이 있습니다. 다시 로그인 해주세요.");
+            if(tokenBlacklist.isBlacklisted(token)) {
+                log.info("로그아웃 이력이 있는 Refresh Token 사용 시도");
                 return false;
             }
             return true;
         } catch (Exception e) {
-            System.out.println("유효하지 않은 Token: " + e.getMessage());
+            log.debug("유효하지 않은 Token: {}", e.getMessage());
             return false;
         }
     }
@@ -138,7 +145,7 @@ public class JwtUtil {
     }
 
     public Date getExpiration(String refreshToken) {
-        Jws<Claims> claims = Jwts.parser().verifyWith(key).build().parseSignedClaims(refreshToken);
+        Jws<Claims> claims = parser.parseSignedClaims(refreshToken);
 
         return claims.getPayload().getExpiration();
     }
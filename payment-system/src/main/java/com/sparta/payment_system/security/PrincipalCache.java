@@ -0,0 +1,73 @@
+package com.sparta.payment_system.security;
+
+import com.sparta.payment_system.cache.LocalCache;
+import com.sparta.payment_system.entity.User;
+import com.sparta.payment_system.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 사용자 ID별 인증 주체(CustomUserDetails) 캐시입니다.
+ * 인증된 요청마다 사용자 테이블을 조회하지 않도록 하며, 역할/멤버십이 바뀌면 해당 항목을 제거합니다.
+ */
+@Component
+public class PrincipalCache {
+
+    private final UserRepository userRepository;
+    private final LocalCache<Long, CustomUserDetails> cache;
+
+    public PrincipalCache(UserRepository userRepository,
+                          @Value("${security.principal-cache.max-size:10000}") int maxSize,
+                          @Value("${security.principal-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.cache = new LocalCache<>(maxSize, ttlSeconds * 1000);
+    }
+
+    /**
+     * 사용자 ID에 해당하는 인증 주체를 반환합니다. 캐시에 없으면 DB에서 조회합니다.
+     *
+     * @param userId 사용자 ID
+     * @return 인증 주체
+     */
+    public CustomUserDetails get(Long userId) {
+        return cache.get(userId, id -> {
+            User user = userRepository.findById(id).orElseThrow(
+                    () -> new IllegalStateException("존재하지 않는 사용자입니다."));
+            return new CustomUserDetails(user);
+        });
+    }
+
+    /**
+     * 사용자 항목을 제거합니다.
+     * 트랜잭션 안에서 호출되면 커밋 전에 다른 요청이 이전 등급을 다시 캐싱할 수 있으므로 트랜잭션 완료 후 한 번 더 제거합니다.
+     *
+     * @param userId 사용자 ID
+     */
+    public void evict(Long userId) {
+        cache.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    public LocalCache<Long, CustomUserDetails> getCache() {
+        return cache;
+    }
+
+    @Scheduled(fixedDelayString = "${security.principal-cache.cleanup-interval-ms:60000}")
+    public void cleanUp() {
+        cache.cleanUp();
+    }
+}
@@ -1,5 +1,6 @@
 package com.sparta.payment_system.security;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpStatus;
@@ -22,10 +23,14 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
     private final JwtFilter jwtFilter;
     private final CustomUserDetailsService customUserDetailsService;
+    // 프로파일별로 인증 없이 허용할 추가 경로 (예: 로컬 PortOne 시뮬레이터)
+    private final String[] publicPaths;
 
-    public SecurityConfig(JwtFilter jwtFilter, CustomUserDetailsService customUserDetailsService) {
+    public SecurityConfig(JwtFilter jwtFilter, CustomUserDetailsService customUserDetailsService,
+                          @Value("${security.public-paths:}") String[] publicPaths) {
         this.jwtFilter = jwtFilter;
         this.customUserDetailsService = customUserDetailsService;
+        this.publicPaths = publicPaths;
     }
 
     @Bean
@@ -40,6 +45,10 @@ public class SecurityConfig {
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/products/**").permitAll()
                         .requestMatchers("/login.html", "/register.html","/point-payment.html").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        // 메트릭 등 나머지 Actuator 엔드포인트는 관리자만 조회할 수 있습니다.
+                        .requestMatchers("/actuator/**").hasAuthority("ADMIN")
+                        .requestMatchers(publicPaths).permitAll()
                         .anyRequest().authenticated()
                 )
                 .formLogin(formLogin -> formLogin.disable())
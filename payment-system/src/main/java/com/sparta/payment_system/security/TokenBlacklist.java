@@ -0,0 +1,198 @@
+package com.sparta.payment_system.security;
+
+import com.sparta.payment_system.entity.BlacklistToken;
+import com.sparta.payment_system.repository.BlacklistRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 로그아웃된 Refresh Token 블랙리스트 엔진입니다.
+ * 토큰 원문 대신 SHA-256 해시를 저장하고, Bloom Filter + 만료 시각을 가진 메모리 Set으로 조회하여
+ * 블랙리스트 크기와 무관하게 Refresh 요청마다 DB를 조회하지 않도록 합니다.
+ */
+@Slf4j
+@Component
+public class TokenBlacklist {
+
+    /** SHA-256 hex 문자열 길이 */
+    private static final int HASH_LENGTH = 64;
+
+    private final BlacklistRepository blacklistRepository;
+    private final int expectedInsertions;
+    private final double falsePositiveRate;
+    private final int purgeBatchSize;
+
+    /** 토큰 해시(hex) -> 만료 시각(epoch millis) */
+    private final ConcurrentHashMap<String, Long> entries = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter;
+    private volatile LocalDateTime lastSyncedAt = LocalDateTime.now();
+
+    public TokenBlacklist(BlacklistRepository blacklistRepository,
+                          @Value("${security.blacklist.expected-insertions:100000}") int expectedInsertions,
+                          @Value("${security.blacklist.false-positive-rate:0.01}") double falsePositiveRate,
+                          @Value("${security.blacklist.purge-batch-size:1000}") int purgeBatchSize) {
+        this.blacklistRepository = blacklistRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.purgeBatchSize = purgeBatchSize;
+        this.bloomFilter = new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    /**
+     * 기동 시 만료되지 않은 블랙리스트를 DB에서 불러와 메모리 구조를 구성합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        migrateLegacyTokens();
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = blacklistRepository.findActive(now);
+
+        entries.clear();
+        rows.forEach(row -> register((String) row[0], toEpochMillis((LocalDateTime) row[1])));
+        rebuildBloomFilter();
+        lastSyncedAt = now;
+        log.info("토큰 블랙리스트 로드 완료 - {}건", entries.size());
+    }
+
+    /**
+     * 토큰을 블랙리스트에 추가합니다.
+     *
+     * @param token      토큰 원문
+     * @param expiration 토큰 만료 시각
+     * @return 새로 추가되었으면 true, 이미 등록된 토큰이면 false
+     */
+    public boolean add(String token, LocalDateTime expiration) {
+        String hash = hash(token);
+        if (contains(hash)) {
+            return false;
+        }
+
+        try {
+            blacklistRepository.save(new BlacklistToken(hash, expiration));
+        } catch (DataIntegrityViolationException e) {
+            // 동시에 같은 토큰이 등록된 경우 (unique 제약)
+            register(hash, toEpochMillis(expiration));
+            return false;
+        }
+        register(hash, toEpochMillis(expiration));
+        return true;
+    }
+
+    /**
+     * 토큰이 블랙리스트에 있는지 확인합니다.
+     *
+     * @param token 토큰 원문
+     * @return 블랙리스트 여부
+     */
+    public boolean isBlacklisted(String token) {
+        return contains(hash(token));
+    }
+
+    private boolean contains(String hash) {
+        if (!bloomFilter.mightContain(HexFormat.of().parseHex(hash))) {
+            return false;
+        }
+
+        Long expiresAt = entries.get(hash);
+        if (expiresAt != null) {
+            return expiresAt > System.currentTimeMillis();
+        }
+        // Bloom Filter 오탐 또는 아직 동기화되지 않은 항목일 수 있으므로 DB로 확인합니다.
+        return blacklistRepository.existsByTokenHash(hash);
+    }
+
+    /**
+     * 다른 인스턴스에서 추가된 블랙리스트 항목을 가져옵니다.
+     */
+    @Scheduled(fixedDelayString = "${security.blacklist.sync-interval-ms:10000}")
+    public void syncRecent() {
+        LocalDateTime now = LocalDateTime.now();
+        // createdAt 정밀도/시계 차이를 고려해 이전 동기화 시점보다 조금 앞에서부터 조회합니다.
+        List<Object[]> rows = blacklistRepository.findActiveCreatedSince(lastSyncedAt.minusSeconds(5), now);
+        rows.forEach(row -> register((String) row[0], toEpochMillis((LocalDateTime) row[1])));
+        lastSyncedAt = now;
+    }
+
+    /**
+     * 만료된 항목을 메모리와 DB에서 배치 단위로 제거하고 Bloom Filter를 다시 만듭니다.
+     */
+    @Scheduled(fixedDelayString = "${security.blacklist.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        long nowMillis = System.currentTimeMillis();
+        entries.values().removeIf(expiresAt -> expiresAt <= nowMillis);
+
+        LocalDateTime now = LocalDateTime.now();
+        int deleted = 0;
+        int batch;
+        do {
+            batch = blacklistRepository.deleteExpired(now, purgeBatchSize);
+            deleted += batch;
+        } while (batch == purgeBatchSize);
+
+        rebuildBloomFilter();
+        if (deleted > 0) {
+            log.info("만료된 토큰 블랙리스트 삭제 - {}건", deleted);
+        }
+    }
+
+    // 해시 저장 이전에 원문으로 기록된 행을 해시로 변환합니다.
+    private void migrateLegacyTokens() {
+        try {
+            blacklistRepository.deleteLegacyDuplicates();
+            int migrated = blacklistRepository.hashLegacyTokens();
+            if (migrated > 0) {
+                log.info("원문 토큰 블랙리스트 해시 변환 - {}건", migrated);
+            }
+        } catch (RuntimeException e) {
+            // 변환에 실패해도 register에서 원문 행을 해시해 적용하므로 로그아웃된 토큰은 계속 차단됩니다.
+            log.warn("원문 토큰 블랙리스트 해시 변환 실패: {}", e.getMessage());
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void register(String value, long expiresAt) {
+        // 해시 저장 이전에 토큰 원문으로 기록된 행은 해시로 바꿔 등록합니다.
+        String hash = value.length() == HASH_LENGTH ? value : hash(value);
+        entries.put(hash, expiresAt);
+        bloomFilter.put(HexFormat.of().parseHex(hash));
+    }
+
+    // Bloom Filter는 삭제를 지원하지 않으므로 현재 Set 기준으로 새로 만듭니다.
+    private void rebuildBloomFilter() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedInsertions, entries.size() * 2), falsePositiveRate);
+        entries.keySet().forEach(hash -> rebuilt.put(HexFormat.of().parseHex(hash)));
+        bloomFilter = rebuilt;
+        // 재구성 중 추가된 항목 반영
+        entries.keySet().forEach(hash -> rebuilt.put(HexFormat.of().parseHex(hash)));
+    }
+
+    static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -1,9 +1,8 @@
 package com.sparta.payment_system.service;
 
 import com.sparta.payment_system.dto.auth.LogoutResponseDto;
-import com.sparta.payment_system.entity.BlacklistToken;
-import com.sparta.payment_system.repository.BlacklistRepository;
 import com.sparta.payment_system.security.JwtUtil;
+import com.sparta.payment_system.security.TokenBlacklist;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -12,22 +11,19 @@ import java.util.Date;
 @Service
 public class BlacklistService {
     private final JwtUtil jwtUtil;
-    private final BlacklistRepository blacklistRepository;
+    private final TokenBlacklist tokenBlacklist;
 
-    public BlacklistService(JwtUtil jwtUtil, BlacklistRepository blacklistRepository) {
+    public BlacklistService(JwtUtil jwtUtil, TokenBlacklist tokenBlacklist) {
         this.jwtUtil = jwtUtil;
-        this.blacklistRepository = blacklistRepository;
+        this.tokenBlacklist = tokenBlacklist;
     }
 
     public LogoutResponseDto addLogoutToken(String token) {
-        if(blacklistRepository.existsByToken(token)) { return LogoutResponseDto.save(false); }
+        if(tokenBlacklist.isBlacklisted(token)) { return LogoutResponseDto.save(false); }
 
         Date expirationDate = jwtUtil.getExpiration(token);
         LocalDateTime expiration = new java.sql.Timestamp(expirationDate.getTime()).toLocalDateTime();
 
-        BlacklistToken blacklistToken = new BlacklistToken(token, expiration);
-        blacklistRepository.save(blacklistToken);
-
-        return LogoutResponseDto.save(true);
+        return LogoutResponseDto.save(tokenBlacklist.add(token, expiration));
     }
 }
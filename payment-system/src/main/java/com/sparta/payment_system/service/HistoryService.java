@@ -0,0 +1,69 @@
+package com.sparta.payment_system.service;
+
+import com.sparta.payment_system.dto.history.CursorPageResponseDto;
+import com.sparta.payment_system.dto.history.HistoryCursor;
+import com.sparta.payment_system.dto.history.OrderHistoryDto;
+import com.sparta.payment_system.dto.history.PaymentHistoryDto;
+import com.sparta.payment_system.dto.history.PointHistoryDto;
+import com.sparta.payment_system.repository.OrderRepository;
+import com.sparta.payment_system.repository.PaymentRepository;
+import com.sparta.payment_system.repository.PointTransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 사용자 주문/결제/포인트 내역 조회 서비스입니다.
+ * OFFSET 대신 (생성 시각, ID) keyset 커서로 조회하므로 페이지 깊이와 무관하게 인덱스 범위 스캔 한 번으로 응답합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class HistoryService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final OrderRepository orderRepository;
+    private final PaymentRepository paymentRepository;
+    private final PointTransactionRepository pointTransactionRepository;
+
+    public CursorPageResponseDto<OrderHistoryDto> getOrders(Long userId, String cursor, int size) {
+        HistoryCursor from = HistoryCursor.decode(cursor);
+        List<OrderHistoryDto> rows = orderRepository.findHistory(userId, from.createdAt(), from.id(), page(size));
+        return toPage(rows, size, row -> new HistoryCursor(row.getCreatedAt(), row.getOrderId()));
+    }
+
+    public CursorPageResponseDto<PaymentHistoryDto> getPayments(Long userId, String cursor, int size) {
+        HistoryCursor from = HistoryCursor.decode(cursor);
+        List<PaymentHistoryDto> rows = paymentRepository.findHistory(userId, from.createdAt(), from.id(), page(size));
+        return toPage(rows, size, row -> new HistoryCursor(row.getOrderedAt(), row.getOrderId()));
+    }
+
+    public CursorPageResponseDto<PointHistoryDto> getPoints(Long userId, String cursor, int size) {
+        HistoryCursor from = HistoryCursor.decode(cursor);
+        List<PointHistoryDto> rows = pointTransactionRepository.findHistory(userId, from.createdAt(), from.id(), page(size));
+        return toPage(rows, size, row -> new HistoryCursor(row.getCreatedAt(), row.getId()));
+    }
+
+    // 다음 페이지 존재 여부를 알기 위해 한 건 더 조회합니다.
+    private static PageRequest page(int size) {
+        return PageRequest.of(0, normalize(size) + 1);
+    }
+
+    private static <T> CursorPageResponseDto<T> toPage(List<T> rows, int size, Function<T, HistoryCursor> cursorOf) {
+        int pageSize = normalize(size);
+        if (rows.size() <= pageSize) {
+            return new CursorPageResponseDto<>(rows, null, false);
+        }
+        List<T> items = rows.subList(0, pageSize);
+        return new CursorPageResponseDto<>(items, cursorOf.apply(items.get(pageSize - 1)).encode(), true);
+    }
+
+    private static int normalize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+}
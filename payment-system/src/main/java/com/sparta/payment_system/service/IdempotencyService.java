@@ -0,0 +1,279 @@
+package com.sparta.payment_system.service;
+
+import com.sparta.payment_system.cache.LocalCache;
+import com.sparta.payment_system.entity.IdempotencyRecord;
+import com.sparta.payment_system.repository.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Idempotency-Key 요청의 선점과 응답 재사용을 담당하는 서비스입니다.
+ * 완료된 응답은 메모리 LRU 캐시와 DB에 함께 저장하고, 캐시에 없으면 DB에서 찾습니다.
+ * 같은 키의 동시 요청은 한 인스턴스 안에서는 먼저 들어온 요청의 결과를 기다리고,
+ * 다른 인스턴스가 처리 중이면 DB 기록이 완료될 때까지 폴링합니다.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final LocalCache<String, StoredResponse> completed;
+    private final long waitTimeoutMillis;
+    private final long pollIntervalMillis;
+    private final long inProgressTimeoutSeconds;
+    private final long retentionSeconds;
+    private final int purgeBatchSize;
+
+    /** 이 인스턴스에서 처리 중인 키 -> 처리 결과 (실패해 선점을 해제하면 null로 완료) */
+    private final ConcurrentHashMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong replayCount = new AtomicLong();
+    private final AtomicLong conflictCount = new AtomicLong();
+
+    public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+                              @Value("${idempotency.cache.max-size:10000}") int cacheMaxSize,
+                              @Value("${idempotency.wait-timeout-ms:10000}") long waitTimeoutMillis,
+                              @Value("${idempotency.poll-interval-ms:100}") long pollIntervalMillis,
+                              @Value("${idempotency.in-progress-timeout-seconds:300}") long inProgressTimeoutSeconds,
+                              @Value("${idempotency.retention-seconds:86400}") long retentionSeconds,
+                              @Value("${idempotency.purge-batch-size:1000}") int purgeBatchSize) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.completed = new LocalCache<>(cacheMaxSize, retentionSeconds * 1000);
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.inProgressTimeoutSeconds = inProgressTimeoutSeconds;
+        this.retentionSeconds = retentionSeconds;
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    /**
+     * 키의 처리를 선점하거나, 이미 처리된 응답을 반환합니다.
+     * ACQUIRED를 받은 호출자는 처리가 끝나면 반드시 {@link #complete} 또는 {@link #release}를 호출해야 합니다.
+     *
+     * @param key         사용자 범위의 Idempotency-Key
+     * @param fingerprint 요청 지문
+     * @return 선점 결과
+     */
+    public Result begin(String key, String fingerprint) {
+        long deadline = System.currentTimeMillis() + waitTimeoutMillis;
+
+        while (true) {
+            StoredResponse cached = completed.get(key);
+            if (cached != null) {
+                return replayOrMismatch(cached, fingerprint);
+            }
+
+            CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(key, mine);
+            if (running == null) {
+                Result result;
+                try {
+                    result = claim(key, fingerprint, deadline);
+                } catch (RuntimeException e) {
+                    finish(key, mine, null);
+                    throw e;
+                }
+                if (result.type() != Type.ACQUIRED) {
+                    finish(key, mine, result.response());
+                }
+                return result;
+            }
+
+            // 같은 인스턴스에서 처리 중: 먼저 들어온 요청이 끝날 때까지 기다립니다.
+            StoredResponse response = await(running, deadline);
+            if (response != null) {
+                return replayOrMismatch(response, fingerprint);
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                conflictCount.incrementAndGet();
+                return Result.inProgress();
+            }
+            // 먼저 들어온 요청이 실패해 선점을 해제했으므로 다시 선점을 시도합니다.
+        }
+    }
+
+    /**
+     * 처리 결과를 저장하고 기다리던 요청에 전달합니다.
+     */
+    public void complete(String key, StoredResponse response) {
+        idempotencyRecordRepository.complete(key, response.status(), response.contentType(),
+                new String(response.body(), StandardCharsets.UTF_8),
+                LocalDateTime.now().plusSeconds(retentionSeconds));
+        completed.put(key, response);
+        CompletableFuture<StoredResponse> running = inFlight.get(key);
+        if (running != null) {
+            finish(key, running, response);
+        }
+    }
+
+    /**
+     * 처리에 실패한 키의 선점을 해제하여 같은 키로 다시 시도할 수 있게 합니다.
+     */
+    public void release(String key) {
+        idempotencyRecordRepository.deleteInProgress(key);
+        CompletableFuture<StoredResponse> running = inFlight.get(key);
+        if (running != null) {
+            finish(key, running, null);
+        }
+    }
+
+    /**
+     * 보관 기간이 지난 기록과 선점 후 방치된 기록을 배치 단위로 삭제합니다.
+     */
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int deleted = 0;
+        int batch;
+        do {
+            batch = idempotencyRecordRepository.deleteExpired(now, purgeBatchSize);
+            deleted += batch;
+        } while (batch == purgeBatchSize);
+
+        completed.cleanUp();
+        if (deleted > 0) {
+            log.info("만료된 Idempotency 기록 삭제 - {}건", deleted);
+        }
+    }
+
+    private Result claim(String key, String fingerprint, long deadline) {
+        while (true) {
+            Optional<IdempotencyRecord> existing = idempotencyRecordRepository.findByRecordKey(key);
+            if (existing.isEmpty()) {
+                try {
+                    idempotencyRecordRepository.saveAndFlush(new IdempotencyRecord(key, fingerprint,
+                            LocalDateTime.now().plusSeconds(inProgressTimeoutSeconds)));
+                    return Result.acquired();
+                } catch (DataIntegrityViolationException e) {
+                    // 다른 인스턴스가 먼저 선점한 경우 (unique 제약): 기록을 다시 읽습니다.
+                    continue;
+                }
+            }
+
+            IdempotencyRecord record = existing.get();
+            if (!record.getFingerprint().equals(fingerprint)) {
+                conflictCount.incrementAndGet();
+                return Result.mismatch();
+            }
+            if (record.getState() == IdempotencyRecord.State.COMPLETED) {
+                StoredResponse response = StoredResponse.of(record);
+                completed.put(key, response);
+                replayCount.incrementAndGet();
+                return Result.replay(response);
+            }
+            if (record.getExpiresAt().isBefore(LocalDateTime.now())) {
+                // 선점한 인스턴스가 응답 전에 종료된 경우
+                log.warn("만료된 Idempotency 선점 해제 - key: {}", key);
+                idempotencyRecordRepository.deleteExpiredByRecordKey(key, LocalDateTime.now());
+                continue;
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                conflictCount.incrementAndGet();
+                return Result.inProgress();
+            }
+            sleep(pollIntervalMillis);
+        }
+    }
+
+    private Result replayOrMismatch(StoredResponse response, String fingerprint) {
+        if (!response.fingerprint().equals(fingerprint)) {
+            conflictCount.incrementAndGet();
+            return Result.mismatch();
+        }
+        replayCount.incrementAndGet();
+        return Result.replay(response);
+    }
+
+    private void finish(String key, CompletableFuture<StoredResponse> future, StoredResponse response) {
+        inFlight.remove(key, future);
+        future.complete(response);
+    }
+
+    private static StoredResponse await(CompletableFuture<StoredResponse> future, long deadline) {
+        try {
+            return future.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Idempotency 요청 대기 중 인터럽트되었습니다.", e);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Idempotency 요청 대기 중 인터럽트되었습니다.", e);
+        }
+    }
+
+    public long getReplayCount() {
+        return replayCount.get();
+    }
+
+    public long getConflictCount() {
+        return conflictCount.get();
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    public LocalCache<String, StoredResponse> getCache() {
+        return completed;
+    }
+
+    public enum Type {
+        /** 처리 권한을 얻음 */
+        ACQUIRED,
+        /** 이미 처리된 응답을 재사용 */
+        REPLAY,
+        /** 같은 키로 다른 요청이 들어옴 */
+        MISMATCH,
+        /** 다른 요청이 처리 중이며 대기 시간 안에 끝나지 않음 */
+        IN_PROGRESS
+    }
+
+    public record Result(Type type, StoredResponse response) {
+
+        static Result acquired() {
+            return new Result(Type.ACQUIRED, null);
+        }
+
+        static Result replay(StoredResponse response) {
+            return new Result(Type.REPLAY, response);
+        }
+
+        static Result mismatch() {
+            return new Result(Type.MISMATCH, null);
+        }
+
+        static Result inProgress() {
+            return new Result(Type.IN_PROGRESS, null);
+        }
+    }
+
+    public record StoredResponse(String fingerprint, int status, String contentType, byte[] body) {
+
+        static StoredResponse of(IdempotencyRecord record) {
+            String body = record.getResponseBody() != null ? record.getResponseBody() : "";
+            return new StoredResponse(record.getFingerprint(), record.getResponseStatus(),
+                    record.getResponseContentType(), body.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
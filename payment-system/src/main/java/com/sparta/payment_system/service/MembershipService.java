@@ -0,0 +1,139 @@
+package com.sparta.payment_system.service;
+
+import com.sparta.payment_system.entity.MembershipRank;
+import com.sparta.payment_system.entity.Payment;
+import com.sparta.payment_system.entity.User;
+import com.sparta.payment_system.repository.PaymentRepository;
+import com.sparta.payment_system.repository.UserRepository;
+import com.sparta.payment_system.security.PrincipalCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 사용자의 누적 결제 금액과 멤버십 등급을 관리하는 서비스입니다.
+ * 결제/환불 시마다 전체 결제 내역을 다시 합산하지 않고, 누적 금액을 원자적 UPDATE로 증감한 뒤 등급을 계산합니다.
+ */
+@Slf4j
+@Service
+public class MembershipService {
+
+    /** 누적 결제 금액에 포함하는 결제 상태 */
+    private static final List<Payment.PaymentStatus> COUNTED_STATUSES =
+            List.of(Payment.PaymentStatus.PAID, Payment.PaymentStatus.REFUND_PENDING);
+
+    private final UserRepository userRepository;
+    private final PaymentRepository paymentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final PrincipalCache principalCache;
+    private final int rebuildBatchSize;
+    private final boolean rebuildOnStartup;
+
+    public MembershipService(UserRepository userRepository,
+                             PaymentRepository paymentRepository,
+                             TransactionTemplate transactionTemplate,
+                             PrincipalCache principalCache,
+                             @Value("${membership.rebuild.batch-size:500}") int rebuildBatchSize,
+                             @Value("${membership.rebuild.on-startup:false}") boolean rebuildOnStartup) {
+        this.userRepository = userRepository;
+        this.paymentRepository = paymentRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.principalCache = principalCache;
+        this.rebuildBatchSize = rebuildBatchSize;
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    /**
+     * 결제 완료(PAID) 금액을 누적하고 멤버십 등급을 갱신합니다.
+     * 호출하는 쪽의 트랜잭션 안에서 실행되어야 합니다.
+     *
+     * @param user   사용자
+     * @param amount 결제 금액
+     */
+    public void applyPaid(User user, BigDecimal amount) {
+        applyDelta(user, amount);
+    }
+
+    /**
+     * 환불(REFUNDED) 금액만큼 누적 금액을 차감하고 멤버십 등급을 갱신합니다.
+     * 호출하는 쪽의 트랜잭션 안에서 실행되어야 합니다.
+     *
+     * @param user   사용자
+     * @param amount 환불 금액
+     */
+    public void applyRefunded(User user, BigDecimal amount) {
+        applyDelta(user, amount.negate());
+    }
+
+    private void applyDelta(User user, BigDecimal delta) {
+        userRepository.addTotalPaymentAmount(user.getUserId(), delta);
+        BigDecimal totalPaid = userRepository.findTotalPaymentAmountByUserId(user.getUserId());
+
+        MembershipRank previousRank = user.getMembershipRank();
+        MembershipRank newRank = MembershipRank.fromTotalPaid(totalPaid.longValue());
+
+        user.setTotalPaymentAmount(totalPaid);
+        user.setMembershipRank(newRank);
+        userRepository.save(user);
+
+        if (previousRank != newRank) {
+            principalCache.evict(user.getUserId());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            rebuildTotals();
+        }
+    }
+
+    /**
+     * 모든 사용자의 누적 결제 금액과 등급을 결제 내역 기준으로 다시 계산합니다.
+     * 사용자 ID 순으로 배치를 나누고, 배치마다 한 번의 집계 쿼리로 합계를 구합니다.
+     *
+     * @return 재계산한 사용자 수
+     */
+    public int rebuildTotals() {
+        long lastUserId = 0L;
+        int rebuilt = 0;
+
+        while (true) {
+            List<Long> userIds = userRepository.findUserIdsAfter(lastUserId, PageRequest.of(0, rebuildBatchSize));
+            if (userIds.isEmpty()) {
+                break;
+            }
+
+            Integer count = transactionTemplate.execute(status -> rebuildBatch(userIds));
+            rebuilt += count != null ? count : 0;
+            lastUserId = userIds.get(userIds.size() - 1);
+        }
+
+        principalCache.evictAll();
+        log.info("멤버십 누적 결제 금액 재계산 완료 - {}명", rebuilt);
+        return rebuilt;
+    }
+
+    private int rebuildBatch(List<Long> userIds) {
+        Map<Long, BigDecimal> totals = new HashMap<>();
+        // 환불 진행 중(REFUND_PENDING)인 결제는 환불 완료 시 applyRefunded로 차감되므로 아직 누적 금액에 포함합니다.
+        for (Object[] row : paymentRepository.sumAmountByUserIds(userIds, COUNTED_STATUSES)) {
+            totals.put((Long) row[0], (BigDecimal) row[1]);
+        }
+
+        for (Long userId : userIds) {
+            BigDecimal totalPaid = totals.getOrDefault(userId, BigDecimal.ZERO);
+            userRepository.updateMembership(userId, totalPaid, MembershipRank.fromTotalPaid(totalPaid.longValue()));
+        }
+        return userIds.size();
+    }
+}
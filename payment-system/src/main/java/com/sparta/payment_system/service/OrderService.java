@@ -1,26 +1,41 @@
 package com.sparta.payment_system.service;
 
+import com.sparta.payment_system.dto.order.BulkOrderResultDto;
 import com.sparta.payment_system.dto.order.OrderDetailRequestDto;
 import com.sparta.payment_system.dto.order.OrderDetailResponseDto;
 import com.sparta.payment_system.entity.Order;
 import com.sparta.payment_system.entity.OrderItem;
 import com.sparta.payment_system.entity.Product;
-import com.sparta.payment_system.repository.OrderItemRepository;
 import com.sparta.payment_system.repository.OrderRepository;
 import com.sparta.payment_system.repository.ProductRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class OrderService {
 
     private final OrderRepository orderRepository;
-    private final OrderItemRepository orderItemRepository;
     private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
 
+    @Transactional(readOnly = true)
     public OrderDetailResponseDto getOrder(Long orderId) {
         Order order = orderRepository.findById(orderId).orElseThrow(
                 () -> new IllegalStateException("not found Id")
@@ -28,21 +43,81 @@ public class OrderService {
         return OrderDetailResponseDto.from(order);
     }
 
+    /**
+     * 주문을 생성합니다.
+     * 주문의 모든 상품을 한 번의 조회(findAllById)로 가져와 메모리에서 검증하고,
+     * 주문과 주문 상품은 JDBC 배치 INSERT로 저장합니다.
+     */
+    @Transactional
     public OrderDetailResponseDto createOrder(Long userId, OrderDetailRequestDto requestDto) {
+        return createOrder(userId, requestDto, findProducts(List.of(requestDto)));
+    }
+
+    /**
+     * 여러 주문을 한 번에 생성합니다. (B2B 대량 주문)
+     * 전체 주문의 상품을 한 번에 조회한 뒤, 주문마다 별도 트랜잭션으로 생성하고 결과를 즉시 전달합니다.
+     * 한 주문이 실패해도 나머지 주문은 계속 처리합니다.
+     * 목록 요소에는 @Valid가 적용되지 않으므로 주문마다 직접 검증하고, 검증 실패는 해당 주문의 실패 결과로 전달합니다.
+     *
+     * @param userId         사용자 ID
+     * @param requests       주문 요청 목록
+     * @param resultConsumer 주문별 처리 결과를 받을 콜백 (요청 순서대로 호출)
+     */
+    public void createOrders(Long userId, List<OrderDetailRequestDto> requests, Consumer<BulkOrderResultDto> resultConsumer) {
+        Map<Long, Product> products = findProducts(requests);
+
+        for (int i = 0; i < requests.size(); i++) {
+            OrderDetailRequestDto requestDto = requests.get(i);
+            BulkOrderResultDto result;
+            String violation = validate(requestDto);
+            if (violation != null) {
+                resultConsumer.accept(BulkOrderResultDto.failure(i, violation));
+                continue;
+            }
+            try {
+                OrderDetailResponseDto order = transactionTemplate.execute(
+                        status -> createOrder(userId, requestDto, products));
+                result = BulkOrderResultDto.success(i, order);
+            } catch (RuntimeException e) {
+                result = BulkOrderResultDto.failure(i, e.getMessage());
+            }
+            resultConsumer.accept(result);
+        }
+    }
+
+    private String validate(OrderDetailRequestDto requestDto) {
+        if (requestDto == null) {
+            return "주문 정보가 비어 있습니다.";
+        }
+        if (requestDto.getProductList() != null && requestDto.getProductList().contains(null)) {
+            return "상품 정보가 비어 있습니다.";
+        }
+        Set<ConstraintViolation<OrderDetailRequestDto>> violations = validator.validate(requestDto);
+        return violations.isEmpty() ? null : violations.iterator().next().getMessage();
+    }
+
+    private OrderDetailResponseDto createOrder(Long userId, OrderDetailRequestDto requestDto, Map<Long, Product> products) {
 
         Order order = new Order(userId);
 
         // 주문 아이템 생성
-        if (requestDto.getProductList().isEmpty()) {
+        if (requestDto.getProductList() == null || requestDto.getProductList().isEmpty()) {
             throw new IllegalArgumentException("상품 목록은 비어 있을 수 없습니다.");
         }
 
         BigDecimal totalAmount = BigDecimal.ZERO;
         for (OrderDetailRequestDto.ItemDto itemDto : requestDto.getProductList()) {
 
-            Product product = productRepository.findById(itemDto.getProductId()).orElseThrow(
-                    () -> new IllegalStateException("상품 id를 찾을 수 없습니다.")
-            );
+            Product product = products.get(itemDto.getProductId());
+            if (product == null) {
+                throw new IllegalStateException("상품 id를 찾을 수 없습니다.");
+            }
+            if (product.getStatus() != Product.ProductStatus.ACTIVE) {
+                throw new IllegalStateException("판매 중인 상품이 아닙니다: " + product.getName());
+            }
+            if (product.getStock() < itemDto.getQuantity()) {
+                throw new IllegalStateException("재고가 부족합니다: " + product.getName());
+            }
 
             BigDecimal orderItemPrice = product.getPrice().multiply(BigDecimal.valueOf(itemDto.getQuantity()));
             totalAmount = totalAmount.add(orderItemPrice);
@@ -53,14 +128,33 @@ public class OrderService {
                 orderItemPrice,
                 product
             );
-            orderItemRepository.save(orderItem);
 
             order.setOrderItem(orderItem);
         }
 
         order.setAmount(totalAmount);
+        // 주문 상품은 cascade로 함께 저장됩니다.
         orderRepository.save(order);
 
         return OrderDetailResponseDto.from(order);
     }
+
+    // 요청에 포함된 모든 상품을 한 번에 조회합니다.
+    private Map<Long, Product> findProducts(Collection<OrderDetailRequestDto> requests) {
+        Set<Long> productIds = new HashSet<>();
+        for (OrderDetailRequestDto requestDto : requests) {
+            if (requestDto != null && requestDto.getProductList() != null) {
+                requestDto.getProductList().stream()
+                        .filter(Objects::nonNull)
+                        .map(OrderDetailRequestDto.ItemDto::getProductId)
+                        .filter(Objects::nonNull)
+                        .forEach(productIds::add);
+            }
+        }
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        return productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getProductId, Function.identity()));
+    }
 }
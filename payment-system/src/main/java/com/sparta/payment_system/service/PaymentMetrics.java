@@ -0,0 +1,45 @@
+package com.sparta.payment_system.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * 결제/환불 흐름의 단계별 소요 시간을 기록합니다.
+ * {@code payment.stage} 타이머에 흐름(flow), 단계(stage), 결과(outcome) 태그를 붙여 p99가 어느 단계에서 늘어나는지 구분합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PaymentMetrics {
+
+    private static final String STAGE_TIMER = "payment.stage";
+
+    private final MeterRegistry meterRegistry;
+
+    public <T> T time(String flow, String stage, Supplier<T> body) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = body.get();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(Timer.builder(STAGE_TIMER)
+                    .description("결제 흐름 단계별 소요 시간")
+                    .tag("flow", flow)
+                    .tag("stage", stage)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    public void run(String flow, String stage, Runnable body) {
+        time(flow, stage, () -> {
+            body.run();
+            return null;
+        });
+    }
+}
@@ -8,18 +8,25 @@ import com.sparta.payment_system.dto.payment.PortOnePaymentReadyResponseDto;
 import com.sparta.payment_system.entity.*;
 import com.sparta.payment_system.repository.*;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
  * 결제 플로우 전반을 관리하고 비즈니스 로직을 처리하는 서비스입니다.
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class PaymentService {
@@ -28,8 +35,15 @@ public class PaymentService {
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
     private final ProductRepository productRepository;
-    private final PointTransactionRepository pointTransactionRepository;
+    private final PointBalanceService pointBalanceService;
     private final PortOneClient portOneClient;
+    private final StockReservationManager stockReservationManager;
+    private final MembershipService membershipService;
+    private final TransactionTemplate transactionTemplate;
+    private final PaymentMetrics paymentMetrics;
+
+    /** 결제 키 -> 진행 중인 결제 완료 처리 (같은 결제 키의 동시 요청이 결과를 공유) */
+    private final ConcurrentHashMap<String, CompletableFuture<PaymentResponseDto>> completions = new ConcurrentHashMap<>();
 
 
     /**
@@ -51,19 +65,13 @@ public class PaymentService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new SecurityException("인증된 사용자(ID: " + userId + ")를 찾을 수 없습니다."));
 
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findWithItemsByOrderId(orderId)
                 .orElseThrow(() -> new IllegalArgumentException("주문을 찾을 수 없습니다."));
 
         if (!order.getUserId().equals(userId)) {
             throw new SecurityException("해당 주문에 대한 결제 권한이 없습니다.");
         }
 
-        for (OrderItem item : order.getOrderItems()) {
-            if (item.getProduct().getStock() < item.getQuantity()) {
-                throw new IllegalStateException("재고 부족: " + item.getProduct().getName());
-            }
-        }
-
         BigDecimal totalAmount = order.getTotalAmount();
         BigDecimal pointsUsed = BigDecimal.ZERO;
         BigDecimal finalPaymentAmount = totalAmount;
@@ -99,6 +107,9 @@ public class PaymentService {
 
         Payment savedPayment = paymentRepository.save(payment);
 
+        paymentMetrics.run("ready", "reserve_stock",
+                () -> stockReservationManager.reserve(orderId, order.getOrderItems()));
+
         PortOnePaymentReadyResponseDto readyInfo = new PortOnePaymentReadyResponseDto();
         readyInfo.setPaymentId(savedPayment.getPaymentId());
         readyInfo.setPaymentKey(newPaymentKey);
@@ -116,53 +127,166 @@ public class PaymentService {
     /**
      * PortOne과 최종 검증 후, 결제 완료 후처리를 진행합니다.
      * 재고 차감, 포인트 처리, 주문 상태 변경, 멤버십 업데이트를 포함합니다.
+     * PG 조회는 DB 트랜잭션 밖에서 수행하여 응답이 지연되어도 DB 커넥션을 점유하지 않습니다.
+     * 같은 결제 키에 대한 동시 요청(사용자 완료 요청과 웹훅)은 먼저 들어온 요청의 결과를 기다려 재사용하며,
+     * 다른 서버 간의 동시 처리는 Payment의 @Version으로 막습니다.
      *
      * @param paymentKey PortOne 결제 고유 키
      * @param currentUserId 현재 사용자 ID
      * @return 결제 완료 응답 DTO
      */
-    @Transactional
     public PaymentResponseDto completePaymentVerification(String paymentKey , Long currentUserId) {
+        while (true) {
+            CompletableFuture<PaymentResponseDto> completion = new CompletableFuture<>();
+            CompletableFuture<PaymentResponseDto> inProgress = completions.putIfAbsent(paymentKey, completion);
+
+            if (inProgress == null) {
+                try {
+                    PaymentResponseDto response = verifyAndComplete(paymentKey, currentUserId);
+                    completion.complete(response);
+                    return response;
+                } catch (RuntimeException e) {
+                    completion.completeExceptionally(e);
+                    throw e;
+                } finally {
+                    completions.remove(paymentKey, completion);
+                }
+            }
 
-        Payment payment = getPaymentByPaymentKey(paymentKey);
-        User user = getUserByPayment(payment);
-
+            PaymentResponseDto response;
+            try {
+                response = inProgress.join();
+            } catch (CompletionException e) {
+                // 먼저 들어온 요청이 실패한 경우(예: 권한 없음) 직접 처리합니다.
+                continue;
+            }
 
-        if (currentUserId != null) {
-            if (!payment.getOrder().getUserId().equals(currentUserId)) {
+            if (currentUserId != null && !currentUserId.equals(response.getUserId())) {
                 throw new SecurityException("해당 결제 건에 대한 권한이 없습니다.");
             }
+            return response;
         }
+    }
 
+    private PaymentResponseDto verifyAndComplete(String paymentKey, Long currentUserId) {
 
-        if (payment.getStatus() == Payment.PaymentStatus.PAID) {
-            return convertToPaymentResponseDto(payment, user, user.getMembershipRank().name(), user.getMembershipRank().name());
+        // 1단계: 권한 및 상태 확인
+        PaymentResponseDto alreadyPaid = paymentMetrics.time("complete", "check", () -> transactionTemplate.execute(status -> {
+            Payment payment = getPaymentByPaymentKey(paymentKey);
+
+            if (currentUserId != null) {
+                if (!payment.getOrder().getUserId().equals(currentUserId)) {
+                    throw new SecurityException("해당 결제 건에 대한 권한이 없습니다.");
+                }
+            }
+
+            if (isRefundStarted(payment)) {
+                throw new IllegalStateException("환불이 진행 중이거나 완료된 결제는 완료 처리할 수 없습니다.");
+            }
+            return payment.getStatus() == Payment.PaymentStatus.PAID ? toPaidResponse(payment) : null;
+        }));
+        if (alreadyPaid != null) {
+            return alreadyPaid;
         }
 
-        PaymentVerificationDto verification = portOneClient.getPayment(payment.getPaymentKey());
+        // 2단계: PG 검증 (트랜잭션 밖)
+        PaymentVerificationDto verification = paymentMetrics.time("complete", "pg_verify",
+                () -> portOneClient.getPayment(paymentKey));
+
+        // 3단계: 검증 결과 반영
+        VerificationOutcome outcome;
+        try {
+            outcome = paymentMetrics.time("complete", "apply",
+                    () -> transactionTemplate.execute(status -> applyVerification(paymentKey, verification)));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // 다른 서버가 먼저 같은 결제를 처리한 경우 그 결과를 사용합니다.
+            outcome = transactionTemplate.execute(status -> {
+                Payment payment = getPaymentByPaymentKey(paymentKey);
+                if (payment.getStatus() != Payment.PaymentStatus.PAID) {
+                    throw e;
+                }
+                return VerificationOutcome.success(toPaidResponse(payment));
+            });
+        }
+
+        if (outcome.cancelRequired()) {
+            paymentMetrics.run("complete", "pg_cancel", () -> cancelPaymentIfNecessary(paymentKey, "금액 위변조 감지"));
+        }
+        if (outcome.failureMessage() != null) {
+            throw new IllegalStateException(outcome.failureMessage());
+        }
+        return outcome.response();
+    }
+
+    private VerificationOutcome applyVerification(String paymentKey, PaymentVerificationDto verification) {
+        Payment payment = getPaymentByPaymentKey(paymentKey);
+
+        // PG 조회 중 다른 요청(웹훅 등)이 먼저 완료 처리한 경우
+        if (payment.getStatus() == Payment.PaymentStatus.PAID) {
+            return VerificationOutcome.success(toPaidResponse(payment));
+        }
+        // PG 조회 중 환불이 시작된 경우: PG는 아직 Paid를 반환할 수 있으므로 아무것도 변경하지 않습니다.
+        if (isRefundStarted(payment)) {
+            return VerificationOutcome.failure("환불이 진행 중이거나 완료된 결제는 완료 처리할 수 없습니다.", false);
+        }
 
         if (!"Paid".equalsIgnoreCase(verification.getStatus())) {
-            payment.setStatus(Payment.PaymentStatus.FAILED);
-            paymentRepository.save(payment);
-            throw new IllegalStateException("결제 검증 실패 또는 금액 불일치.");
+            markFailed(payment);
+            return VerificationOutcome.failure("결제 검증 실패 또는 금액 불일치.", false);
         }
 
         if (payment.getAmount().compareTo(verification.getAmount()) != 0) {
-            cancelPaymentIfNecessary(payment.getPaymentKey(), "금액 위변조 감지");
-            payment.setStatus(Payment.PaymentStatus.FAILED);
-            paymentRepository.save(payment);
-            throw new IllegalStateException("결제 금액 불일치. 위변조 가능성.");
+            markFailed(payment);
+            return VerificationOutcome.failure("결제 금액 불일치. 위변조 가능성.", true);
+        }
+
+        // 결제 준비 이후 포인트를 다른 곳에서 사용해 잔액이 부족하면 PG 결제를 취소합니다.
+        User user = getUserByPayment(payment);
+        if (user.getTotalPoints().compareTo(payment.getPointsUsed()) < 0) {
+            markFailed(payment);
+            return VerificationOutcome.failure("사용할 포인트 잔액이 부족합니다.", true);
         }
 
+        // 후처리보다 먼저 PAID를 반영하여, 다른 서버가 동시에 처리 중이면 버전 충돌로 여기서 중단되게 합니다.
+        payment.setStatus(Payment.PaymentStatus.PAID);
+        payment.setPaidAt(LocalDateTime.now());
+        paymentRepository.saveAndFlush(payment);
+
         String prevRank = user.getMembershipRank().name();
 
         processPostPaymentActions(payment, payment.getOrder(), user);
 
-        payment.setStatus(Payment.PaymentStatus.PAID);
-        payment.setPaidAt(LocalDateTime.now());
+        return VerificationOutcome.success(
+                convertToPaymentResponseDto(payment, user, prevRank, user.getMembershipRank().name()));
+    }
+
+    private static boolean isRefundStarted(Payment payment) {
+        return payment.getStatus() == Payment.PaymentStatus.REFUND_PENDING
+                || payment.getStatus() == Payment.PaymentStatus.REFUNDED;
+    }
+
+    private void markFailed(Payment payment) {
+        payment.setStatus(Payment.PaymentStatus.FAILED);
         paymentRepository.save(payment);
+        stockReservationManager.release(payment.getOrder().getOrderId());
+    }
 
-        return convertToPaymentResponseDto(payment, user, prevRank, user.getMembershipRank().name());
+    private PaymentResponseDto toPaidResponse(Payment payment) {
+        User user = getUserByPayment(payment);
+        return convertToPaymentResponseDto(payment, user, user.getMembershipRank().name(), user.getMembershipRank().name());
+    }
+
+    /**
+     * 검증 결과 반영 단계의 결과. 실패 상태는 커밋한 뒤 트랜잭션 밖에서 예외를 던집니다.
+     */
+    private record VerificationOutcome(PaymentResponseDto response, String failureMessage, boolean cancelRequired) {
+        static VerificationOutcome success(PaymentResponseDto response) {
+            return new VerificationOutcome(response, null, false);
+        }
+
+        static VerificationOutcome failure(String message, boolean cancelRequired) {
+            return new VerificationOutcome(null, message, cancelRequired);
+        }
     }
 
     /**
@@ -174,7 +298,7 @@ public class PaymentService {
      */
     @Transactional(readOnly = true)
     public PaymentResponseDto getPaymentDetails(Long paymentId, Long currentUserId) {
-        Payment payment = paymentRepository.findById(paymentId)
+        Payment payment = paymentRepository.findWithOrderItemsById(paymentId)
                 .orElseThrow(() -> new IllegalArgumentException("Invalid paymentId: " + paymentId));
         User user = getUserByPayment(payment);
 
@@ -195,8 +319,8 @@ public class PaymentService {
     public void failPaymentByPaymentKey(String paymentKey) {
         Payment payment = getPaymentByPaymentKey(paymentKey);
 
-        if (payment.getStatus() == Payment.PaymentStatus.PAID) {
-            throw new IllegalStateException("이미 PAID된 결제는 실패 처리할 수 없습니다.");
+        if (payment.getStatus() == Payment.PaymentStatus.PAID || isRefundStarted(payment)) {
+            throw new IllegalStateException("이미 PAID되었거나 환불된 결제는 실패 처리할 수 없습니다.");
         }
 
         payment.setStatus(Payment.PaymentStatus.FAILED);
@@ -205,6 +329,7 @@ public class PaymentService {
         if (order != null) {
             order.setStatus(Order.OrderStatus.CANCELLED);
             orderRepository.save(order);
+            stockReservationManager.release(order.getOrderId());
         }
 
         paymentRepository.save(payment);
@@ -214,26 +339,22 @@ public class PaymentService {
         order.setStatus(Order.OrderStatus.COMPLETED);
         orderRepository.save(order);
 
-        for (OrderItem item : order.getOrderItems()) {
-            Product product = item.getProduct();
-            int newStock = product.getStock() - item.getQuantity();
-            if (newStock < 0) throw new IllegalStateException("재고 부족으로 결제 완료 불가");
-            product.setStock(newStock);
-            productRepository.save(product);
-        }
+        paymentMetrics.run("complete", "decrease_stock", () -> {
+            stockReservationManager.confirm(order.getOrderId(), order.getOrderItems());
+            productRepository.decreaseStocks(order.getOrderItems());
+        });
 
-        if (payment.getPointsUsed().compareTo(BigDecimal.ZERO) > 0) {
-            user.setTotalPoints(user.getTotalPoints().subtract(payment.getPointsUsed()));
-            createPointTransaction(user, payment.getPointsUsed(), PointTransaction.PointType.USED);
-        }
-        BigDecimal earnedPoints = payment.getAmount().multiply(new BigDecimal("0.01"));
-        if (earnedPoints.compareTo(BigDecimal.ZERO) > 0) {
-            user.setTotalPoints(user.getTotalPoints().add(earnedPoints));
-            createPointTransaction(user, earnedPoints, PointTransaction.PointType.EARNED);
-        }
-        userRepository.save(user);
+        paymentMetrics.run("complete", "points", () -> {
+            if (payment.getPointsUsed().compareTo(BigDecimal.ZERO) > 0) {
+                pointBalanceService.changePoints(user, payment.getPointsUsed(), PointTransaction.PointType.USED);
+            }
+            BigDecimal earnedPoints = payment.getAmount().multiply(new BigDecimal("0.01"));
+            if (earnedPoints.compareTo(BigDecimal.ZERO) > 0) {
+                pointBalanceService.changePoints(user, earnedPoints, PointTransaction.PointType.EARNED);
+            }
+        });
 
-        updateMembershipLevel(user);
+        paymentMetrics.run("complete", "membership", () -> membershipService.applyPaid(user, payment.getAmount()));
     }
 
     private User getUserByPayment(Payment payment) {
@@ -243,42 +364,18 @@ public class PaymentService {
                 .orElseThrow(() -> new IllegalArgumentException("Invalid userId"));
     }
 
+    // 응답 DTO 변환, 재고 처리에서 주문 상품/상품을 사용하므로 함께 조회합니다.
     private Payment getPaymentByPaymentKey(String paymentKey) {
-        return paymentRepository.findByPaymentKey(paymentKey)
+        return paymentRepository.findWithOrderItemsByPaymentKey(paymentKey)
                 .orElseThrow(() -> new IllegalArgumentException("Invalid paymentKey"));
     }
 
-
-    private void createPointTransaction(User user, BigDecimal amount, PointTransaction.PointType type) {
-        PointTransaction transaction = new PointTransaction();
-        transaction.setUser(user);
-        transaction.setPointsChanged(amount);
-        transaction.setType(type);
-        transaction.setCreatedAt(LocalDateTime.now());
-        pointTransactionRepository.save(transaction);
-    }
-
-    private void updateMembershipLevel(User user) {
-        BigDecimal totalSpentBigDecimal = paymentRepository.findAllByOrderUserId(user.getUserId())
-                .stream()
-                .filter(p -> p.getStatus() == Payment.PaymentStatus.PAID)
-                .map(Payment::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        long totalPaid = totalSpentBigDecimal.longValue();
-        MembershipRank newRank = MembershipRank.fromTotalPaid(totalPaid);
-
-        user.setMembershipRank(newRank);
-        userRepository.save(user);
-    }
-
     private void cancelPaymentIfNecessary(String paymentKey, String reason) {
         try {
-            String accessToken = portOneClient.getAccessToken();
-            portOneClient.cancelPayment(paymentKey, accessToken, reason);
+            portOneClient.cancelPayment(paymentKey, reason);
         } catch (Exception e) {
 
-            System.err.println("PortOne 취소 요청 실패 (결제 키: " + paymentKey + "): " + e.getMessage());
+            log.error("PortOne 취소 요청 실패 (결제 키: {}): {}", paymentKey, e.getMessage());
         }
     }
 
@@ -0,0 +1,166 @@
+package com.sparta.payment_system.service;
+
+import com.sparta.payment_system.entity.PointBalanceSnapshot;
+import com.sparta.payment_system.entity.PointTransaction;
+import com.sparta.payment_system.entity.User;
+import com.sparta.payment_system.repository.PointBalanceSnapshotRepository;
+import com.sparta.payment_system.repository.PointTransactionRepository;
+import com.sparta.payment_system.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 사용자 포인트 잔액을 관리하는 서비스입니다.
+ * 잔액은 원장 기록과 같은 트랜잭션에서 원자적 증감(UPDATE ... + delta)으로 갱신하므로 원장 크기와 무관하게 일정한 비용이 듭니다.
+ * 주기적으로 잔액 스냅샷을 남기고, 검증 시에는 마지막 스냅샷 이후의 원장만 재생합니다.
+ * 원장 ID는 인스턴스별로 미리 할당되어 커밋 순서와 다르므로, 스냅샷 경계는 생성 시각(grace 시간 이전)으로 정합니다.
+ */
+@Slf4j
+@Service
+public class PointBalanceService {
+
+    private final UserRepository userRepository;
+    private final PointTransactionRepository pointTransactionRepository;
+    private final PointBalanceSnapshotRepository snapshotRepository;
+    private final PointLedgerWriter pointLedgerWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final long snapshotGraceSeconds;
+
+    /** 스냅샷이 없는 사용자의 원장 재생 시작 시각 */
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    /** 스냅샷에 반영된 원장 생성 시각 상한 (기동 시 DB에서 복원) */
+    private volatile LocalDateTime snapshotWatermark;
+
+    public PointBalanceService(UserRepository userRepository,
+                               PointTransactionRepository pointTransactionRepository,
+                               PointBalanceSnapshotRepository snapshotRepository,
+                               PointLedgerWriter pointLedgerWriter,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${point.snapshot.grace-seconds:60}") long snapshotGraceSeconds) {
+        this.userRepository = userRepository;
+        this.pointTransactionRepository = pointTransactionRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.pointLedgerWriter = pointLedgerWriter;
+        this.transactionTemplate = transactionTemplate;
+        this.snapshotGraceSeconds = snapshotGraceSeconds;
+    }
+
+    /**
+     * 포인트를 적립/사용하고 원장에 기록합니다. 호출하는 쪽의 트랜잭션 안에서 실행되어야 합니다.
+     *
+     * @param user   사용자
+     * @param amount 변경 포인트 (양수)
+     * @param type   거래 타입 (USED: 차감, EARNED: 적립)
+     * @return 변경 후 잔액
+     * @throws IllegalStateException 차감할 잔액이 부족한 경우
+     */
+    public BigDecimal changePoints(User user, BigDecimal amount, PointTransaction.PointType type) {
+        if (type == PointTransaction.PointType.USED) {
+            // 동시 사용으로 잔액이 음수가 되지 않도록 잔액이 충분할 때만 차감합니다.
+            if (userRepository.subtractTotalPoints(user.getUserId(), amount) == 0) {
+                throw new IllegalStateException("포인트 잔액이 부족합니다. userId: " + user.getUserId());
+            }
+        } else {
+            userRepository.addTotalPoints(user.getUserId(), amount);
+        }
+        pointLedgerWriter.append(user, amount, type);
+
+        BigDecimal balance = userRepository.findTotalPointsByUserId(user.getUserId())
+                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다. userId: " + user.getUserId()));
+        // 응답 DTO 용도로만 반영합니다. (total_points 컬럼은 엔티티 저장으로 갱신되지 않음)
+        user.setTotalPoints(balance);
+        return balance;
+    }
+
+    /**
+     * 적립했던 포인트를 회수합니다. (환불)
+     * 이미 사용해 잔액이 부족하면 남은 잔액만큼만 회수하여 잔액이 음수가 되지 않게 합니다.
+     *
+     * @param user   사용자
+     * @param amount 회수할 포인트 (양수)
+     * @return 실제로 회수한 포인트
+     */
+    public BigDecimal clawBack(User user, BigDecimal amount) {
+        BigDecimal available = userRepository.findTotalPointsByUserId(user.getUserId())
+                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다. userId: " + user.getUserId()));
+        BigDecimal deducted = amount.min(available.max(BigDecimal.ZERO));
+        if (deducted.compareTo(BigDecimal.ZERO) > 0) {
+            changePoints(user, deducted, PointTransaction.PointType.USED);
+        }
+        if (deducted.compareTo(amount) < 0) {
+            log.warn("적립 포인트 일부 회수 불가 - userId: {}, 회수 대상: {}, 회수: {}", user.getUserId(), amount, deducted);
+        }
+        return deducted;
+    }
+
+    /**
+     * 마지막 스냅샷 이후에 거래가 발생한 사용자들의 잔액 스냅샷을 생성합니다.
+     * 아직 커밋되지 않았을 수 있는 최근 원장은 제외하기 위해 grace 시간 이전에 생성된 원장까지만 반영합니다.
+     * grace 시간은 가장 긴 포인트 트랜잭션과 서버 간 시계 차이보다 길어야 합니다.
+     */
+    @Scheduled(fixedDelayString = "${point.snapshot.interval-ms:300000}")
+    public void takeSnapshots() {
+        LocalDateTime after = snapshotWatermark != null ? snapshotWatermark
+                : snapshotRepository.findMaxCoveredUntil().orElse(BEGINNING);
+        LocalDateTime cutoff = LocalDateTime.now().minusSeconds(snapshotGraceSeconds);
+        if (!cutoff.isAfter(after)) {
+            snapshotWatermark = after;
+            return;
+        }
+
+        List<Long> userIds = pointTransactionRepository.findUserIdsWithTransactionsCreatedBetween(after, cutoff);
+        for (Long userId : userIds) {
+            transactionTemplate.executeWithoutResult(status -> snapshot(userId, cutoff));
+        }
+
+        snapshotWatermark = cutoff;
+        log.info("포인트 잔액 스냅샷 생성 - {}명, {} 이전 원장까지", userIds.size(), cutoff);
+    }
+
+    private void snapshot(Long userId, LocalDateTime cutoff) {
+        Optional<PointBalanceSnapshot> latest = snapshotRepository.findTopByUserIdAndCoveredUntilIsNotNullOrderByCoveredUntilDesc(userId);
+        LocalDateTime from = latest.map(PointBalanceSnapshot::getCoveredUntil).orElse(BEGINNING);
+        if (!cutoff.isAfter(from)) {
+            return;
+        }
+
+        BigDecimal base = latest.map(PointBalanceSnapshot::getBalance).orElse(BigDecimal.ZERO);
+        BigDecimal balance = base.add(pointTransactionRepository.sumSignedPointsCreatedBetween(userId, from, cutoff));
+        long lastTransactionId = Math.max(latest.map(PointBalanceSnapshot::getLastTransactionId).orElse(0L),
+                pointTransactionRepository.findMaxIdCreatedBetween(userId, from, cutoff));
+        snapshotRepository.save(new PointBalanceSnapshot(userId, balance, cutoff, lastTransactionId));
+    }
+
+    /**
+     * 마지막 스냅샷과 그 이후 원장을 재생한 잔액이 현재 잔액과 일치하는지 검증합니다.
+     *
+     * @param userId 사용자 ID
+     * @return 일치 여부
+     */
+    @Transactional(readOnly = true)
+    public boolean verify(Long userId) {
+        BigDecimal current = userRepository.findTotalPointsByUserId(userId)
+                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다. userId: " + userId));
+
+        Optional<PointBalanceSnapshot> latest = snapshotRepository.findTopByUserIdAndCoveredUntilIsNotNullOrderByCoveredUntilDesc(userId);
+        LocalDateTime from = latest.map(PointBalanceSnapshot::getCoveredUntil).orElse(BEGINNING);
+        BigDecimal expected = latest.map(PointBalanceSnapshot::getBalance).orElse(BigDecimal.ZERO)
+                .add(pointTransactionRepository.sumSignedPointsCreatedSince(userId, from));
+
+        boolean matched = expected.compareTo(current) == 0;
+        if (!matched) {
+            log.warn("포인트 잔액 불일치 - userId: {}, 잔액: {}, 원장 기준: {}", userId, current, expected);
+        }
+        return matched;
+    }
+}
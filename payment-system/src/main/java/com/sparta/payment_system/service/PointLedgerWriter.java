@@ -0,0 +1,142 @@
+package com.sparta.payment_system.service;
+
+import com.sparta.payment_system.entity.PointTransaction;
+import com.sparta.payment_system.entity.User;
+import com.sparta.payment_system.repository.PointTransactionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 포인트 거래 내역(PointTransaction)을 모아서 JDBC 배치 INSERT로 기록하는 원장 기록기입니다.
+ * 거래 내역은 현재 트랜잭션에 묶인 버퍼에 쌓였다가 커밋 직전에 한 번에 저장되므로,
+ * 사용자 포인트 잔액 변경과 원장 기록이 항상 같은 트랜잭션에서 함께 커밋되거나 롤백됩니다.
+ */
+@Slf4j
+@Component
+public class PointLedgerWriter {
+
+    private final PointTransactionRepository pointTransactionRepository;
+    private final int maxBufferSize;
+
+    /** 현재 버퍼에 쌓여 있는 거래 내역 수 (모든 트랜잭션 합계) */
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong flushedRows = new AtomicLong();
+    private final AtomicLong totalFlushNanos = new AtomicLong();
+    private final AtomicLong lastFlushNanos = new AtomicLong();
+    private final AtomicInteger lastBatchSize = new AtomicInteger();
+
+    public PointLedgerWriter(PointTransactionRepository pointTransactionRepository,
+                             @Value("${point.ledger.max-buffer-size:100}") int maxBufferSize) {
+        this.pointTransactionRepository = pointTransactionRepository;
+        this.maxBufferSize = maxBufferSize;
+    }
+
+    /**
+     * 포인트 거래 내역을 현재 트랜잭션의 버퍼에 추가합니다.
+     * 버퍼가 가득 차면 즉시 저장하고, 나머지는 커밋 직전에 저장합니다.
+     *
+     * @param user   사용자
+     * @param amount 변경 포인트 (양수)
+     * @param type   거래 타입 (USED / EARNED)
+     */
+    public void append(User user, BigDecimal amount, PointTransaction.PointType type) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("포인트 원장은 트랜잭션 안에서만 기록할 수 있습니다.");
+        }
+
+        PointTransaction transaction = new PointTransaction();
+        transaction.setUser(user);
+        transaction.setPointsChanged(amount);
+        transaction.setType(type);
+        transaction.setCreatedAt(LocalDateTime.now());
+
+        List<PointTransaction> buffer = currentBuffer();
+        if (buffer.size() >= maxBufferSize) {
+            flush(buffer);
+        }
+        buffer.add(transaction);
+        queueDepth.incrementAndGet();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<PointTransaction> currentBuffer() {
+        List<PointTransaction> buffer = (List<PointTransaction>) TransactionSynchronizationManager.getResource(this);
+        if (buffer != null) {
+            return buffer;
+        }
+
+        List<PointTransaction> newBuffer = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, newBuffer);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                flush(newBuffer);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                // 롤백된 경우 저장되지 않은 항목은 버퍼와 함께 폐기합니다.
+                queueDepth.addAndGet(-newBuffer.size());
+                newBuffer.clear();
+                TransactionSynchronizationManager.unbindResourceIfPossible(PointLedgerWriter.this);
+            }
+        });
+        return newBuffer;
+    }
+
+    private void flush(List<PointTransaction> buffer) {
+        if (buffer.isEmpty()) {
+            return;
+        }
+
+        int size = buffer.size();
+        long start = System.nanoTime();
+        pointTransactionRepository.saveAll(buffer);
+        pointTransactionRepository.flush();
+        long elapsed = System.nanoTime() - start;
+
+        buffer.clear();
+        queueDepth.addAndGet(-size);
+        flushCount.incrementAndGet();
+        flushedRows.addAndGet(size);
+        totalFlushNanos.addAndGet(elapsed);
+        lastFlushNanos.set(elapsed);
+        lastBatchSize.set(size);
+        log.debug("포인트 원장 기록 완료 - {}건, {}µs", size, elapsed / 1_000);
+    }
+
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    public long getFlushCount() {
+        return flushCount.get();
+    }
+
+    public long getFlushedRows() {
+        return flushedRows.get();
+    }
+
+    public long getTotalFlushNanos() {
+        return totalFlushNanos.get();
+    }
+
+    public long getLastFlushNanos() {
+        return lastFlushNanos.get();
+    }
+
+    public int getLastBatchSize() {
+        return lastBatchSize.get();
+    }
+}
@@ -0,0 +1,76 @@
+package com.sparta.payment_system.service;
+
+import com.sparta.payment_system.cache.LocalCache;
+import com.sparta.payment_system.dto.product.ProductCreateResponseDto;
+import com.sparta.payment_system.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 상품 조회용 캐시입니다.
+ * 자주 바뀌지 않는 상품 정보(이름, 가격, 설명 등)만 캐싱하고, 자주 바뀌는 재고는 StockReservationManager의 슬롯에서 읽어
+ * 재고 변경으로 상품 항목 전체가 무효화되지 않도록 합니다. 상품 정보/상태가 바뀌면 해당 항목을 제거합니다.
+ */
+@Component
+public class ProductCache {
+
+    private final ProductRepository productRepository;
+    private final StockReservationManager stockReservationManager;
+    private final LocalCache<Long, ProductCreateResponseDto> cache;
+
+    public ProductCache(ProductRepository productRepository,
+                        StockReservationManager stockReservationManager,
+                        @Value("${product.cache.max-size:10000}") int maxSize,
+                        @Value("${product.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.productRepository = productRepository;
+        this.stockReservationManager = stockReservationManager;
+        this.cache = new LocalCache<>(maxSize, ttlSeconds * 1000);
+    }
+
+    /**
+     * 상품 정보를 반환합니다. 상품 정보는 캐시에서, 재고는 재고 슬롯에서 가져옵니다.
+     *
+     * @param productId 상품 ID
+     * @return 상품 정보
+     */
+    public ProductCreateResponseDto get(Long productId) {
+        ProductCreateResponseDto product = cache.get(productId, id -> productRepository.findById(id)
+                .map(ProductCreateResponseDto::from)
+                .orElseThrow(() -> new RuntimeException("존재하지 않는 상품입니다.")));
+        return product.withStock(stockReservationManager.availableStock(productId));
+    }
+
+    public void put(ProductCreateResponseDto product) {
+        cache.put(product.getProductId(), product);
+    }
+
+    /**
+     * 상품 항목을 제거합니다.
+     * 트랜잭션 안에서 호출되면 커밋 전에 다른 요청이 이전 값을 다시 캐싱할 수 있으므로 트랜잭션 완료 후 한 번 더 제거합니다.
+     *
+     * @param productId 상품 ID
+     */
+    public void evict(Long productId) {
+        cache.invalidate(productId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(productId);
+                }
+            });
+        }
+    }
+
+    public LocalCache<Long, ProductCreateResponseDto> getCache() {
+        return cache;
+    }
+
+    @Scheduled(fixedDelayString = "${product.cache.cleanup-interval-ms:60000}")
+    public void cleanUp() {
+        cache.cleanUp();
+    }
+}
@@ -0,0 +1,289 @@
+package com.sparta.payment_system.service;
+
+import com.sparta.payment_system.dto.product.ProductSearchResponseDto;
+import com.sparta.payment_system.entity.Product;
+import com.sparta.payment_system.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 상품 검색용 메모리 인덱스입니다.
+ * 상품명은 2-gram 역색인으로, 가격은 정렬된 맵으로 색인하여 LIKE '%x%' 전체 스캔 없이 이름/가격 범위 검색을 처리합니다.
+ * 기동 시 products 테이블에서 한 번 구성하고, 이후에는 상품 생성/삭제/상태 변경 시 해당 상품만 갱신합니다.
+ */
+@Slf4j
+@Component
+public class ProductSearchIndex {
+
+    private static final int GRAM_SIZE = 2;
+
+    private final ProductRepository productRepository;
+    private final StockReservationManager stockReservationManager;
+    private final int loadBatchSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    /** 상품 ID -> 색인된 상품 (ID 역순 조회용으로 정렬 유지) */
+    private final TreeMap<Long, IndexedProduct> products = new TreeMap<>();
+    /** 상품명 2-gram -> 상품 ID 목록 */
+    private final Map<String, Set<Long>> grams = new HashMap<>();
+    /** 가격 -> 상품 ID 목록 */
+    private final TreeMap<BigDecimal, Set<Long>> prices = new TreeMap<>();
+
+    public ProductSearchIndex(ProductRepository productRepository,
+                              StockReservationManager stockReservationManager,
+                              @Value("${product.search.load-batch-size:1000}") int loadBatchSize) {
+        this.productRepository = productRepository;
+        this.stockReservationManager = stockReservationManager;
+        this.loadBatchSize = loadBatchSize;
+    }
+
+    /**
+     * 기동 시 전체 상품을 상품 ID 순으로 나누어 읽어 인덱스를 구성합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long lastProductId = 0L;
+        int count = 0;
+        List<Object[]> rows;
+        do {
+            rows = productRepository.findSearchRowsAfter(lastProductId, PageRequest.of(0, loadBatchSize));
+            lock.writeLock().lock();
+            try {
+                for (Object[] row : rows) {
+                    add(IndexedProduct.of((Long) row[0], (String) row[1], (BigDecimal) row[2],
+                            (Product.ProductStatus) row[3], (Integer) row[4]));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (!rows.isEmpty()) {
+                lastProductId = (Long) rows.get(rows.size() - 1)[0];
+                count += rows.size();
+            }
+        } while (rows.size() == loadBatchSize);
+        log.info("상품 검색 인덱스 구성 완료 - {}건", count);
+    }
+
+    /**
+     * 상품을 색인하거나 기존 색인을 교체합니다. 트랜잭션 안에서 호출되면 커밋 후에 반영합니다.
+     *
+     * @param product 상품
+     */
+    public void index(Product product) {
+        IndexedProduct indexed = IndexedProduct.of(product.getProductId(), product.getName(),
+                product.getPrice(), product.getStatus(), product.getStock());
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(indexed.productId());
+                add(indexed);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * 상품을 인덱스에서 제거합니다. 트랜잭션 안에서 호출되면 커밋 후에 반영합니다.
+     *
+     * @param productId 상품 ID
+     */
+    public void delete(Long productId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(productId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * 조건에 맞는 상품을 상품 ID 역순(최신순)으로 검색합니다. 모든 조건은 선택 사항입니다.
+     *
+     * @param name     상품명에 포함된 문자열 (대소문자 무시)
+     * @param minPrice 최소 가격 (포함)
+     * @param maxPrice 최대 가격 (포함)
+     * @param status   판매 상태
+     * @param inStock  true면 가용 재고가 있는 상품만
+     * @param limit    최대 결과 수
+     * @return 검색 결과
+     */
+    public List<ProductSearchResponseDto> search(String name, BigDecimal minPrice, BigDecimal maxPrice,
+                                                 Product.ProductStatus status, boolean inStock, int limit) {
+        String keyword = name != null && !name.isBlank() ? normalize(name) : null;
+
+        lock.readLock().lock();
+        try {
+            Collection<Long> candidates = candidates(keyword, minPrice, maxPrice);
+            List<ProductSearchResponseDto> results = new ArrayList<>();
+            for (Long productId : candidates) {
+                IndexedProduct product = products.get(productId);
+                if (product == null
+                        || (keyword != null && !product.normalizedName().contains(keyword))
+                        || (minPrice != null && product.price().compareTo(minPrice) < 0)
+                        || (maxPrice != null && product.price().compareTo(maxPrice) > 0)
+                        || (status != null && product.status() != status)) {
+                    continue;
+                }
+                int stock = currentStock(product);
+                if (inStock && stock <= 0) {
+                    continue;
+                }
+                results.add(new ProductSearchResponseDto(product.productId(), product.name(), product.price(),
+                        product.status(), stock));
+                if (results.size() >= limit) {
+                    break;
+                }
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return products.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 가장 선택도가 높은 색인으로 후보를 좁히고, 나머지 조건은 search에서 상품별로 확인합니다.
+    private Collection<Long> candidates(String keyword, BigDecimal minPrice, BigDecimal maxPrice) {
+        if (keyword != null && keyword.length() >= GRAM_SIZE) {
+            return sortedDescending(nameCandidates(keyword));
+        }
+        if (minPrice != null || maxPrice != null) {
+            NavigableMap<BigDecimal, Set<Long>> range = prices;
+            if (minPrice != null && maxPrice != null) {
+                if (minPrice.compareTo(maxPrice) > 0) {
+                    return List.of();
+                }
+                range = prices.subMap(minPrice, true, maxPrice, true);
+            } else if (minPrice != null) {
+                range = prices.tailMap(minPrice, true);
+            } else {
+                range = prices.headMap(maxPrice, true);
+            }
+            Set<Long> ids = new HashSet<>();
+            range.values().forEach(ids::addAll);
+            return sortedDescending(ids);
+        }
+        return products.descendingKeySet();
+    }
+
+    // 검색어의 모든 2-gram을 포함하는 상품 ID (작은 목록부터 교집합)
+    private Set<Long> nameCandidates(String keyword) {
+        List<Set<Long>> postings = new ArrayList<>();
+        for (String gram : grams(keyword)) {
+            Set<Long> posting = grams.get(gram);
+            if (posting == null) {
+                return Set.of();
+            }
+            postings.add(posting);
+        }
+        postings.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> result = new HashSet<>(postings.get(0));
+        for (int i = 1; i < postings.size() && !result.isEmpty(); i++) {
+            result.retainAll(postings.get(i));
+        }
+        return result;
+    }
+
+    private int currentStock(IndexedProduct product) {
+        // 재고 슬롯이 로드된 상품은 예약까지 반영된 가용 재고를, 아니면 색인 시점의 재고를 사용합니다.
+        Integer available = stockReservationManager.peekAvailableStock(product.productId());
+        return available != null ? available : product.stock();
+    }
+
+    private void add(IndexedProduct product) {
+        products.put(product.productId(), product);
+        for (String gram : grams(product.normalizedName())) {
+            grams.computeIfAbsent(gram, key -> new HashSet<>()).add(product.productId());
+        }
+        prices.computeIfAbsent(product.price(), key -> new HashSet<>()).add(product.productId());
+    }
+
+    private void remove(Long productId) {
+        IndexedProduct product = products.remove(productId);
+        if (product == null) {
+            return;
+        }
+        for (String gram : grams(product.normalizedName())) {
+            Set<Long> posting = grams.get(gram);
+            if (posting != null && posting.remove(productId) && posting.isEmpty()) {
+                grams.remove(gram);
+            }
+        }
+        Set<Long> posting = prices.get(product.price());
+        if (posting != null && posting.remove(productId) && posting.isEmpty()) {
+            prices.remove(product.price());
+        }
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> result = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= text.length(); i++) {
+            result.add(text.substring(i, i + GRAM_SIZE));
+        }
+        return result;
+    }
+
+    private static List<Long> sortedDescending(Set<Long> ids) {
+        List<Long> sorted = new ArrayList<>(ids);
+        sorted.sort(Comparator.reverseOrder());
+        return sorted;
+    }
+
+    private static String normalize(String text) {
+        return text.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // 검색할 때마다 변환하지 않도록 정규화된 상품명을 함께 보관합니다.
+    private record IndexedProduct(Long productId, String name, String normalizedName, BigDecimal price,
+                                  Product.ProductStatus status, Integer stock) {
+        static IndexedProduct of(Long productId, String name, BigDecimal price,
+                                 Product.ProductStatus status, Integer stock) {
+            return new IndexedProduct(productId, name, normalize(name), price, status, stock);
+        }
+    }
+}
@@ -2,16 +2,25 @@ package com.sparta.payment_system.service;
 
 import com.sparta.payment_system.dto.product.ProductCreateRequestDto;
 import com.sparta.payment_system.dto.product.ProductCreateResponseDto;
+import com.sparta.payment_system.dto.product.ProductSearchResponseDto;
 import com.sparta.payment_system.entity.Product;
 import com.sparta.payment_system.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class ProductService {
 
+    private static final int MAX_SEARCH_SIZE = 100;
+
     private final ProductRepository productRepository;
+    private final ProductCache productCache;
+    private final StockReservationManager stockReservationManager;
+    private final ProductSearchIndex productSearchIndex;
 
     public ProductCreateResponseDto createProduct(ProductCreateRequestDto requestDto) {
 
@@ -24,13 +33,29 @@ public class ProductService {
 
         productRepository.save(product);
 
-        return ProductCreateResponseDto.from(product);
+        ProductCreateResponseDto responseDto = ProductCreateResponseDto.from(product);
+        productCache.put(responseDto);
+        productSearchIndex.index(product);
+        return responseDto;
     }
 
     public ProductCreateResponseDto getProductInfo(Long id) {
-        Product product = productRepository.findById(id).orElseThrow(
-                () -> new RuntimeException("존재하지 않는 상품입니다."));
+        return productCache.get(id);
+    }
+
+    public void deleteProduct(Long id) {
+        productRepository.deleteById(id);
+        productCache.evict(id);
+        stockReservationManager.evict(id);
+        productSearchIndex.delete(id);
+    }
 
-        return ProductCreateResponseDto.from(product);
+    public List<ProductSearchResponseDto> searchProducts(String name, BigDecimal minPrice, BigDecimal maxPrice,
+                                                         Product.ProductStatus status, boolean inStock, int size) {
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new IllegalArgumentException("최소 가격이 최대 가격보다 클 수 없습니다.");
+        }
+        return productSearchIndex.search(name, minPrice, maxPrice, status, inStock,
+                Math.max(1, Math.min(size, MAX_SEARCH_SIZE)));
     }
 }
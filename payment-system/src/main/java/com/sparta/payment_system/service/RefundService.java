@@ -1,22 +1,31 @@
 package com.sparta.payment_system.service;
 
 import com.sparta.payment_system.client.PortOneClient;
+import com.sparta.payment_system.config.LogContext;
+import com.sparta.payment_system.dto.payment.PaymentVerificationDto;
 import com.sparta.payment_system.dto.refund.RefundRequestDto;
 import com.sparta.payment_system.dto.refund.RefundResponseDto;
 import com.sparta.payment_system.entity.*;
 import com.sparta.payment_system.repository.*;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 /**
  * 환불 관련 비즈니스 로직을 처리하는 서비스 클래스입니다.
  * 외부 PG사 연동 및 내부 시스템의 상태 변화(재고, 포인트, 멤버십)를 관리합니다.
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class RefundService {
@@ -24,56 +33,136 @@ public class RefundService {
     private final PaymentRepository paymentRepository;
     private final RefundRepository refundRepository;
     private final UserRepository userRepository;
-    private final PointTransactionRepository pointTransactionRepository;
+    private final PointBalanceService pointBalanceService;
     private final ProductRepository productRepository;
     private final OrderRepository orderRepository;
     private final PortOneClient portOneClient;
+    private final StockReservationManager stockReservationManager;
+    private final MembershipService membershipService;
+    private final TransactionTemplate transactionTemplate;
+    private final PaymentMetrics paymentMetrics;
+
+    @Value("${refund.recovery.pending-timeout-seconds:300}")
+    private long pendingTimeoutSeconds;
 
 
     /**
      * 사용자 요청에 따라 PG사에 환불을 요청하고 내부 시스템의 환불 후처리를 진행합니다.
      * 결제 건의 소유권과 상태(PAID)를 검증합니다.
+     * 1) 짧은 트랜잭션으로 REFUND_PENDING 전환, 2) 트랜잭션 밖에서 PG 환불 요청, 3) 짧은 트랜잭션으로 후처리 순서로 진행하여
+     * PG 응답을 기다리는 동안 DB 커넥션과 행 잠금을 점유하지 않습니다.
      */
-    @Transactional
     public RefundResponseDto createRefund(RefundRequestDto requestDto, Long currentUserId) {
 
-        Payment payment = paymentRepository.findById(requestDto.getPaymentId())
-                .orElseThrow(() -> new IllegalArgumentException("Invalid paymentId"));
+        // 1단계: 검증 및 환불 진행 중 상태로 전환
+        String paymentKey = transactionTemplate.execute(status -> {
+            Payment payment = paymentRepository.findById(requestDto.getPaymentId())
+                    .orElseThrow(() -> new IllegalArgumentException("Invalid paymentId"));
 
 
-        if (!payment.getOrder().getUserId().equals(currentUserId)) {
-            throw new SecurityException("해당 결제 건에 대한 환불 권한이 없습니다.");
-        }
+            if (!payment.getOrder().getUserId().equals(currentUserId)) {
+                throw new SecurityException("해당 결제 건에 대한 환불 권한이 없습니다.");
+            }
 
-        if (payment.getStatus() != Payment.PaymentStatus.PAID) {
-            throw new IllegalStateException("결제 완료 상태(PAID)에서만 환불 요청이 가능합니다.");
-        }
+            if (payment.getStatus() != Payment.PaymentStatus.PAID) {
+                throw new IllegalStateException("결제 완료 상태(PAID)에서만 환불 요청이 가능합니다.");
+            }
 
-        // PG사 환불 요청 PortOne API 호출
+            int updated = paymentRepository.transitionStatus(payment.getPaymentId(),
+                    Payment.PaymentStatus.PAID, Payment.PaymentStatus.REFUND_PENDING, LocalDateTime.now());
+            if (updated == 0) {
+                throw new IllegalStateException("이미 환불이 진행 중인 결제입니다.");
+            }
+            return payment.getPaymentKey();
+        });
+
+        // 2단계: PG사 환불 요청 PortOne API 호출 (트랜잭션 밖)
         try {
-            String accessToken = portOneClient.getAccessToken();
-            portOneClient.cancelPayment(payment.getPaymentKey(), accessToken, requestDto.getReason());
+            paymentMetrics.run("refund", "pg_cancel", () -> portOneClient.cancelPayment(paymentKey, requestDto.getReason()));
+        } catch (WebClientResponseException e) {
+            // PG사가 4xx로 명시적으로 거절한 경우에만 PAID로 되돌립니다.
+            // 5xx는 PG에서 취소가 처리되었을 수 있으므로 REFUND_PENDING으로 두고 복구 스케줄러가 PG 상태로 확인합니다.
+            if (e.getStatusCode().is4xxClientError()) {
+                transactionTemplate.executeWithoutResult(status -> paymentRepository.transitionStatus(requestDto.getPaymentId(),
+                        Payment.PaymentStatus.REFUND_PENDING, Payment.PaymentStatus.PAID, LocalDateTime.now()));
+            }
+            throw new RuntimeException("PortOne 환불 요청 실패: " + e.getMessage());
         } catch (Exception e) {
-            // PG사 요청 실패 시 예외 발생, 트랜잭션 롤백 유도
             throw new RuntimeException("PortOne 환불 요청 실패: " + e.getMessage());
         }
 
-        // 내부 시스템 후처리
-        Refund savedRefund = processRefundLogic(payment, requestDto.getReason());
+        // 3단계: 내부 시스템 후처리 (웹훅/복구 스케줄러가 먼저 처리했으면 그 결과를 사용)
+        return convertToRefundResponseDto(applyRefund(requestDto.getPaymentId(), requestDto.getReason()));
+    }
 
-        return convertToRefundResponseDto(savedRefund);
+    /**
+     * PG 응답 유실 등으로 REFUND_PENDING 상태에 머문 결제를 PG 상태 기준으로 복구합니다.
+     * PG에서 취소되었으면 환불 후처리를 적용하고, 여전히 결제 완료 상태이면 PAID로 되돌립니다.
+     */
+    @Scheduled(fixedDelayString = "${refund.recovery.interval-ms:60000}")
+    public void recoverPendingRefunds() {
+        LocalDateTime cutoff = LocalDateTime.now().minusSeconds(pendingTimeoutSeconds);
+        List<Payment> pendingPayments = paymentRepository.findByStatusAndUpdatedAtBefore(
+                Payment.PaymentStatus.REFUND_PENDING, cutoff);
+
+        for (Payment pending : pendingPayments) {
+            try (LogContext ignored = LogContext.put(LogContext.PAYMENT_KEY, pending.getPaymentKey())) {
+                PaymentVerificationDto verification = portOneClient.getPayment(pending.getPaymentKey());
+
+                if ("Cancelled".equalsIgnoreCase(verification.getStatus())) {
+                    applyRefund(pending.getPaymentId(), "환불 복구 처리");
+                } else if ("Paid".equalsIgnoreCase(verification.getStatus())) {
+                    transactionTemplate.executeWithoutResult(status -> paymentRepository.transitionStatus(
+                            pending.getPaymentId(), Payment.PaymentStatus.REFUND_PENDING,
+                            Payment.PaymentStatus.PAID, LocalDateTime.now()));
+                }
+            } catch (Exception e) {
+                log.error("환불 복구 처리 실패 (결제 키: {}): {}", pending.getPaymentKey(), e.getMessage());
+            }
+        }
     }
 
     /**
      * PG사 웹훅(Webhook)으로부터 환불 완료 통보를 받아 내부 시스템 환불 후처리를 진행합니다.
      * PG사 요청이 성공했음을 가정하고 내부 로직만 수행합니다.
+     * PG 관리자 화면 등에서 직접 취소되어 아직 PAID인 결제는 먼저 REFUND_PENDING으로 전환한 뒤 같은 경로로 처리합니다.
      */
-    @Transactional
     public void processWebhookRefund(String paymentKey, String reason) {
-        Payment payment = paymentRepository.findByPaymentKey(paymentKey)
-                .orElseThrow(() -> new IllegalArgumentException("Invalid paymentKey"));
+        Long paymentId = transactionTemplate.execute(status -> {
+            Payment payment = paymentRepository.findWithOrderItemsByPaymentKey(paymentKey)
+                    .orElseThrow(() -> new IllegalArgumentException("Invalid paymentKey"));
+            if (payment.getStatus() == Payment.PaymentStatus.PAID) {
+                paymentRepository.transitionStatus(payment.getPaymentId(), Payment.PaymentStatus.PAID,
+                        Payment.PaymentStatus.REFUND_PENDING, LocalDateTime.now());
+            }
+            return payment.getPaymentId();
+        });
+
+        applyRefund(paymentId, reason);
+    }
 
-        processRefundLogic(payment, reason);
+    /**
+     * REFUND_PENDING 결제에 환불 후처리를 적용합니다.
+     * 사용자 요청(3단계), 웹훅, 복구 스케줄러가 동시에 적용하면 Payment의 @Version 충돌로 한쪽만 반영되고,
+     * 충돌한 쪽은 먼저 반영된 환불 기록을 반환합니다.
+     */
+    private Refund applyRefund(Long paymentId, String reason) {
+        try {
+            return transactionTemplate.execute(status -> {
+                Payment payment = paymentRepository.findWithOrderItemsById(paymentId)
+                        .orElseThrow(() -> new IllegalArgumentException("Invalid paymentId"));
+                return processRefundLogic(payment, reason);
+            });
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return transactionTemplate.execute(status -> {
+                Payment payment = paymentRepository.findById(paymentId)
+                        .orElseThrow(() -> new IllegalArgumentException("Invalid paymentId"));
+                if (payment.getStatus() != Payment.PaymentStatus.REFUNDED) {
+                    throw e;
+                }
+                return findExistingRefund(payment);
+            });
+        }
     }
 
 
@@ -84,11 +173,17 @@ public class RefundService {
     private Refund processRefundLogic(Payment payment, String reason) {
 
         if (payment.getStatus() == Payment.PaymentStatus.REFUNDED) {
-            Optional<Refund> existingRefund = refundRepository.findByPaymentId(payment.getPaymentId()).stream().findFirst();
-            return existingRefund
-                    .orElseThrow(() -> new IllegalStateException("Payment already refunded but refund record missing."));
+            return findExistingRefund(payment);
+        }
+        // 환불 진행 중(REFUND_PENDING)으로 전환된 결제만 처리합니다. (READY, FAILED는 차감된 재고/포인트가 없음)
+        if (payment.getStatus() != Payment.PaymentStatus.REFUND_PENDING) {
+            throw new IllegalStateException("환불할 수 없는 결제 상태입니다: " + payment.getStatus());
         }
 
+        // 후처리보다 먼저 REFUNDED를 반영하여, 다른 경로가 동시에 처리 중이면 버전 충돌로 여기서 중단되게 합니다.
+        payment.setStatus(Payment.PaymentStatus.REFUNDED);
+        paymentRepository.saveAndFlush(payment);
+
         // Refund 기록 생성
         Refund refund = new Refund();
         refund.setPaymentId(payment.getPaymentId());
@@ -97,44 +192,44 @@ public class RefundService {
         refund.setStatus(Refund.RefundStatus.COMPLETED);
         Refund savedRefund = refundRepository.save(refund);
 
-        // Payment 및 Order 상태 변경
-        payment.setStatus(Payment.PaymentStatus.REFUNDED);
-        paymentRepository.save(payment);
-
         Order order = payment.getOrder();
         order.setStatus(Order.OrderStatus.CANCELLED);
         orderRepository.save(order);
 
         // 재고 복구
-        for (OrderItem item : order.getOrderItems()) {
-            Product product = item.getProduct();
-            product.setStock(product.getStock() + item.getQuantity());
-            productRepository.save(product);
-        }
+        paymentMetrics.run("refund", "restore_stock", () -> {
+            productRepository.increaseStocks(order.getOrderItems());
+            stockReservationManager.restock(order.getOrderItems());
+        });
 
         User user = getUserByPayment(payment);
 
-        // 사용 포인트 복구 (잔액 증가)
-        if (payment.getPointsUsed().compareTo(BigDecimal.ZERO) > 0) {
-            user.setTotalPoints(user.getTotalPoints().add(payment.getPointsUsed()));
-            createPointTransaction(user, payment.getPointsUsed(), PointTransaction.PointType.EARNED);
-        }
+        paymentMetrics.run("refund", "points", () -> {
+            // 사용 포인트 복구 (잔액 증가)
+            if (payment.getPointsUsed().compareTo(BigDecimal.ZERO) > 0) {
+                pointBalanceService.changePoints(user, payment.getPointsUsed(), PointTransaction.PointType.EARNED);
+            }
 
-        // 적립 포인트 회수 (잔액 감소)
-        BigDecimal earnedPoints = payment.getAmount().multiply(new BigDecimal("0.01"));
-        if (earnedPoints.compareTo(BigDecimal.ZERO) > 0) {
-            user.setTotalPoints(user.getTotalPoints().subtract(earnedPoints));
-            createPointTransaction(user, earnedPoints, PointTransaction.PointType.USED);
-        }
+            // 적립 포인트 회수 (잔액 감소, 이미 사용한 포인트는 남은 잔액까지만 회수)
+            BigDecimal earnedPoints = payment.getAmount().multiply(new BigDecimal("0.01"));
+            if (earnedPoints.compareTo(BigDecimal.ZERO) > 0) {
+                pointBalanceService.clawBack(user, earnedPoints);
+            }
+        });
 
         // 멤버십 업데이트 (환불로 인해 누적 결제액 감소)
-        userRepository.save(user);
-        updateMembershipLevel(user);
+        paymentMetrics.run("refund", "membership", () -> membershipService.applyRefunded(user, payment.getAmount()));
 
         return savedRefund;
     }
 
 
+    private Refund findExistingRefund(Payment payment) {
+        Optional<Refund> existingRefund = refundRepository.findByPaymentId(payment.getPaymentId()).stream().findFirst();
+        return existingRefund
+                .orElseThrow(() -> new IllegalStateException("Payment already refunded but refund record missing."));
+    }
+
     /**
      * 결제 엔티티를 통해 해당 결제의 사용자 엔티티를 조회합니다.
      */
@@ -145,37 +240,6 @@ public class RefundService {
                 .orElseThrow(() -> new IllegalArgumentException("Invalid userId"));
     }
 
-    /**
-     * 포인트 거래 내역을 생성하고 저장합니다.
-     */
-    private void createPointTransaction(User user, BigDecimal amount, PointTransaction.PointType type) {
-        PointTransaction transaction = new PointTransaction();
-        transaction.setUser(user);
-        transaction.setPointsChanged(amount);
-        transaction.setType(type);
-        transaction.setCreatedAt(LocalDateTime.now());
-        pointTransactionRepository.save(transaction);
-    }
-
-    /**
-     * 사용자의 총 결제 금액을 재계산하여 멤버십 등급을 업데이트합니다.
-     */
-    private void updateMembershipLevel(User user) {
-        // PAID 상태의 결제 금액만 합산하여 등급 결정
-        BigDecimal totalSpentBigDecimal = paymentRepository.findAllByOrderUserId(user.getUserId())
-                .stream()
-                .filter(p -> p.getStatus() == Payment.PaymentStatus.PAID)
-                .map(Payment::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        long totalPaid = totalSpentBigDecimal.longValue();
-        MembershipRank newRank = MembershipRank.fromTotalPaid(totalPaid);
-
-        user.setMembershipRank(newRank);
-        userRepository.save(user);
-    }
-
-
     /**
      * Refund 엔티티를 응답 DTO로 변환합니다.
      */
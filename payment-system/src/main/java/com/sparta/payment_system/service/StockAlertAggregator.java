@@ -0,0 +1,171 @@
+package com.sparta.payment_system.service;
+
+import com.sparta.payment_system.entity.StockAlert;
+import com.sparta.payment_system.repository.StockAlertRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 재고 알림 집계기입니다.
+ * 재고 변경 트랜잭션이 커밋되면 임계값 이벤트를 메모리에 모아 두기만 하고, 스케줄러가 주기적으로
+ * (상품, 알림 타입)별로 합쳐진 이벤트를 중복 제거한 뒤 한 트랜잭션에서 일괄 저장합니다.
+ * 따라서 재고 차감 요청은 알림 조회/저장 비용을 기다리지 않습니다.
+ */
+@Slf4j
+@Component
+public class StockAlertAggregator {
+
+    private final StockAlertRepository stockAlertRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final StockAlertStreamHub stockAlertStreamHub;
+    private final long dedupWindowMillis;
+
+    /** 아직 저장하지 않은 이벤트 ((상품, 알림 타입)별 최신 이벤트만 유지) */
+    private final ConcurrentHashMap<AlertKey, StockThresholdEvent> pending = new ConcurrentHashMap<>();
+    /** (상품, 알림 타입) -> 마지막으로 알림을 저장한 시각 (epoch millis) */
+    private final ConcurrentHashMap<AlertKey, Long> lastAlertedAt = new ConcurrentHashMap<>();
+
+    private final AtomicLong receivedCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong suppressedCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+
+    public StockAlertAggregator(StockAlertRepository stockAlertRepository,
+                                TransactionTemplate transactionTemplate,
+                                StockAlertStreamHub stockAlertStreamHub,
+                                @Value("${stock.alert.dedup-window-seconds:3600}") long dedupWindowSeconds) {
+        this.stockAlertRepository = stockAlertRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.stockAlertStreamHub = stockAlertStreamHub;
+        this.dedupWindowMillis = dedupWindowSeconds * 1000;
+    }
+
+    /**
+     * 기동 시 중복 제거 구간 안에 저장된 알림으로 중복 제거 상태를 복원합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreDedupState() {
+        LocalDateTime now = LocalDateTime.now();
+        List<StockAlert> recent = stockAlertRepository.findAlertsByDateRange(
+                now.minus(Duration.ofMillis(dedupWindowMillis)), now);
+        for (StockAlert alert : recent) {
+            long createdAt = alert.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            lastAlertedAt.merge(new AlertKey(alert.getProductId(), alert.getAlertType()), createdAt, Math::max);
+        }
+    }
+
+    /**
+     * 재고 임계값 이벤트를 집계 대기열에 넣습니다. 재고 변경 트랜잭션이 커밋된 경우에만 호출됩니다.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onThresholdCrossed(StockThresholdEvent event) {
+        receivedCount.incrementAndGet();
+        pending.merge(new AlertKey(event.productId(), event.alertType()), event, (previous, latest) -> {
+            coalescedCount.incrementAndGet();
+            return latest;
+        });
+    }
+
+    /**
+     * 모인 이벤트를 중복 제거 후 일괄 저장합니다.
+     */
+    @Scheduled(fixedDelayString = "${stock.alert.flush-interval-ms:5000}")
+    public void flush() {
+        long now = System.currentTimeMillis();
+        List<StockAlert> alerts = new ArrayList<>();
+        List<AlertKey> keys = new ArrayList<>();
+
+        for (AlertKey key : pending.keySet()) {
+            StockThresholdEvent event = pending.remove(key);
+            if (event == null) {
+                continue;
+            }
+
+            if (event.alertType() == StockAlert.AlertType.STOCK_RESTORED) {
+                // 재고가 복구되면 이후 다시 부족/품절이 되었을 때 바로 알릴 수 있도록 중복 제거 상태를 초기화합니다.
+                lastAlertedAt.remove(new AlertKey(key.productId(), StockAlert.AlertType.LOW_STOCK));
+                lastAlertedAt.remove(new AlertKey(key.productId(), StockAlert.AlertType.OUT_OF_STOCK));
+            } else {
+                Long last = lastAlertedAt.get(key);
+                if (last != null && now - last < dedupWindowMillis) {
+                    suppressedCount.incrementAndGet();
+                    continue;
+                }
+            }
+
+            alerts.add(new StockAlert(event.productId(), event.currentStock(), event.minStockThreshold(),
+                    event.alertType(), message(event)));
+            keys.add(key);
+        }
+
+        if (alerts.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> stockAlertRepository.saveAll(alerts));
+        } catch (RuntimeException e) {
+            log.error("재고 알림 일괄 저장 실패 - {}건: {}", alerts.size(), e.getMessage());
+            return;
+        }
+        keys.forEach(key -> lastAlertedAt.put(key, now));
+        writtenCount.addAndGet(alerts.size());
+        log.info("재고 알림 일괄 저장 완료 - {}건", alerts.size());
+        stockAlertStreamHub.publishAlerts(alerts);
+    }
+
+    /**
+     * 중복 제거 구간이 지난 상태를 정리합니다.
+     */
+    @Scheduled(fixedDelayString = "${stock.alert.cleanup-interval-ms:600000}")
+    public void cleanUp() {
+        long cutoff = System.currentTimeMillis() - dedupWindowMillis;
+        lastAlertedAt.values().removeIf(alertedAt -> alertedAt < cutoff);
+    }
+
+    private static String message(StockThresholdEvent event) {
+        return switch (event.alertType()) {
+            case OUT_OF_STOCK -> "상품이 품절되었습니다. Product ID: " + event.productId();
+            case LOW_STOCK -> "재고가 부족합니다. 현재 재고: " + event.currentStock() + "개, 최소 재고: "
+                    + event.minStockThreshold() + "개";
+            case STOCK_RESTORED -> "상품 재고가 복구되었습니다. 현재 재고: " + event.currentStock() + "개";
+        };
+    }
+
+    public long getReceivedCount() {
+        return receivedCount.get();
+    }
+
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    public long getSuppressedCount() {
+        return suppressedCount.get();
+    }
+
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private record AlertKey(Long productId, StockAlert.AlertType alertType) {
+    }
+}
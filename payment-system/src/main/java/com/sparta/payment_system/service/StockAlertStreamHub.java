@@ -0,0 +1,222 @@
+package com.sparta.payment_system.service;
+
+import com.sparta.payment_system.dto.product.StockAlertStreamDto;
+import com.sparta.payment_system.dto.product.StockLevelDto;
+import com.sparta.payment_system.entity.StockAlert;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 재고 관리 화면에 재고 알림과 실시간 재고를 SSE로 전달하는 메모리 팬아웃 허브입니다.
+ * 최근 이벤트를 고정 크기 버퍼에 보관하여, 재연결한 클라이언트에게 Last-Event-ID 이후의 이벤트를 다시 보내 줍니다.
+ * 열린 화면마다 알림 테이블을 주기적으로 조회하던 부하를 없앱니다.
+ * 실제 전송은 전용 단일 스레드에서 처리하여, 느린 클라이언트가 락이나 스케줄러 스레드를 붙잡지 않도록 합니다.
+ */
+@Slf4j
+@Component
+public class StockAlertStreamHub {
+
+    private static final String ALERT_EVENT = "stock-alert";
+    private static final String STOCK_LEVELS_EVENT = "stock-levels";
+
+    private final StockReservationManager stockReservationManager;
+    private final int replaySize;
+    private final long emitterTimeoutMillis;
+
+    private final int maxSubscribers;
+
+    // 전송 대상 목록은 전송 스레드에서만 변경합니다 (연결 종료 콜백의 제거 제외).
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    // 구독 한도 확인용: 등록 대기 중인 구독까지 포함합니다.
+    private final Set<SseEmitter> subscribers = ConcurrentHashMap.newKeySet();
+    // 이벤트 ID 부여, 재전송 버퍼 갱신, 전송 작업 등록을 한 락 안에서 처리하고, 전송은 단일 스레드가 등록 순서대로 수행하여
+    // 구독 시점과 무관하게 누락/중복 없이 순서대로 전달합니다.
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "stock-alert-stream-sender");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ArrayDeque<StreamEvent> replayBuffer = new ArrayDeque<>();
+    private long lastEventId;
+
+    public StockAlertStreamHub(StockReservationManager stockReservationManager,
+                               @Value("${stock.alert.stream.replay-size:256}") int replaySize,
+                               @Value("${stock.alert.stream.timeout-ms:1800000}") long emitterTimeoutMillis,
+                               @Value("${stock.alert.stream.max-subscribers:100}") int maxSubscribers) {
+        this.stockReservationManager = stockReservationManager;
+        this.replaySize = replaySize;
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        this.maxSubscribers = maxSubscribers;
+    }
+
+    /**
+     * 새 구독을 등록합니다.
+     *
+     * @param lastEventId 클라이언트가 마지막으로 받은 이벤트 ID (재연결 시), 없으면 null
+     * @return SSE 연결
+     * @throws IllegalStateException 구독자 수가 한도에 도달한 경우
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        emitter.onCompletion(() -> unsubscribe(emitter));
+        emitter.onTimeout(() -> unsubscribe(emitter));
+        emitter.onError(e -> unsubscribe(emitter));
+
+        lock.lock();
+        try {
+            if (subscribers.size() >= maxSubscribers) {
+                throw new IllegalStateException("재고 알림 스트림 구독자 수가 한도(" + maxSubscribers + ")에 도달했습니다.");
+            }
+            subscribers.add(emitter);
+
+            List<StreamEvent> replay = new ArrayList<>();
+            if (lastEventId != null) {
+                for (StreamEvent event : replayBuffer) {
+                    if (event.id() > lastEventId) {
+                        replay.add(event);
+                    }
+                }
+            }
+            sender.execute(() -> {
+                for (StreamEvent event : replay) {
+                    if (!send(emitter, event)) {
+                        return;
+                    }
+                }
+                if (subscribers.contains(emitter)) {
+                    emitters.add(emitter);
+                }
+            });
+        } finally {
+            lock.unlock();
+        }
+        return emitter;
+    }
+
+    /**
+     * 저장된 재고 알림을 구독자에게 전달합니다.
+     *
+     * @param alerts 저장된 알림 목록
+     */
+    public void publishAlerts(List<StockAlert> alerts) {
+        lock.lock();
+        try {
+            for (StockAlert alert : alerts) {
+                broadcast(ALERT_EVENT, StockAlertStreamDto.from(alert));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 직전 전송 이후 가용 재고가 바뀐 상품들의 재고를 한 이벤트로 묶어 전달합니다.
+     */
+    @Scheduled(fixedDelayString = "${stock.alert.stream.stock-interval-ms:1000}")
+    public void publishStockLevels() {
+        List<Long> productIds = stockReservationManager.drainChangedProductIds();
+        if (productIds.isEmpty() || emitters.isEmpty()) {
+            return;
+        }
+
+        List<StockLevelDto> levels = new ArrayList<>();
+        for (Long productId : productIds) {
+            Integer stock = stockReservationManager.peekAvailableStock(productId);
+            if (stock != null) {
+                levels.add(new StockLevelDto(productId, stock));
+            }
+        }
+        if (levels.isEmpty()) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            broadcast(STOCK_LEVELS_EVENT, levels);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 프록시/로드밸런서가 유휴 연결을 끊지 않도록, 또 끊긴 클라이언트를 정리하도록 주기적으로 주석 이벤트를 보냅니다.
+     */
+    @Scheduled(fixedDelayString = "${stock.alert.stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        sender.execute(() -> {
+            for (SseEmitter emitter : emitters) {
+                try {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } catch (IOException | IllegalStateException e) {
+                    remove(emitter, e);
+                }
+            }
+        });
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+
+    // 락 안에서 호출됩니다. 전송은 전송 스레드에 맡기고 바로 반환합니다.
+    private void broadcast(String name, Object data) {
+        StreamEvent event = new StreamEvent(++lastEventId, name, data);
+        replayBuffer.addLast(event);
+        if (replayBuffer.size() > replaySize) {
+            replayBuffer.removeFirst();
+        }
+        sender.execute(() -> {
+            for (SseEmitter emitter : emitters) {
+                send(emitter, event);
+            }
+        });
+    }
+
+    private boolean send(SseEmitter emitter, StreamEvent event) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(event.id()))
+                    .name(event.name())
+                    .data(event.data()));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            remove(emitter, e);
+            return false;
+        }
+    }
+
+    private void unsubscribe(SseEmitter emitter) {
+        subscribers.remove(emitter);
+        emitters.remove(emitter);
+    }
+
+    private void remove(SseEmitter emitter, Exception cause) {
+        unsubscribe(emitter);
+        emitter.completeWithError(cause);
+        log.debug("재고 알림 스트림 구독 해제: {}", cause.getMessage());
+    }
+
+    private record StreamEvent(long id, String name, Object data) {
+    }
+}
@@ -0,0 +1,452 @@
+package com.sparta.payment_system.service;
+
+import com.sparta.payment_system.entity.OrderItem;
+import com.sparta.payment_system.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 상품별 가용 재고를 메모리 슬롯(CAS로 갱신하는 버전 + 재고)으로 관리하는 재고 예약 엔진입니다.
+ * 결제 준비 시 예약(reserve), 결제 완료 시 확정(confirm), 실패/환불 시 해제(release/restock)합니다.
+ * 엔진은 DB 앞단의 입장 제어만 담당하며, 실제 재고 차감/복구는 ProductRepository의 조건부 UPDATE로 수행합니다.
+ * 슬롯은 주기적으로 DB 재고(products.stock - 활성 예약 수량)와 대조하여 보정하고, 쓰이지 않는 슬롯은 정리합니다.
+ */
+@Slf4j
+@Component
+public class StockReservationManager {
+
+    private final ProductRepository productRepository;
+    private final long reservationTtlMillis;
+
+    /** 상품 ID -> 가용 재고 (DB 재고 - 예약 수량) */
+    private final ConcurrentHashMap<Long, Slot> slots = new ConcurrentHashMap<>();
+
+    /** 주문 ID -> 예약 내역 */
+    private final ConcurrentHashMap<Long, Reservation> reservations = new ConcurrentHashMap<>();
+
+    /** 동시 예약으로 CAS를 재시도한 횟수 (슬롯 경합 지표) */
+    private final AtomicLong casRetries = new AtomicLong();
+    /** 재고 부족으로 거절된 예약 수 */
+    private final AtomicLong rejectedReservations = new AtomicLong();
+
+    /** 마지막 조회 이후 가용 재고가 바뀐 상품 ID (실시간 재고 스트림용) */
+    private final Set<Long> changedProductIds = ConcurrentHashMap.newKeySet();
+
+    /** 상품 ID -> 직전 동기화에서 관측한 DB 대비 슬롯 오차 */
+    private final Map<Long, Integer> observedDrifts = new ConcurrentHashMap<>();
+
+    private static final int RESYNC_BATCH_SIZE = 500;
+
+    public StockReservationManager(ProductRepository productRepository,
+                                   @Value("${stock.reservation.ttl-minutes:15}") long reservationTtlMinutes) {
+        this.productRepository = productRepository;
+        this.reservationTtlMillis = reservationTtlMinutes * 60_000L;
+    }
+
+    /**
+     * 주문의 모든 상품 재고를 예약합니다. 하나라도 부족하면 이미 예약한 수량을 되돌리고 예외를 던집니다.
+     * 같은 주문에 대한 예약이 이미 있으면 기존 예약을 그대로 유지합니다.
+     * 트랜잭션 안에서 예약했는데 그 트랜잭션이 롤백되면 TTL 만료를 기다리지 않고 바로 해제합니다.
+     *
+     * @param orderId 주문 ID
+     * @param items   주문 상품 목록
+     */
+    public void reserve(Long orderId, List<OrderItem> items) {
+        if (reservations.containsKey(orderId)) {
+            return;
+        }
+
+        Map<Long, Integer> quantities = toQuantities(items);
+        Map<Long, Integer> reserved = new LinkedHashMap<>();
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            if (!tryDecrement(entry.getKey(), entry.getValue())) {
+                rejectedReservations.incrementAndGet();
+                reserved.forEach(this::adjust);
+                throw new IllegalStateException("재고 부족: " + findName(items, entry.getKey()));
+            }
+            reserved.put(entry.getKey(), entry.getValue());
+        }
+
+        Reservation created = new Reservation(reserved);
+        if (reservations.putIfAbsent(orderId, created) != null) {
+            // 동시에 같은 주문을 예약한 요청이 먼저 등록된 경우
+            reserved.forEach(this::adjust);
+            return;
+        }
+
+        afterCompletion(committed -> {
+            if (!committed && reservations.remove(orderId, created)) {
+                reserved.forEach(this::adjust);
+            }
+        });
+    }
+
+    /**
+     * 예약을 확정합니다. 슬롯은 예약 시점에 이미 차감되어 있으므로 예약 내역만 제거합니다.
+     * 예약이 없으면(예: 예약 만료, 서버 재시작) 그 자리에서 예약 후 확정합니다.
+     *
+     * @param orderId 주문 ID
+     * @param items   주문 상품 목록
+     */
+    public void confirm(Long orderId, List<OrderItem> items) {
+        Reservation reservation = reservations.remove(orderId);
+        if (reservation == null) {
+            reserve(orderId, items);
+            reservation = reservations.remove(orderId);
+            if (reservation == null) {
+                throw new IllegalStateException("재고 부족으로 결제 완료 불가");
+            }
+        }
+
+        // 결제 트랜잭션이 롤백되면 DB 재고도 차감되지 않으므로 예약 상태로 되돌립니다.
+        Reservation confirmed = reservation;
+        afterCompletion(committed -> {
+            if (!committed) {
+                reservations.putIfAbsent(orderId, confirmed);
+            }
+        });
+    }
+
+    /**
+     * 확정되지 않은 예약을 해제하고 가용 재고를 복구합니다.
+     *
+     * @param orderId 주문 ID
+     */
+    public void release(Long orderId) {
+        Reservation reservation = reservations.remove(orderId);
+        if (reservation != null) {
+            reservation.quantities().forEach(this::adjust);
+        }
+    }
+
+    /**
+     * 확정된 주문의 재고를 복구합니다 (환불).
+     *
+     * @param items 주문 상품 목록
+     */
+    public void restock(List<OrderItem> items) {
+        Map<Long, Integer> quantities = toQuantities(items);
+        afterCompletion(committed -> {
+            if (committed) {
+                quantities.forEach(this::adjust);
+            }
+        });
+    }
+
+    /**
+     * 엔진을 거치지 않고 DB 재고가 직접 변경된 경우 슬롯을 함께 보정합니다.
+     * DB 변경이 커밋된 뒤에만 반영하여, 롤백된 변경이 슬롯에 남지 않도록 합니다.
+     *
+     * @param productId 상품 ID
+     * @param delta     재고 변화량
+     */
+    public void adjustOnCommit(Long productId, int delta) {
+        afterCompletion(committed -> {
+            if (committed) {
+                adjust(productId, delta);
+            }
+        });
+    }
+
+    private void adjust(Long productId, int delta) {
+        while (true) {
+            Slot slot = slots.get(productId);
+            if (slot == null) {
+                // 로드되지 않은 슬롯은 다음 사용 시 DB 재고로 로드되므로 보정할 필요가 없습니다.
+                return;
+            }
+            if (slot.add(delta)) {
+                changedProductIds.add(productId);
+                return;
+            }
+            slots.remove(productId, slot);
+        }
+    }
+
+    /**
+     * 상품의 현재 가용 재고를 반환합니다.
+     */
+    public int availableStock(Long productId) {
+        while (true) {
+            Slot slot = slot(productId);
+            long state = slot.state.get();
+            if (state != Slot.RETIRED) {
+                return Slot.available(state);
+            }
+            slots.remove(productId, slot);
+        }
+    }
+
+    /**
+     * 슬롯이 이미 로드된 상품의 가용 재고를 반환합니다. 로드되지 않았으면 DB를 조회하지 않고 null을 반환합니다.
+     */
+    public Integer peekAvailableStock(Long productId) {
+        Slot slot = slots.get(productId);
+        if (slot == null) {
+            return null;
+        }
+        long state = slot.state.get();
+        return state != Slot.RETIRED ? Slot.available(state) : null;
+    }
+
+    /**
+     * 마지막 호출 이후 가용 재고가 바뀐 상품 ID를 반환하고 목록을 비웁니다.
+     */
+    public List<Long> drainChangedProductIds() {
+        List<Long> productIds = new ArrayList<>();
+        Iterator<Long> iterator = changedProductIds.iterator();
+        while (iterator.hasNext()) {
+            productIds.add(iterator.next());
+            iterator.remove();
+        }
+        return productIds;
+    }
+
+    /**
+     * 삭제된 상품의 슬롯을 제거합니다.
+     */
+    public void evict(Long productId) {
+        Slot slot = slots.remove(productId);
+        if (slot != null) {
+            slot.state.set(Slot.RETIRED);
+        }
+        observedDrifts.remove(productId);
+    }
+
+    /**
+     * 만료된 예약(결제 준비 후 완료/실패 통보가 오지 않은 주문)을 해제합니다.
+     */
+    @Scheduled(fixedDelayString = "${stock.reservation.sweep-interval-ms:60000}")
+    public void releaseExpiredReservations() {
+        long cutoff = System.currentTimeMillis() - reservationTtlMillis;
+        reservations.forEach((orderId, reservation) -> {
+            if (reservation.reservedAt() < cutoff) {
+                release(orderId);
+                log.info("만료된 재고 예약 해제 - Order ID: {}", orderId);
+            }
+        });
+    }
+
+    /**
+     * 로드된 슬롯을 DB 재고와 대조하여 보정하고, 유휴 슬롯을 정리합니다.
+     * <ul>
+     *     <li>직전 동기화 이후 사용되지 않았고 활성 예약도 없는 슬롯은 제거합니다 (다음 사용 시 DB에서 다시 로드).
+     *     슬롯 버전이 직전 동기화 때와 같을 때만 CAS로 폐기하므로, 판단 직후 들어온 예약이 폐기된 슬롯에 반영되어 사라지지 않습니다.</li>
+     *     <li>DB에서 사라진 상품의 슬롯은 제거합니다.</li>
+     *     <li>슬롯 값이 (DB 재고 - 활성 예약 수량)과 다르면 보정합니다. 예약 등록과 확정 커밋 사이처럼
+     *     잠깐 생기는 오차를 잘못 보정하지 않도록, 두 번 연속 같은 오차가 관측된 경우에만 보정합니다.</li>
+     * </ul>
+     */
+    @Scheduled(fixedDelayString = "${stock.reservation.resync-interval-ms:300000}")
+    public void resyncSlots() {
+        Map<Long, Integer> reservedQuantities = new HashMap<>();
+        for (Reservation reservation : reservations.values()) {
+            reservation.quantities().forEach((productId, quantity) -> reservedQuantities.merge(productId, quantity, Integer::sum));
+        }
+
+        List<Long> productIds = new ArrayList<>();
+        for (Map.Entry<Long, Slot> entry : slots.entrySet()) {
+            Long productId = entry.getKey();
+            Slot slot = entry.getValue();
+            long version = slot.version();
+            boolean idle = version == slot.syncedVersion && !reservedQuantities.containsKey(productId);
+            if (idle && slot.retireIfVersion(version)) {
+                slots.remove(productId, slot);
+                observedDrifts.remove(productId);
+            } else {
+                slot.syncedVersion = version;
+                productIds.add(productId);
+            }
+        }
+
+        for (int from = 0; from < productIds.size(); from += RESYNC_BATCH_SIZE) {
+            List<Long> batch = productIds.subList(from, Math.min(from + RESYNC_BATCH_SIZE, productIds.size()));
+            Map<Long, Integer> dbStocks = new HashMap<>();
+            for (Object[] row : productRepository.findStocksByProductIdIn(batch)) {
+                dbStocks.put((Long) row[0], (Integer) row[1]);
+            }
+            for (Long productId : batch) {
+                Integer dbStock = dbStocks.get(productId);
+                if (dbStock == null) {
+                    evict(productId);
+                } else {
+                    reconcile(productId, dbStock - reservedQuantities.getOrDefault(productId, 0));
+                }
+            }
+        }
+    }
+
+    public int getLoadedSlots() {
+        return slots.size();
+    }
+
+    public long getCasRetries() {
+        return casRetries.get();
+    }
+
+    public long getRejectedReservations() {
+        return rejectedReservations.get();
+    }
+
+    public int getActiveReservations() {
+        return reservations.size();
+    }
+
+    private boolean tryDecrement(Long productId, int quantity) {
+        Slot slot = slot(productId);
+        while (true) {
+            long state = slot.state.get();
+            if (state == Slot.RETIRED) {
+                // 정리된 슬롯이면 DB에서 다시 로드한 슬롯에서 예약합니다.
+                slots.remove(productId, slot);
+                slot = slot(productId);
+                continue;
+            }
+            int current = Slot.available(state);
+            if (current < quantity) {
+                return false;
+            }
+            if (slot.state.compareAndSet(state, Slot.next(state, current - quantity))) {
+                changedProductIds.add(productId);
+                return true;
+            }
+            casRetries.incrementAndGet();
+        }
+    }
+
+    private void reconcile(Long productId, int expected) {
+        Slot slot = slots.get(productId);
+        if (slot == null) {
+            return;
+        }
+        long state = slot.state.get();
+        if (state == Slot.RETIRED) {
+            return;
+        }
+        int drift = expected - Slot.available(state);
+        if (drift == 0) {
+            observedDrifts.remove(productId);
+            return;
+        }
+        Integer previous = observedDrifts.put(productId, drift);
+        if (previous != null && previous == drift && slot.add(drift)) {
+            observedDrifts.remove(productId);
+            changedProductIds.add(productId);
+            log.warn("재고 슬롯 보정 - Product ID: {}, Drift: {}", productId, drift);
+        }
+    }
+
+    private Slot slot(Long productId) {
+        return slots.computeIfAbsent(productId, id -> {
+            Integer stock = productRepository.findStockByProductId(id)
+                    .orElseThrow(() -> new IllegalArgumentException("상품을 찾을 수 없습니다. Product ID: " + id));
+            return new Slot(stock);
+        });
+    }
+
+    // 트랜잭션 안에서는 완료(커밋/롤백) 이후에, 트랜잭션 밖에서는 즉시 커밋된 것으로 보고 실행합니다.
+    private static void afterCompletion(Consumer<Boolean> callback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            callback.accept(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                callback.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    private static Map<Long, Integer> toQuantities(List<OrderItem> items) {
+        if (items == null || items.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        // 상품 ID 순서로 정렬하여 여러 주문이 같은 상품들을 예약할 때의 순서를 일정하게 유지합니다.
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (OrderItem item : items) {
+            quantities.merge(item.getProduct().getProductId(), item.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+
+    private static String findName(List<OrderItem> items, Long productId) {
+        return items.stream()
+                .filter(item -> item.getProduct().getProductId().equals(productId))
+                .map(OrderItem::getName)
+                .findFirst()
+                .orElse(String.valueOf(productId));
+    }
+
+    /**
+     * 상품 하나의 가용 재고 슬롯입니다.
+     * 상위 32비트는 변경될 때마다 증가하는 버전, 하위 32비트는 가용 재고로 하나의 long에 담아 함께 CAS합니다.
+     * 정리된 슬롯은 RETIRED로 바뀌며, 이후의 변경은 실패하고 호출한 쪽이 새 슬롯을 로드합니다.
+     */
+    private static final class Slot {
+        static final long RETIRED = Long.MIN_VALUE;
+
+        final AtomicLong state;
+
+        /** 직전 동기화에서 관측한 버전 (resyncSlots에서만 사용) */
+        long syncedVersion = -1;
+
+        Slot(int available) {
+            this.state = new AtomicLong(available & 0xFFFFFFFFL);
+        }
+
+        static int available(long state) {
+            return (int) state;
+        }
+
+        static long next(long state, int available) {
+            // 버전은 31비트 안에서 순환시켜 RETIRED(부호 비트)와 겹치지 않게 합니다.
+            long version = ((state >>> 32) + 1) & 0x7FFFFFFFL;
+            return (version << 32) | (available & 0xFFFFFFFFL);
+        }
+
+        long version() {
+            return state.get() >>> 32;
+        }
+
+        boolean add(int delta) {
+            while (true) {
+                long current = state.get();
+                if (current == RETIRED) {
+                    return false;
+                }
+                if (state.compareAndSet(current, next(current, available(current) + delta))) {
+                    return true;
+                }
+            }
+        }
+
+        boolean retireIfVersion(long version) {
+            long current = state.get();
+            return current != RETIRED && (current >>> 32) == version && state.compareAndSet(current, RETIRED);
+        }
+    }
+
+    private record Reservation(Map<Long, Integer> quantities, long reservedAt) {
+        Reservation(Map<Long, Integer> quantities) {
+            this(quantities, System.currentTimeMillis());
+        }
+    }
+}
@@ -4,7 +4,9 @@ import com.sparta.payment_system.entity.Product;
 import com.sparta.payment_system.entity.StockAlert;
 import com.sparta.payment_system.repository.ProductRepository;
 import com.sparta.payment_system.repository.StockAlertRepository;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,120 +14,100 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+@Slf4j
 @Service
 @Transactional
 public class StockService {
     
     private final ProductRepository productRepository;
     private final StockAlertRepository stockAlertRepository;
+    private final StockReservationManager stockReservationManager;
+    private final ProductCache productCache;
+    private final ProductSearchIndex productSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Autowired
-    public StockService(ProductRepository productRepository, StockAlertRepository stockAlertRepository) {
+    public StockService(ProductRepository productRepository, StockAlertRepository stockAlertRepository,
+                        StockReservationManager stockReservationManager, ProductCache productCache,
+                        ProductSearchIndex productSearchIndex, ApplicationEventPublisher eventPublisher) {
         this.productRepository = productRepository;
         this.stockAlertRepository = stockAlertRepository;
+        this.stockReservationManager = stockReservationManager;
+        this.productCache = productCache;
+        this.productSearchIndex = productSearchIndex;
+        this.eventPublisher = eventPublisher;
     }
     
     /**
      * 상품 재고 차감 및 알림 처리
+     * 상품 행을 잠금 조회한 뒤 조건부 UPDATE로 차감하여, 동시 차감 시에도 초과 판매가 없고
+     * 잠금으로 읽은 차감 전 재고로 품절/재고 부족 경계를 정확히 한 번만 판단합니다.
      * @param productId 상품 ID
      * @param quantity 차감할 수량
      * @return 성공 여부
      */
     public boolean decreaseStock(Long productId, int quantity) {
-        try {
-            System.out.println("재고 차감 요청 - Product ID: " + productId + ", Quantity: " + quantity);
-            
-            // 1. 상품 조회
-            Optional<Product> productOptional = productRepository.findById(productId);
-            if (productOptional.isEmpty()) {
-                System.err.println("상품을 찾을 수 없습니다. Product ID: " + productId);
-                throw new RuntimeException("상품을 찾을 수 없습니다. Product ID: " + productId);
-            }
-            
-            Product product = productOptional.get();
-            
-            // 2. 상품 상태 확인
-            if (product.getStatus() != Product.ProductStatus.ACTIVE) {
-                System.err.println("판매 중이 아닌 상품입니다. Product ID: " + productId + ", Status: " + product.getStatus());
-                throw new RuntimeException("판매 중이 아닌 상품입니다. Status: " + product.getStatus().getDescription());
-            }
-            
-            // 3. 재고 확인 및 차감
-            if (product.getStock() < quantity) {
-                System.err.println("재고가 부족합니다. Product ID: " + productId + 
-                                 ", Current Stock: " + product.getStock() + ", Requested: " + quantity);
-                throw new RuntimeException("재고가 부족합니다. 현재 재고: " + product.getStock() + "개, 요청 수량: " + quantity + "개");
-            }
-            
-            // 4. 재고 차감
-            int oldStock = product.getStock();
-            System.out.println("재고 차감 전 - Product ID: " + productId + 
-                             ", Current Stock: " + oldStock + ", Requested Quantity: " + quantity);
-            
-            boolean decreaseResult = product.decreaseStock(quantity);
-            if (!decreaseResult) {
-                System.err.println("재고 차감 실패 - Product ID: " + productId + 
-                                 ", Current Stock: " + oldStock + ", Requested Quantity: " + quantity);
-                throw new RuntimeException("재고 차감에 실패했습니다.");
-            }
-            
-            Product savedProduct = productRepository.save(product);
-            System.out.println("재고 차감 완료 - Product ID: " + productId + 
-                             ", Old Stock: " + oldStock + ", New Stock: " + savedProduct.getStock() + 
-                             ", Saved Product ID: " + savedProduct.getProductId());
-            
-            // 5. 재고 상태에 따른 알림 처리
-            checkAndCreateStockAlert(product);
-            
-            return true;
-            
-        } catch (Exception e) {
-            System.err.println("재고 차감 중 오류 발생: " + e.getMessage());
-            e.printStackTrace();
-            throw e;
+        log.debug("재고 차감 요청 - Product ID: {}, Quantity: {}", productId, quantity);
+        
+        // 1. 상품 잠금 조회
+        Optional<Product> productOptional = productRepository.findByIdForUpdate(productId);
+        if (productOptional.isEmpty()) {
+            log.warn("상품을 찾을 수 없습니다. Product ID: {}", productId);
+            throw new RuntimeException("상품을 찾을 수 없습니다. Product ID: " + productId);
+        }
+        
+        Product product = productOptional.get();
+        
+        // 2. 상품 상태 확인
+        if (product.getStatus() != Product.ProductStatus.ACTIVE) {
+            log.warn("판매 중이 아닌 상품입니다. Product ID: {}, Status: {}", productId, product.getStatus());
+            throw new RuntimeException("판매 중이 아닌 상품입니다. Status: " + product.getStatus().getDescription());
         }
+        
+        // 3. 재고 확인 및 차감 (잠금 상태의 재고 기준, 조건부 UPDATE)
+        int previousStock = product.getStock();
+        if (previousStock < quantity
+                || productRepository.decreaseStockIfAvailable(productId, quantity) == 0) {
+            log.warn("재고가 부족합니다. Product ID: {}, Current Stock: {}, Requested: {}", productId, previousStock, quantity);
+            throw new RuntimeException("재고가 부족합니다. 현재 재고: " + previousStock + "개, 요청 수량: " + quantity + "개");
+        }
+        stockReservationManager.adjustOnCommit(productId, -quantity);
+        
+        int newStock = previousStock - quantity;
+        log.debug("재고 차감 완료 - Product ID: {}, Requested Quantity: {}, New Stock: {}", productId, quantity, newStock);
+        
+        // 4. 재고 상태에 따른 알림 처리
+        checkAndCreateStockAlert(product, previousStock, newStock);
+        
+        return true;
     }
     
     /**
      * 상품 재고 증가 및 알림 처리
+     * 차감과 같이 상품 행을 잠금 조회한 뒤 증가시켜 증가 전 재고로 품절 해제 여부를 판단합니다.
      * @param productId 상품 ID
      * @param quantity 증가할 수량
      * @return 성공 여부
      */
     public boolean increaseStock(Long productId, int quantity) {
-        try {
-            System.out.println("재고 증가 요청 - Product ID: " + productId + ", Quantity: " + quantity);
-            
-            // 1. 상품 조회
-            Optional<Product> productOptional = productRepository.findById(productId);
-            if (productOptional.isEmpty()) {
-                System.err.println("상품을 찾을 수 없습니다. Product ID: " + productId);
-                throw new RuntimeException("상품을 찾을 수 없습니다. Product ID: " + productId);
-            }
-            
-            Product product = productOptional.get();
-            int oldStock = product.getStock();
-            
-            // 2. 재고 증가
-            product.increaseStock(quantity);
-            productRepository.save(product);
-            
-            System.out.println("재고 증가 완료 - Product ID: " + productId + 
-                             ", Old Stock: " + oldStock + ", New Stock: " + product.getStock());
-            
-            // 3. 재고 복구 알림 처리 (품절에서 재고가 생긴 경우)
-            if (oldStock == 0 && product.getStock() > 0) {
-                createStockAlert(product, StockAlert.AlertType.STOCK_RESTORED, 
-                               "상품 재고가 복구되었습니다. 현재 재고: " + product.getStock() + "개");
-            }
-            
-            return true;
-            
-        } catch (Exception e) {
-            System.err.println("재고 증가 중 오류 발생: " + e.getMessage());
-            e.printStackTrace();
-            throw e;
+        log.debug("재고 증가 요청 - Product ID: {}, Quantity: {}", productId, quantity);
+        
+        // 1. 상품 잠금 조회 후 재고 증가 (UPDATE)
+        Product product = productRepository.findByIdForUpdate(productId)
+                .orElseThrow(() -> new RuntimeException("상품을 찾을 수 없습니다. Product ID: " + productId));
+        int oldStock = product.getStock();
+        productRepository.increaseStock(productId, quantity);
+        stockReservationManager.adjustOnCommit(productId, quantity);
+        int newStock = oldStock + quantity;
+        
+        log.debug("재고 증가 완료 - Product ID: {}, Old Stock: {}, New Stock: {}", productId, oldStock, newStock);
+        
+        // 2. 재고 복구 알림 처리 (품절에서 재고가 생긴 경우)
+        if (oldStock == 0 && newStock > 0) {
+            publishStockAlert(product, newStock, StockAlert.AlertType.STOCK_RESTORED);
         }
+        
+        return true;
     }
     
     /**
@@ -135,111 +117,67 @@ public class StockService {
      * @return 성공 여부
      */
     public boolean updateProductStatus(Long productId, Product.ProductStatus newStatus) {
-        try {
-            System.out.println("상품 상태 변경 요청 - Product ID: " + productId + ", New Status: " + newStatus);
-            
-            Optional<Product> productOptional = productRepository.findById(productId);
-            if (productOptional.isEmpty()) {
-                System.err.println("상품을 찾을 수 없습니다. Product ID: " + productId);
-                throw new RuntimeException("상품을 찾을 수 없습니다. Product ID: " + productId);
-            }
-            
-            Product product = productOptional.get();
-            Product.ProductStatus oldStatus = product.getStatus();
-            product.setStatus(newStatus);
-            productRepository.save(product);
-            
-            System.out.println("상품 상태 변경 완료 - Product ID: " + productId + 
-                             ", Old Status: " + oldStatus + ", New Status: " + newStatus);
-            
-            return true;
-            
-        } catch (Exception e) {
-            System.err.println("상품 상태 변경 중 오류 발생: " + e.getMessage());
-            e.printStackTrace();
-            throw e;
+        log.debug("상품 상태 변경 요청 - Product ID: {}, New Status: {}", productId, newStatus);
+        
+        Optional<Product> productOptional = productRepository.findById(productId);
+        if (productOptional.isEmpty()) {
+            log.warn("상품을 찾을 수 없습니다. Product ID: {}", productId);
+            throw new RuntimeException("상품을 찾을 수 없습니다. Product ID: " + productId);
         }
+        
+        Product product = productOptional.get();
+        Product.ProductStatus oldStatus = product.getStatus();
+        product.setStatus(newStatus);
+        productRepository.save(product);
+        productCache.evict(productId);
+        productSearchIndex.index(product);
+        
+        log.debug("상품 상태 변경 완료 - Product ID: {}, Old Status: {}, New Status: {}", productId, oldStatus, newStatus);
+        
+        return true;
     }
     
     /**
-     * 재고 부족 알림 생성 및 중복 방지
+     * 재고 알림 기준을 넘었는지 확인하고 알림 이벤트를 발행합니다.
+     * 알림 중복 제거와 저장은 StockAlertAggregator가 커밋 이후 비동기로 일괄 처리합니다.
      * @param product 상품 정보
+     * @param previousStock 차감 전 재고
+     * @param currentStock 차감 후 현재 재고
      */
-    private void checkAndCreateStockAlert(Product product) {
-        try {
-            // 1. 재고 상태 확인
-            if (product.getStock() == 0) {
-                // 품절 알림
-                createStockAlertIfNotExists(product, StockAlert.AlertType.OUT_OF_STOCK, 
-                                          "상품이 품절되었습니다. Product ID: " + product.getProductId());
-                
-                // 상품 상태를 품절로 변경
-                if (product.getStatus() == Product.ProductStatus.ACTIVE) {
-                    product.setStatus(Product.ProductStatus.OUT_OF_STOCK);
-                    productRepository.save(product);
-                }
-                
-            } else if (product.isLowStock()) {
-                // 재고 부족 알림
-                createStockAlertIfNotExists(product, StockAlert.AlertType.LOW_STOCK, 
-                                          "재고가 부족합니다. 현재 재고: " + product.getStock() + "개, 최소 재고: " + product.getMinStockAlert() + "개");
+    private void checkAndCreateStockAlert(Product product, int previousStock, int currentStock) {
+        if (currentStock == 0) {
+            // 품절 알림
+            if (previousStock > 0) {
+                publishStockAlert(product, currentStock, StockAlert.AlertType.OUT_OF_STOCK);
             }
             
-        } catch (Exception e) {
-            System.err.println("재고 알림 생성 중 오류 발생: " + e.getMessage());
-            e.printStackTrace();
-        }
-    }
-    
-    /**
-     * 중복 알림 방지를 위한 알림 생성
-     * @param product 상품 정보
-     * @param alertType 알림 타입
-     * @param message 알림 메시지
-     */
-    private void createStockAlertIfNotExists(Product product, StockAlert.AlertType alertType, String message) {
-        try {
-            // 최근 1시간 내 동일한 알림이 있는지 확인
-            List<StockAlert> recentAlerts = stockAlertRepository.findRecentPendingAlertsByProductAndType(
-                product.getProductId(), alertType);
-            
-            if (recentAlerts.isEmpty()) {
-                createStockAlert(product, alertType, message);
-            } else {
-                System.out.println("중복 알림 방지 - Product ID: " + product.getProductId() + 
-                                 ", Alert Type: " + alertType + ", Recent alerts: " + recentAlerts.size());
+            // 상품 상태를 품절로 변경
+            if (product.getStatus() == Product.ProductStatus.ACTIVE) {
+                product.setStatus(Product.ProductStatus.OUT_OF_STOCK);
+                productRepository.save(product);
+                productCache.evict(product.getProductId());
+                productSearchIndex.index(product);
             }
             
-        } catch (Exception e) {
-            System.err.println("중복 알림 확인 중 오류 발생: " + e.getMessage());
-            e.printStackTrace();
+        } else if (currentStock <= product.getMinStockAlert() && previousStock > product.getMinStockAlert()) {
+            // 재고 부족 알림
+            publishStockAlert(product, currentStock, StockAlert.AlertType.LOW_STOCK);
         }
     }
     
     /**
-     * 재고 알림 생성
+     * 재고 알림 이벤트 발행
      * @param product 상품 정보
+     * @param currentStock 현재 재고
      * @param alertType 알림 타입
-     * @param message 알림 메시지
      */
-    private void createStockAlert(Product product, StockAlert.AlertType alertType, String message) {
-        try {
-            StockAlert alert = new StockAlert(
-                product.getProductId(),
-                product.getStock(),
-                product.getMinStockAlert(),
-                alertType,
-                message
-            );
-            
-            stockAlertRepository.save(alert);
-            System.out.println("재고 알림 생성 완료 - Product ID: " + product.getProductId() + 
-                             ", Alert Type: " + alertType + ", Message: " + message);
-            
-        } catch (Exception e) {
-            System.err.println("재고 알림 생성 중 오류 발생: " + e.getMessage());
-            e.printStackTrace();
-        }
+    private void publishStockAlert(Product product, int currentStock, StockAlert.AlertType alertType) {
+        eventPublisher.publishEvent(new StockThresholdEvent(
+            product.getProductId(),
+            currentStock,
+            product.getMinStockAlert(),
+            alertType
+        ));
     }
     
     /**
@@ -248,13 +186,7 @@ public class StockService {
      */
     @Transactional(readOnly = true)
     public List<StockAlert> getPendingStockAlerts() {
-        try {
-            return stockAlertRepository.findByStatusOrderByCreatedAtAsc(StockAlert.AlertStatus.PENDING);
-        } catch (Exception e) {
-            System.err.println("대기중인 재고 알림 조회 중 오류 발생: " + e.getMessage());
-            e.printStackTrace();
-            throw e;
-        }
+        return stockAlertRepository.findByStatusOrderByCreatedAtAsc(StockAlert.AlertStatus.PENDING);
     }
     
     /**
@@ -264,13 +196,7 @@ public class StockService {
      */
     @Transactional(readOnly = true)
     public List<StockAlert> getStockAlertsByProduct(Long productId) {
-        try {
-            return stockAlertRepository.findByProductIdOrderByCreatedAtDesc(productId);
-        } catch (Exception e) {
-            System.err.println("상품별 재고 알림 조회 중 오류 발생: " + e.getMessage());
-            e.printStackTrace();
-            throw e;
-        }
+        return stockAlertRepository.findByProductIdOrderByCreatedAtDesc(productId);
     }
     
     /**
@@ -279,24 +205,17 @@ public class StockService {
      * @return 성공 여부
      */
     public boolean resolveStockAlert(Long alertId) {
-        try {
-            Optional<StockAlert> alertOptional = stockAlertRepository.findById(alertId);
-            if (alertOptional.isEmpty()) {
-                System.err.println("알림을 찾을 수 없습니다. Alert ID: " + alertId);
-                throw new RuntimeException("알림을 찾을 수 없습니다. Alert ID: " + alertId);
-            }
-            
-            StockAlert alert = alertOptional.get();
-            alert.resolve();
-            stockAlertRepository.save(alert);
-            
-            System.out.println("알림 해결 처리 완료 - Alert ID: " + alertId);
-            return true;
-            
-        } catch (Exception e) {
-            System.err.println("알림 해결 처리 중 오류 발생: " + e.getMessage());
-            e.printStackTrace();
-            throw e;
+        Optional<StockAlert> alertOptional = stockAlertRepository.findById(alertId);
+        if (alertOptional.isEmpty()) {
+            log.warn("알림을 찾을 수 없습니다. Alert ID: {}", alertId);
+            throw new RuntimeException("알림을 찾을 수 없습니다. Alert ID: " + alertId);
         }
+        
+        StockAlert alert = alertOptional.get();
+        alert.resolve();
+        stockAlertRepository.save(alert);
+        
+        log.debug("알림 해결 처리 완료 - Alert ID: {}", alertId);
+        return true;
     }
 }
@@ -0,0 +1,15 @@
+package com.sparta.payment_system.service;
+
+import com.sparta.payment_system.entity.StockAlert;
+
+/**
+ * 재고가 알림 기준(품절, 최소 재고, 품절 후 복구)을 넘었을 때 발행되는 이벤트입니다.
+ *
+ * @param productId         상품 ID
+ * @param currentStock      변경 후 재고
+ * @param minStockThreshold 상품의 최소 재고 알림 기준
+ * @param alertType         알림 타입
+ */
+public record StockThresholdEvent(Long productId, int currentStock, int minStockThreshold,
+                                  StockAlert.AlertType alertType) {
+}
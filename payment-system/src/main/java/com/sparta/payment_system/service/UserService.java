@@ -4,7 +4,6 @@ import com.sparta.payment_system.dto.MyInfoResponseDto;
 import com.sparta.payment_system.dto.PointBalanceResponseDto;
 import com.sparta.payment_system.entity.PointTransaction;
 import com.sparta.payment_system.entity.User;
-import com.sparta.payment_system.repository.PointTransactionRepository;
 import com.sparta.payment_system.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -15,13 +14,15 @@ import java.math.BigDecimal;
 @Service
 public class UserService {
 
+    private static final BigDecimal CHARGE_AMOUNT = BigDecimal.valueOf(100000);
+
     private final UserRepository userRepository;
-    private final PointTransactionRepository pointTransactionRepository;
+    private final PointBalanceService pointBalanceService;
 
     @Autowired
-    public UserService(UserRepository userRepository, PointTransactionRepository pointTransactionRepository) {
+    public UserService(UserRepository userRepository, PointBalanceService pointBalanceService) {
         this.userRepository = userRepository;
-        this.pointTransactionRepository = pointTransactionRepository;
+        this.pointBalanceService = pointBalanceService;
     }
 
     /**
@@ -55,25 +56,20 @@ public class UserService {
         );
     }
 
+    /**
+     * 포인트 충전
+     * 잔액은 원자적 증감으로 갱신하므로 기존 원장 건수와 무관하게 일정한 시간에 처리됩니다.
+     *
+     * @param userId 사용자 ID
+     * @return 충전 후 잔액
+     */
+    @Transactional
     public PointBalanceResponseDto charge(Long userId) {
         User user = userRepository.findById(userId).orElseThrow(
                 () -> new RuntimeException("사용자를 찾을 수 없습니다. userId: " + userId));
-        PointTransaction point = new PointTransaction(user, 100000, PointTransaction.PointType.EARNED);
-        int changed = (point.getType().equals(PointTransaction.PointType.EARNED)) ?
-                point.getAmount() : -(point.getAmount());
-
-        point.setPointsChanged(BigDecimal.valueOf(changed));
-
-        PointTransaction chargedPoint = pointTransactionRepository.save(point);
 
-        user.getPointTransactions().add(chargedPoint);
-        BigDecimal sumTotalPoints = BigDecimal.ZERO;
-        for(PointTransaction p : user.getPointTransactions()) {
-            sumTotalPoints = sumTotalPoints.add(p.getPointsChanged());
-        }
-        user.setTotalPoints(sumTotalPoints);
-        userRepository.save(user);
+        BigDecimal balance = pointBalanceService.changePoints(user, CHARGE_AMOUNT, PointTransaction.PointType.EARNED);
 
-        return new PointBalanceResponseDto(user.getUserId(), user.getEmail(), user.getTotalPoints());
+        return new PointBalanceResponseDto(user.getUserId(), user.getEmail(), balance);
     }
 }
@@ -0,0 +1,214 @@
+package com.sparta.payment_system.service;
+
+import com.sparta.payment_system.config.LogContext;
+import com.sparta.payment_system.entity.WebhookInbox;
+import com.sparta.payment_system.repository.WebhookInboxRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * PG 웹훅 Inbox 서비스입니다.
+ * 웹훅은 Inbox 테이블에 기록만 하고 즉시 응답하며, 스케줄러가 Inbox를 읽어 결제 키 해시로 나눈 파티션 워커에 전달합니다.
+ * 같은 결제 키의 이벤트는 항상 같은 단일 스레드 워커에서 순서대로 처리되고, 서로 다른 결제는 병렬로 처리됩니다.
+ * 재시도 대기 중인 웹훅이 있는 결제 키는 그 웹훅이 처리되거나 FAILED가 될 때까지 뒤의 웹훅을 가져오지 않습니다.
+ * 가상 스레드 모드에서는 각 파티션 워커를 가상 스레드로 만들어 PortOne 호출 대기 동안 OS 스레드를 점유하지 않습니다.
+ */
+@Slf4j
+@Service
+public class WebhookInboxService {
+
+    private final WebhookInboxRepository webhookInboxRepository;
+    private final PaymentService paymentService;
+    private final RefundService refundService;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long claimTimeoutSeconds;
+
+    private final ExecutorService[] partitions;
+
+    private final AtomicLong receivedCount = new AtomicLong();
+    private final AtomicLong dedupHits = new AtomicLong();
+    private final AtomicLong processedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public WebhookInboxService(WebhookInboxRepository webhookInboxRepository,
+                               PaymentService paymentService,
+                               RefundService refundService,
+                               @Value("${webhook.inbox.partitions:8}") int partitionCount,
+                               @Value("${webhook.inbox.batch-size:100}") int batchSize,
+                               @Value("${webhook.inbox.max-attempts:5}") int maxAttempts,
+                               @Value("${webhook.inbox.claim-timeout-seconds:300}") long claimTimeoutSeconds,
+                               Environment environment) {
+        this.webhookInboxRepository = webhookInboxRepository;
+        this.paymentService = paymentService;
+        this.refundService = refundService;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.claimTimeoutSeconds = claimTimeoutSeconds;
+
+        // 속성만 켜고 Java 17에서 실행하면 가상 스레드를 만들 수 없으므로 Spring Boot와 같은 기준(Java 21 이상)으로 판단합니다.
+        boolean virtualThreads = Threading.VIRTUAL.isActive(environment);
+        this.partitions = new ExecutorService[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitions[i] = Executors.newSingleThreadExecutor(workerThreadFactory("webhook-worker-" + i, virtualThreads));
+        }
+    }
+
+    private static ThreadFactory workerThreadFactory(String name, boolean virtualThreads) {
+        if (virtualThreads) {
+            return new VirtualThreadTaskExecutor(name + "-").getVirtualThreadFactory();
+        }
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * 웹훅을 Inbox에 기록합니다.
+     *
+     * @param paymentKey 결제 키
+     * @param status     웹훅 결제 상태
+     * @param eventId    웹훅 이벤트 ID (없으면 null)
+     * @return 새로 기록되었으면 true, 이미 수신한 중복 웹훅이면 false
+     */
+    public boolean enqueue(String paymentKey, String status, String eventId) {
+        receivedCount.incrementAndGet();
+        try {
+            webhookInboxRepository.saveAndFlush(new WebhookInbox(paymentKey, status.toUpperCase(),
+                    eventId != null ? eventId : ""));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            dedupHits.incrementAndGet();
+            log.info("중복 웹훅 무시 - paymentKey: {}, status: {}, eventId: {}", paymentKey, status, eventId);
+            return false;
+        }
+    }
+
+    /**
+     * 처리 대기 중인 웹훅을 선점하여 파티션 워커에 전달합니다.
+     */
+    @Scheduled(fixedDelayString = "${webhook.inbox.poll-interval-ms:200}")
+    public void drain() {
+        lagMillis.set(webhookInboxRepository.findOldestReceivedAt(WebhookInbox.State.RECEIVED)
+                .map(oldest -> Duration.between(oldest, LocalDateTime.now()).toMillis())
+                .orElse(0L));
+
+        List<WebhookInbox> pending = webhookInboxRepository.findProcessable(PageRequest.of(0, batchSize));
+
+        for (WebhookInbox inbox : pending) {
+            if (webhookInboxRepository.claim(inbox.getInboxId(), LocalDateTime.now()) == 0) {
+                continue;
+            }
+            int partition = Math.floorMod(inbox.getPaymentKey().hashCode(), partitions.length);
+            inFlight.incrementAndGet();
+            try {
+                partitions[partition].execute(() -> process(inbox));
+            } catch (RejectedExecutionException e) {
+                // 종료 중: 선점만 된 상태로 남은 웹훅은 재기동 후 releaseStaleClaims로 복구됩니다.
+                inFlight.decrementAndGet();
+                return;
+            }
+        }
+    }
+
+    /**
+     * 처리 도중 중단되어 PROCESSING 상태로 남은 웹훅을 다시 대기 상태로 돌립니다.
+     */
+    @Scheduled(fixedDelayString = "${webhook.inbox.recovery-interval-ms:60000}")
+    public void releaseStaleClaims() {
+        int released = webhookInboxRepository.releaseStaleClaims(LocalDateTime.now().minusSeconds(claimTimeoutSeconds));
+        if (released > 0) {
+            log.warn("처리 중단된 웹훅 재대기 - {}건", released);
+        }
+    }
+
+    private void process(WebhookInbox inbox) {
+        try (LogContext ignored = LogContext.put(LogContext.PAYMENT_KEY, inbox.getPaymentKey())) {
+            dispatch(inbox.getPaymentKey(), inbox.getStatus());
+            webhookInboxRepository.markProcessed(inbox.getInboxId(), LocalDateTime.now());
+            processedCount.incrementAndGet();
+        } catch (Exception e) {
+            log.error("Error processing webhook for paymentKey {}: {}", inbox.getPaymentKey(), e.getMessage());
+            String error = String.valueOf(e.getMessage());
+            // 상태/권한/입력 오류는 다시 시도해도 결과가 같으므로 재시도 없이 바로 FAILED로 보냅니다.
+            webhookInboxRepository.markFailed(inbox.getInboxId(),
+                    error.length() > 500 ? error.substring(0, 500) : error, isRetryable(e) ? maxAttempts : 1);
+            failedCount.incrementAndGet();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private static boolean isRetryable(Exception e) {
+        return !(e instanceof IllegalStateException
+                || e instanceof IllegalArgumentException
+                || e instanceof SecurityException);
+    }
+
+    private void dispatch(String paymentKey, String status) {
+        switch (status) {
+            case "PAID" -> paymentService.completePaymentVerification(paymentKey, null);
+            case "FAILED" -> paymentService.failPaymentByPaymentKey(paymentKey);
+            case "CANCELLED", "REFUNDED" -> refundService.processWebhookRefund(paymentKey, "PG Webhook Notification");
+            default -> log.warn("Unknown Webhook Status: {}", status);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (ExecutorService partition : partitions) {
+            partition.shutdown();
+        }
+        for (ExecutorService partition : partitions) {
+            partition.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    public long getReceivedCount() {
+        return receivedCount.get();
+    }
+
+    public long getDedupHits() {
+        return dedupHits.get();
+    }
+
+    public long getProcessedCount() {
+        return processedCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /** 가장 오래된 처리 대기 웹훅이 기다린 시간 (마지막 폴링 기준) */
+    public long getLagMillis() {
+        return lagMillis.get();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
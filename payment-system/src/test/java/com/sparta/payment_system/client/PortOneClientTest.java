@@ -0,0 +1,84 @@
+package com.sparta.payment_system.client;
+
+import com.sparta.payment_system.dto.payment.PaymentVerificationDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PortOneClientTest {
+
+    private static final int THREADS = 32;
+
+    private PortOneStubServer stubServer;
+    private PortOneClient portOneClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stubServer = new PortOneStubServer();
+        // 로그인 응답을 늦춰 모든 요청이 토큰 발급 중에 도착하게 합니다.
+        stubServer.setLoginDelayMillis(200);
+        portOneClient = stubServer.createClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stubServer.close();
+    }
+
+    @Test
+    void 동시에_결제를_조회해도_로그인은_한_번만_호출한다() throws Exception {
+        List<PaymentVerificationDto> results = getPaymentsConcurrently();
+
+        assertThat(stubServer.getLoginCount()).isEqualTo(1);
+        assertThat(results).hasSize(THREADS)
+                .allSatisfy(result -> assertThat(result.getAmount()).isEqualByComparingTo(BigDecimal.valueOf(10000)));
+    }
+
+    @Test
+    void 토큰이_거부되면_동시_요청이_몰려도_한_번만_재발급하고_재시도한다() throws Exception {
+        portOneClient.getPayment("warm-up");
+        stubServer.revokeTokens();
+
+        List<PaymentVerificationDto> results = getPaymentsConcurrently();
+
+        assertThat(stubServer.getLoginCount()).isEqualTo(2);
+        assertThat(results).hasSize(THREADS);
+    }
+
+    private List<PaymentVerificationDto> getPaymentsConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<PaymentVerificationDto>> futures = IntStream.range(0, THREADS)
+                    .mapToObj(i -> executor.submit((Callable<PaymentVerificationDto>) () -> {
+                        start.await();
+                        return portOneClient.getPayment("payment-" + i);
+                    }))
+                    .toList();
+            start.countDown();
+
+            return futures.stream().map(future -> {
+                try {
+                    return future.get(10, TimeUnit.SECONDS);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }).toList();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
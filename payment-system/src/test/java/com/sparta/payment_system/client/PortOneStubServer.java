@@ -0,0 +1,136 @@
+package com.sparta.payment_system.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 테스트용 PortOne API 스텁 서버입니다. (로그인, 결제 조회, 결제 취소)
+ * 로그인 호출 수와 동시 처리 중인 요청 수를 기록하고, 응답 지연을 설정할 수 있습니다.
+ */
+public class PortOneStubServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Set<String> validTokens = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger loginCount = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private volatile long loginDelayMillis;
+    private volatile long paymentDelayMillis;
+    private volatile String paymentAmount = "10000";
+
+    public PortOneStubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/login/api-secret", this::login);
+        server.createContext("/payments/", this::payments);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public String getUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public PortOneClient createClient() {
+        return createClient(50, 8000);
+    }
+
+    public PortOneClient createClient(int maxConnections, long callTimeoutMs) {
+        return new PortOneClient(WebClient.builder(), new SimpleMeterRegistry(),
+                getUrl(), "test-secret", 1800, 300, maxConnections, 2000, 3000, callTimeoutMs, callTimeoutMs);
+    }
+
+    public int getLoginCount() {
+        return loginCount.get();
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight.get();
+    }
+
+    public void setLoginDelayMillis(long loginDelayMillis) {
+        this.loginDelayMillis = loginDelayMillis;
+    }
+
+    public void setPaymentDelayMillis(long paymentDelayMillis) {
+        this.paymentDelayMillis = paymentDelayMillis;
+    }
+
+    public void setPaymentAmount(String paymentAmount) {
+        this.paymentAmount = paymentAmount;
+    }
+
+    /** 발급된 토큰을 모두 만료시켜 다음 결제 API 호출이 401을 받게 합니다. */
+    public void revokeTokens() {
+        validTokens.clear();
+    }
+
+    private void login(HttpExchange exchange) throws IOException {
+        sleep(loginDelayMillis);
+        String token = "token-" + loginCount.incrementAndGet();
+        validTokens.add(token);
+        respond(exchange, 200, "{\"accessToken\":\"" + token + "\"}");
+    }
+
+    private void payments(HttpExchange exchange) throws IOException {
+        int current = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(current, Math::max);
+        try {
+            String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+            if (authorization == null || !validTokens.contains(authorization.substring("Bearer ".length()))) {
+                respond(exchange, 401, "{\"type\":\"UNAUTHORIZED\"}");
+                return;
+            }
+
+            sleep(paymentDelayMillis);
+            String paymentId = exchange.getRequestURI().getPath().split("/")[2];
+            if (exchange.getRequestURI().getPath().endsWith("/cancel")) {
+                respond(exchange, 200, "{\"status\":\"CANCELLED\",\"paymentId\":\"" + paymentId + "\"}");
+            } else {
+                respond(exchange, 200, "{\"amount\":" + paymentAmount + ",\"status\":\"PAID\",\"merchant_uid\":\""
+                        + paymentId + "\"}");
+            }
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
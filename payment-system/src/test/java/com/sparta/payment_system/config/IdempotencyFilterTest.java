@@ -0,0 +1,88 @@
+package com.sparta.payment_system.config;
+
+import com.sparta.payment_system.service.IdempotencyService;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IdempotencyFilterTest {
+
+    private static final String BODY = "{\"reason\":\"단순 변심\"}";
+
+    private IdempotencyFilter filter;
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        IdempotencyService idempotencyService = mock(IdempotencyService.class);
+        when(idempotencyService.begin(anyString(), anyString()))
+                .thenReturn(new IdempotencyService.Result(IdempotencyService.Type.ACQUIRED, null));
+        filter = new IdempotencyFilter(idempotencyService, new String[]{"/api/payments/*/refund"});
+
+        request = new MockHttpServletRequest("POST", "/api/payments/1/refund");
+        request.addHeader(IdempotencyFilter.HEADER, "refund-1");
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void 지문_계산에_읽은_본문을_컨트롤러가_다시_읽을_수_있다() throws Exception {
+        AtomicReference<String> body = new AtomicReference<>();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) ->
+                body.set(StreamUtils.copyToString(req.getInputStream(), StandardCharsets.UTF_8)));
+
+        assertThat(body.get()).isEqualTo(BODY);
+    }
+
+    @Test
+    void 비동기_읽기_리스너로도_본문을_끝까지_읽는다() throws Exception {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        AtomicBoolean allDataRead = new AtomicBoolean();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            ServletInputStream inputStream = req.getInputStream();
+            inputStream.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    byte[] buffer = new byte[4];
+                    while (inputStream.isReady() && !inputStream.isFinished()) {
+                        int read = inputStream.read(buffer);
+                        body.write(buffer, 0, read);
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    allDataRead.set(true);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    error.set(t);
+                }
+            });
+        });
+
+        assertThat(body.toString(StandardCharsets.UTF_8)).isEqualTo(BODY);
+        assertThat(allDataRead).isTrue();
+        assertThat(error.get()).isNull();
+    }
+}
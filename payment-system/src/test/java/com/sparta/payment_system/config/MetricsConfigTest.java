@@ -0,0 +1,34 @@
+package com.sparta.payment_system.config;
+
+import com.sparta.payment_system.service.PointLedgerWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MetricsConfigTest {
+
+    @Test
+    void 포인트_원장_기록기의_큐_깊이_배치_크기_기록_시간을_메트릭으로_노출한다() {
+        PointLedgerWriter pointLedgerWriter = mock(PointLedgerWriter.class);
+        when(pointLedgerWriter.getQueueDepth()).thenReturn(7);
+        when(pointLedgerWriter.getFlushCount()).thenReturn(4L);
+        when(pointLedgerWriter.getFlushedRows()).thenReturn(120L);
+        when(pointLedgerWriter.getTotalFlushNanos()).thenReturn(TimeUnit.MILLISECONDS.toNanos(20));
+        when(pointLedgerWriter.getLastBatchSize()).thenReturn(30);
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new MetricsConfig().pointLedgerMetrics(pointLedgerWriter).bindTo(registry);
+
+        assertThat(registry.get("point.ledger.queue.depth").gauge().value()).isEqualTo(7);
+        assertThat(registry.get("point.ledger.flushes").functionCounter().count()).isEqualTo(4);
+        assertThat(registry.get("point.ledger.rows").functionCounter().count()).isEqualTo(120);
+        assertThat(registry.get("point.ledger.flush").functionTimer().count()).isEqualTo(4);
+        assertThat(registry.get("point.ledger.flush").functionTimer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(20);
+        assertThat(registry.get("point.ledger.batch.last_size").gauge().value()).isEqualTo(30);
+    }
+}
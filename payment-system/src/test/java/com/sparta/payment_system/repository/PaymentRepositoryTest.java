@@ -0,0 +1,106 @@
+package com.sparta.payment_system.repository;
+
+import com.sparta.payment_system.entity.Order;
+import com.sparta.payment_system.entity.OrderItem;
+import com.sparta.payment_system.entity.Payment;
+import com.sparta.payment_system.entity.Product;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 결제 -> 주문 -> 주문 상품 -> 상품 조회가 주문 상품 수와 무관하게 한 번의 쿼리로 끝나는지 Hibernate 통계로 확인합니다.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class PaymentRepositoryTest {
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    void 결제_ID로_주문_상품과_상품까지_한_번의_쿼리로_조회한다(int itemCount) {
+        Payment saved = savePayment("T-ID-" + itemCount, itemCount);
+
+        long statements = countStatements(
+                () -> paymentRepository.findWithOrderItemsById(saved.getPaymentId()).orElseThrow(), itemCount);
+
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    void 결제_키로_주문_상품과_상품까지_한_번의_쿼리로_조회한다(int itemCount) {
+        savePayment("T-KEY-" + itemCount, itemCount);
+
+        long statements = countStatements(
+                () -> paymentRepository.findWithOrderItemsByPaymentKey("T-KEY-" + itemCount).orElseThrow(), itemCount);
+
+        assertThat(statements).isEqualTo(1);
+    }
+
+    /**
+     * 영속성 컨텍스트를 비운 뒤 조회하고, 응답 변환과 같이 주문 상품과 상품을 모두 순회하는 동안 실행된 쿼리 수를 셉니다.
+     */
+    private long countStatements(Supplier<Payment> load, int itemCount) {
+        entityManager.clear();
+        statistics.clear();
+
+        Payment payment = load.get();
+        int visited = 0;
+        for (OrderItem item : payment.getOrder().getOrderItems()) {
+            assertThat(item.getProduct().getName()).isNotNull();
+            visited++;
+        }
+
+        assertThat(visited).isEqualTo(itemCount);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Payment savePayment(String paymentKey, int itemCount) {
+        Order order = new Order(1L);
+        for (int i = 0; i < itemCount; i++) {
+            Product product = entityManager.persist(new Product("상품" + i, BigDecimal.valueOf(1000), 10, ""));
+            order.setOrderItem(new OrderItem(product.getName(), 1, product.getPrice(), product));
+        }
+        order.setAmount(BigDecimal.valueOf(1000L * itemCount));
+        entityManager.persist(order);
+
+        Payment payment = new Payment();
+        payment.setOrder(order);
+        payment.setPaymentKey(paymentKey);
+        payment.setAmount(order.getTotalAmount());
+        payment.setStatus(Payment.PaymentStatus.PAID);
+        Payment saved = entityManager.persist(payment);
+        entityManager.flush();
+        return saved;
+    }
+}
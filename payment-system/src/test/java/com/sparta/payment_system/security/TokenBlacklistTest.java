@@ -0,0 +1,87 @@
+package com.sparta.payment_system.security;
+
+import com.sparta.payment_system.entity.BlacklistToken;
+import com.sparta.payment_system.repository.BlacklistRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TokenBlacklistTest {
+
+    private static final String REFRESH_TOKEN = "eyJhbGciOiJIUzI1NiJ9.refresh.signature";
+
+    private BlacklistRepository blacklistRepository;
+    private TokenBlacklist tokenBlacklist;
+
+    @BeforeEach
+    void setUp() {
+        blacklistRepository = mock(BlacklistRepository.class);
+        tokenBlacklist = new TokenBlacklist(blacklistRepository, 1000, 0.01, 100);
+    }
+
+    @Test
+    void 해시_변환에_실패해도_원문으로_남은_행의_토큰은_차단한다() {
+        when(blacklistRepository.hashLegacyTokens()).thenThrow(new RuntimeException("SHA2 미지원"));
+        when(blacklistRepository.findActive(any())).thenReturn(List.<Object[]>of(
+                new Object[]{REFRESH_TOKEN, LocalDateTime.now().plusDays(1)}));
+
+        tokenBlacklist.rebuild();
+
+        // DB 재확인 없이 메모리 Set만으로 차단되어야 합니다.
+        assertThat(tokenBlacklist.isBlacklisted(REFRESH_TOKEN)).isTrue();
+        assertThat(tokenBlacklist.isBlacklisted("other.refresh.token")).isFalse();
+    }
+
+    @Test
+    void 토큰은_해시로_저장하고_같은_토큰의_동시_등록은_한_번만_성공한다() throws Exception {
+        Set<String> stored = ConcurrentHashMap.newKeySet();
+        when(blacklistRepository.save(any(BlacklistToken.class))).thenAnswer(invocation -> {
+            BlacklistToken token = invocation.getArgument(0);
+            if (!stored.add(token.getTokenHash())) {
+                throw new DataIntegrityViolationException("uk_blacklisted_token");
+            }
+            return token;
+        });
+
+        int requests = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return tokenBlacklist.add(REFRESH_TOKEN, LocalDateTime.now().plusDays(1));
+            }));
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        int added = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get()) {
+                added++;
+            }
+        }
+        assertThat(added).isEqualTo(1);
+        assertThat(stored).containsExactly(TokenBlacklist.hash(REFRESH_TOKEN));
+        assertThat(tokenBlacklist.isBlacklisted(REFRESH_TOKEN)).isTrue();
+        assertThat(tokenBlacklist.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,104 @@
+package com.sparta.payment_system.service;
+
+import com.sparta.payment_system.entity.IdempotencyRecord;
+import com.sparta.payment_system.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IdempotencyServiceTest {
+
+    private static final String KEY = "7:payment-ready-1";
+    private static final String FINGERPRINT = "POST /api/payments/ready/1";
+
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyRecordRepository = mock(IdempotencyRecordRepository.class);
+        when(idempotencyRecordRepository.findByRecordKey(anyString())).thenReturn(Optional.empty());
+        when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        idempotencyService = new IdempotencyService(idempotencyRecordRepository, 100, 10_000, 10, 300, 86_400, 100);
+    }
+
+    @Test
+    void 같은_키의_동시_요청은_하나만_선점하고_나머지는_그_응답을_재사용한다() throws Exception {
+        int requests = 32;
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<IdempotencyService.Result>> results = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                IdempotencyService.Result result = idempotencyService.begin(KEY, FINGERPRINT);
+                if (result.type() == IdempotencyService.Type.ACQUIRED) {
+                    // 처리하는 동안 나머지 요청이 기다리도록 합니다.
+                    Thread.sleep(100);
+                    idempotencyService.complete(KEY, response());
+                }
+                return result;
+            }));
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        int acquired = 0;
+        int replayed = 0;
+        for (Future<IdempotencyService.Result> future : results) {
+            IdempotencyService.Result result = future.get();
+            if (result.type() == IdempotencyService.Type.ACQUIRED) {
+                acquired++;
+            } else if (result.type() == IdempotencyService.Type.REPLAY) {
+                replayed++;
+                assertThat(new String(result.response().body(), StandardCharsets.UTF_8)).isEqualTo("{\"paymentId\":1}");
+            }
+        }
+        assertThat(acquired).isEqualTo(1);
+        assertThat(replayed).isEqualTo(requests - 1);
+        verify(idempotencyRecordRepository, times(1)).saveAndFlush(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    void 같은_키로_다른_요청이_들어오면_거절한다() {
+        assertThat(idempotencyService.begin(KEY, FINGERPRINT).type()).isEqualTo(IdempotencyService.Type.ACQUIRED);
+        idempotencyService.complete(KEY, response());
+
+        assertThat(idempotencyService.begin(KEY, "POST /api/payments/ready/2").type())
+                .isEqualTo(IdempotencyService.Type.MISMATCH);
+    }
+
+    @Test
+    void 처리에_실패해_선점을_해제하면_같은_키로_다시_선점할_수_있다() {
+        assertThat(idempotencyService.begin(KEY, FINGERPRINT).type()).isEqualTo(IdempotencyService.Type.ACQUIRED);
+        idempotencyService.release(KEY);
+
+        assertThat(idempotencyService.begin(KEY, FINGERPRINT).type()).isEqualTo(IdempotencyService.Type.ACQUIRED);
+        verify(idempotencyRecordRepository).deleteInProgress(KEY);
+    }
+
+    private static IdempotencyService.StoredResponse response() {
+        return new IdempotencyService.StoredResponse(FINGERPRINT, 200, "application/json",
+                "{\"paymentId\":1}".getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,60 @@
+package com.sparta.payment_system.service;
+
+import com.sparta.payment_system.entity.MembershipRank;
+import com.sparta.payment_system.entity.Payment;
+import com.sparta.payment_system.repository.PaymentRepository;
+import com.sparta.payment_system.repository.UserRepository;
+import com.sparta.payment_system.security.PrincipalCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MembershipServiceTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void 누적_금액_재계산은_환불_진행_중인_결제도_포함한다() {
+        UserRepository userRepository = mock(UserRepository.class);
+        PaymentRepository paymentRepository = mock(PaymentRepository.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate() {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                return action.doInTransaction(null);
+            }
+        };
+        MembershipService membershipService = new MembershipService(userRepository, paymentRepository,
+                transactionTemplate, mock(PrincipalCache.class), 500, false);
+
+        when(userRepository.findUserIdsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(1L));
+        when(userRepository.findUserIdsAfter(eq(1L), any(Pageable.class))).thenReturn(List.of());
+        when(paymentRepository.sumAmountByUserIds(anyCollection(), anyCollection())).thenAnswer(invocation -> {
+            Collection<Payment.PaymentStatus> statuses = invocation.getArgument(1);
+            // PAID 100,000 + REFUND_PENDING 50,000
+            BigDecimal total = BigDecimal.ZERO;
+            if (statuses.contains(Payment.PaymentStatus.PAID)) {
+                total = total.add(BigDecimal.valueOf(100_000));
+            }
+            if (statuses.contains(Payment.PaymentStatus.REFUND_PENDING)) {
+                total = total.add(BigDecimal.valueOf(50_000));
+            }
+            return List.<Object[]>of(new Object[]{1L, total});
+        });
+
+        assertThat(membershipService.rebuildTotals()).isEqualTo(1);
+
+        verify(userRepository).updateMembership(1L, BigDecimal.valueOf(150_000), MembershipRank.VVIP);
+    }
+}
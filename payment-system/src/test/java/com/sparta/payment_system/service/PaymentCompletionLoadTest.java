@@ -0,0 +1,161 @@
+package com.sparta.payment_system.service;
+
+import com.sparta.payment_system.client.PortOneStubServer;
+import com.sparta.payment_system.dto.payment.PaymentResponseDto;
+import com.sparta.payment_system.entity.MembershipRank;
+import com.sparta.payment_system.entity.Order;
+import com.sparta.payment_system.entity.OrderItem;
+import com.sparta.payment_system.entity.Payment;
+import com.sparta.payment_system.entity.Product;
+import com.sparta.payment_system.entity.User;
+import com.sparta.payment_system.repository.OrderRepository;
+import com.sparta.payment_system.repository.PaymentRepository;
+import com.sparta.payment_system.repository.ProductRepository;
+import com.sparta.payment_system.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 지연되는 PG(스텁 서버) 앞에서 결제 완료 요청이 몰려도 DB 커넥션 사용량이 풀 크기 안에 머무는지 확인합니다.
+ * DB 커넥션 풀은 트랜잭션마다 허가를 하나씩 잡는 세마포어로 대신합니다.
+ */
+class PaymentCompletionLoadTest {
+
+    private static final int POOL_SIZE = 4;
+    private static final long CONNECTION_TIMEOUT_MS = 1000;
+    private static final long PG_DELAY_MS = 300;
+    private static final int REQUESTS = 64;
+    private static final long USER_ID = 7L;
+
+    private final Semaphore connectionPool = new Semaphore(POOL_SIZE);
+    private final AtomicInteger connectionsInUse = new AtomicInteger();
+    private final AtomicInteger maxConnectionsInUse = new AtomicInteger();
+    private final Map<String, Payment> payments = new ConcurrentHashMap<>();
+
+    private PortOneStubServer stubServer;
+    private PaymentService paymentService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stubServer = new PortOneStubServer();
+        stubServer.setPaymentDelayMillis(PG_DELAY_MS);
+
+        PaymentRepository paymentRepository = mock(PaymentRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        when(paymentRepository.findWithOrderItemsByPaymentKey(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(payments.get(invocation.<String>getArgument(0))));
+        when(paymentRepository.saveAndFlush(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        User user = new User("user@example.com", "hash", "user");
+        user.setUserId(USER_ID);
+        user.setMembershipRank(MembershipRank.NORMAL);
+        user.setTotalPoints(BigDecimal.ZERO);
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+
+        paymentService = new PaymentService(paymentRepository, mock(OrderRepository.class), userRepository,
+                mock(ProductRepository.class), mock(PointBalanceService.class), stubServer.createClient(REQUESTS, 8000),
+                mock(StockReservationManager.class), mock(MembershipService.class),
+                new PooledTransactionTemplate(), new PaymentMetrics(new SimpleMeterRegistry()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        stubServer.close();
+    }
+
+    @Test
+    void PG_응답이_지연되어도_DB_커넥션은_풀_크기_안에서만_사용한다() throws Exception {
+        for (int i = 0; i < REQUESTS; i++) {
+            payments.put("T" + i, payment(i));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(REQUESTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<PaymentResponseDto>> results = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            String paymentKey = "T" + i;
+            results.add(executor.submit(() -> {
+                start.await();
+                return paymentService.completePaymentVerification(paymentKey, USER_ID);
+            }));
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        // PG 조회 동안 커넥션을 잡고 있었다면 풀 대기가 PG 지연 x (요청 수 / 풀 크기)만큼 길어져 타임아웃으로 실패합니다.
+        for (Future<PaymentResponseDto> result : results) {
+            assertThat(result.get().getStatus()).isEqualTo("PAID");
+        }
+        assertThat(maxConnectionsInUse.get()).isLessThanOrEqualTo(POOL_SIZE);
+        // 커넥션 수보다 많은 PG 조회가 동시에 진행되어야 합니다.
+        assertThat(stubServer.getMaxInFlight()).isGreaterThan(POOL_SIZE);
+    }
+
+    private static Payment payment(int index) {
+        Product product = new Product("상품", BigDecimal.valueOf(10000), 1000, "");
+        product.setProductId(1L);
+        Order order = new Order(USER_ID);
+        order.setOrderId(100L + index);
+        order.setOrderItem(new OrderItem("상품", 1, BigDecimal.valueOf(10000), product));
+
+        Payment payment = new Payment();
+        payment.setPaymentId(10L + index);
+        payment.setPaymentKey("T" + index);
+        payment.setOrder(order);
+        payment.setAmount(BigDecimal.valueOf(10000));
+        payment.setStatus(Payment.PaymentStatus.READY);
+        return payment;
+    }
+
+    /**
+     * 트랜잭션마다 커넥션 하나를 빌리고 반납하는 TransactionTemplate입니다.
+     * 커넥션을 제한 시간 안에 얻지 못하면 Hikari처럼 예외를 던집니다.
+     */
+    private class PooledTransactionTemplate extends TransactionTemplate {
+        @Override
+        public <T> T execute(TransactionCallback<T> action) {
+            try {
+                if (!connectionPool.tryAcquire(CONNECTION_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                    throw new IllegalStateException("DB 커넥션을 얻지 못했습니다. (풀 크기: " + POOL_SIZE + ")");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            maxConnectionsInUse.accumulateAndGet(connectionsInUse.incrementAndGet(), Math::max);
+            try {
+                return action.doInTransaction(null);
+            } finally {
+                connectionsInUse.decrementAndGet();
+                connectionPool.release();
+            }
+        }
+    }
+}
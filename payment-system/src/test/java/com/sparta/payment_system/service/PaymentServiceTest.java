@@ -0,0 +1,190 @@
+package com.sparta.payment_system.service;
+
+import com.sparta.payment_system.client.PortOneClient;
+import com.sparta.payment_system.dto.payment.PaymentResponseDto;
+import com.sparta.payment_system.dto.payment.PaymentVerificationDto;
+import com.sparta.payment_system.entity.MembershipRank;
+import com.sparta.payment_system.entity.Order;
+import com.sparta.payment_system.entity.OrderItem;
+import com.sparta.payment_system.entity.Payment;
+import com.sparta.payment_system.entity.PointTransaction;
+import com.sparta.payment_system.entity.Product;
+import com.sparta.payment_system.entity.User;
+import com.sparta.payment_system.repository.OrderRepository;
+import com.sparta.payment_system.repository.PaymentRepository;
+import com.sparta.payment_system.repository.ProductRepository;
+import com.sparta.payment_system.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class PaymentServiceTest {
+
+    private static final String PAYMENT_KEY = "T1000";
+    private static final long USER_ID = 7L;
+
+    private PaymentRepository paymentRepository;
+    private ProductRepository productRepository;
+    private PointBalanceService pointBalanceService;
+    private PortOneClient portOneClient;
+    private StockReservationManager stockReservationManager;
+    private MembershipService membershipService;
+    private PaymentService paymentService;
+
+    private Payment payment;
+
+    @BeforeEach
+    void setUp() {
+        paymentRepository = mock(PaymentRepository.class);
+        OrderRepository orderRepository = mock(OrderRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        productRepository = mock(ProductRepository.class);
+        pointBalanceService = mock(PointBalanceService.class);
+        portOneClient = mock(PortOneClient.class);
+        stockReservationManager = mock(StockReservationManager.class);
+        membershipService = mock(MembershipService.class);
+
+        // 트랜잭션 없이 콜백을 바로 실행합니다.
+        TransactionTemplate transactionTemplate = new TransactionTemplate() {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                return action.doInTransaction(null);
+            }
+        };
+
+        paymentService = new PaymentService(paymentRepository, orderRepository, userRepository, productRepository,
+                pointBalanceService, portOneClient, stockReservationManager, membershipService,
+                transactionTemplate, new PaymentMetrics(new SimpleMeterRegistry()));
+
+        User user = new User("user@example.com", "hash", "user");
+        user.setUserId(USER_ID);
+        user.setMembershipRank(MembershipRank.NORMAL);
+        user.setTotalPoints(BigDecimal.ZERO);
+
+        Product product = new Product("상품", BigDecimal.valueOf(10000), 10, "");
+        product.setProductId(1L);
+        Order order = new Order(USER_ID);
+        order.setOrderId(100L);
+        order.setOrderItem(new OrderItem("상품", 1, BigDecimal.valueOf(10000), product));
+
+        payment = new Payment();
+        payment.setPaymentId(10L);
+        payment.setPaymentKey(PAYMENT_KEY);
+        payment.setOrder(order);
+        payment.setAmount(BigDecimal.valueOf(10000));
+        payment.setStatus(Payment.PaymentStatus.READY);
+
+        when(paymentRepository.findWithOrderItemsByPaymentKey(PAYMENT_KEY)).thenReturn(Optional.of(payment));
+        when(paymentRepository.saveAndFlush(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void 같은_결제_키의_동시_완료_요청은_후처리를_한_번만_적용한다() throws Exception {
+        when(portOneClient.getPayment(PAYMENT_KEY)).thenAnswer(invocation -> {
+            // PG 조회가 지연되는 동안 나머지 요청이 몰리도록 합니다.
+            Thread.sleep(100);
+            return paidVerification();
+        });
+
+        int requests = 32;
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<PaymentResponseDto>> results = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            // 절반은 사용자 완료 요청, 절반은 웹훅(사용자 ID 없음)
+            Long currentUserId = i % 2 == 0 ? USER_ID : null;
+            results.add(executor.submit(() -> {
+                start.await();
+                return paymentService.completePaymentVerification(PAYMENT_KEY, currentUserId);
+            }));
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        for (Future<PaymentResponseDto> result : results) {
+            assertThat(result.get().getStatus()).isEqualTo("PAID");
+        }
+        assertThat(payment.getStatus()).isEqualTo(Payment.PaymentStatus.PAID);
+        verify(productRepository, times(1)).decreaseStocks(anyList());
+        verify(stockReservationManager, times(1)).confirm(eq(100L), anyList());
+        verify(pointBalanceService, times(1)).changePoints(any(User.class), any(BigDecimal.class),
+                eq(PointTransaction.PointType.EARNED));
+        verify(membershipService, times(1)).applyPaid(any(User.class), any(BigDecimal.class));
+    }
+
+    @Test
+    void 환불_진행_중인_결제는_완료_처리하지_않는다() {
+        payment.setStatus(Payment.PaymentStatus.REFUND_PENDING);
+
+        assertThatThrownBy(() -> paymentService.completePaymentVerification(PAYMENT_KEY, null))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(payment.getStatus()).isEqualTo(Payment.PaymentStatus.REFUND_PENDING);
+        verifyNoInteractions(portOneClient, productRepository, pointBalanceService, membershipService);
+    }
+
+    @Test
+    void PG_조회_중_환불이_시작되면_상태와_후처리를_변경하지_않는다() {
+        when(portOneClient.getPayment(PAYMENT_KEY)).thenAnswer(invocation -> {
+            payment.setStatus(Payment.PaymentStatus.REFUND_PENDING);
+            return paidVerification();
+        });
+
+        assertThatThrownBy(() -> paymentService.completePaymentVerification(PAYMENT_KEY, USER_ID))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(payment.getStatus()).isEqualTo(Payment.PaymentStatus.REFUND_PENDING);
+        verify(productRepository, never()).decreaseStocks(anyList());
+        verify(stockReservationManager, never()).release(anyLong());
+        verify(portOneClient, never()).cancelPayment(anyString(), anyString());
+        verifyNoInteractions(pointBalanceService, membershipService);
+    }
+
+    @Test
+    void 환불된_결제는_실패_처리하지_않는다() {
+        payment.setStatus(Payment.PaymentStatus.REFUNDED);
+
+        assertThatThrownBy(() -> paymentService.failPaymentByPaymentKey(PAYMENT_KEY))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(payment.getStatus()).isEqualTo(Payment.PaymentStatus.REFUNDED);
+        verify(stockReservationManager, never()).release(anyLong());
+    }
+
+    private static PaymentVerificationDto paidVerification() {
+        return PaymentVerificationDto.builder()
+                .paymentKey(PAYMENT_KEY)
+                .amount(BigDecimal.valueOf(10000))
+                .status("Paid")
+                .orderId("100")
+                .build();
+    }
+}
@@ -0,0 +1,187 @@
+package com.sparta.payment_system.service;
+
+import com.sparta.payment_system.client.PortOneClient;
+import com.sparta.payment_system.dto.refund.RefundRequestDto;
+import com.sparta.payment_system.dto.refund.RefundResponseDto;
+import com.sparta.payment_system.entity.MembershipRank;
+import com.sparta.payment_system.entity.Order;
+import com.sparta.payment_system.entity.OrderItem;
+import com.sparta.payment_system.entity.Payment;
+import com.sparta.payment_system.entity.Product;
+import com.sparta.payment_system.entity.Refund;
+import com.sparta.payment_system.entity.User;
+import com.sparta.payment_system.repository.OrderRepository;
+import com.sparta.payment_system.repository.PaymentRepository;
+import com.sparta.payment_system.repository.ProductRepository;
+import com.sparta.payment_system.repository.RefundRepository;
+import com.sparta.payment_system.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class RefundServiceTest {
+
+    private static final long PAYMENT_ID = 10L;
+    private static final String PAYMENT_KEY = "T1000";
+    private static final long USER_ID = 7L;
+
+    private PaymentRepository paymentRepository;
+    private RefundRepository refundRepository;
+    private ProductRepository productRepository;
+    private PointBalanceService pointBalanceService;
+    private PortOneClient portOneClient;
+    private MembershipService membershipService;
+    private RefundService refundService;
+
+    private Payment payment;
+
+    @BeforeEach
+    void setUp() {
+        paymentRepository = mock(PaymentRepository.class);
+        refundRepository = mock(RefundRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        productRepository = mock(ProductRepository.class);
+        pointBalanceService = mock(PointBalanceService.class);
+        portOneClient = mock(PortOneClient.class);
+        membershipService = mock(MembershipService.class);
+
+        // 트랜잭션 없이 콜백을 바로 실행합니다.
+        TransactionTemplate transactionTemplate = new TransactionTemplate() {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                return action.doInTransaction(null);
+            }
+        };
+
+        refundService = new RefundService(paymentRepository, refundRepository, userRepository, pointBalanceService,
+                productRepository, mock(OrderRepository.class), portOneClient, mock(StockReservationManager.class),
+                membershipService, transactionTemplate, new PaymentMetrics(new SimpleMeterRegistry()));
+
+        User user = new User("user@example.com", "hash", "user");
+        user.setUserId(USER_ID);
+        user.setMembershipRank(MembershipRank.NORMAL);
+
+        Product product = new Product("상품", BigDecimal.valueOf(10000), 10, "");
+        product.setProductId(1L);
+        Order order = new Order(USER_ID);
+        order.setOrderId(100L);
+        order.setOrderItem(new OrderItem("상품", 1, BigDecimal.valueOf(10000), product));
+
+        payment = new Payment();
+        payment.setPaymentId(PAYMENT_ID);
+        payment.setPaymentKey(PAYMENT_KEY);
+        payment.setOrder(order);
+        payment.setAmount(BigDecimal.valueOf(10000));
+        payment.setStatus(Payment.PaymentStatus.PAID);
+
+        when(paymentRepository.findById(PAYMENT_ID)).thenReturn(Optional.of(payment));
+        when(paymentRepository.findWithOrderItemsById(PAYMENT_ID)).thenReturn(Optional.of(payment));
+        when(paymentRepository.findWithOrderItemsByPaymentKey(PAYMENT_KEY)).thenReturn(Optional.of(payment));
+        when(paymentRepository.transitionStatus(eq(PAYMENT_ID), any(), any(), any())).thenAnswer(invocation -> {
+            if (payment.getStatus() != invocation.getArgument(1)) {
+                return 0;
+            }
+            payment.setStatus(invocation.getArgument(2));
+            return 1;
+        });
+        when(refundRepository.save(any(Refund.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void PG가_4xx로_거절하면_PAID로_되돌린다() {
+        when(portOneClient.cancelPayment(eq(PAYMENT_KEY), any()))
+                .thenThrow(WebClientResponseException.create(400, "Bad Request", null, null, null));
+
+        assertThatThrownBy(() -> refundService.createRefund(request(), USER_ID))
+                .isInstanceOf(RuntimeException.class);
+
+        assertThat(payment.getStatus()).isEqualTo(Payment.PaymentStatus.PAID);
+    }
+
+    @Test
+    void PG가_5xx를_반환하면_복구_스케줄러가_확인하도록_REFUND_PENDING으로_둔다() {
+        when(portOneClient.cancelPayment(eq(PAYMENT_KEY), any()))
+                .thenThrow(WebClientResponseException.create(503, "Service Unavailable", null, null, null));
+
+        assertThatThrownBy(() -> refundService.createRefund(request(), USER_ID))
+                .isInstanceOf(RuntimeException.class);
+
+        assertThat(payment.getStatus()).isEqualTo(Payment.PaymentStatus.REFUND_PENDING);
+        verifyNoInteractions(refundRepository, pointBalanceService, membershipService);
+    }
+
+    @Test
+    void 다른_경로가_먼저_환불을_반영하면_후처리를_다시_적용하지_않고_기존_환불을_반환한다() {
+        Refund existing = new Refund();
+        existing.setRefundId(1L);
+        existing.setPaymentId(PAYMENT_ID);
+        existing.setAmount(payment.getAmount());
+        existing.setStatus(Refund.RefundStatus.COMPLETED);
+        when(refundRepository.findByPaymentId(PAYMENT_ID)).thenReturn(List.of(existing));
+        // PG 취소 직후 웹훅이 먼저 후처리를 커밋해 버전이 올라간 상황
+        when(paymentRepository.saveAndFlush(any(Payment.class))).thenAnswer(invocation -> {
+            payment.setStatus(Payment.PaymentStatus.REFUNDED);
+            throw new ObjectOptimisticLockingFailureException(Payment.class, PAYMENT_ID);
+        });
+
+        RefundResponseDto response = refundService.createRefund(request(), USER_ID);
+
+        assertThat(response.getRefundId()).isEqualTo(1L);
+        verify(refundRepository, never()).save(any(Refund.class));
+        verify(productRepository, never()).increaseStocks(anyList());
+        verifyNoInteractions(pointBalanceService, membershipService);
+    }
+
+    @Test
+    void 이미_환불된_결제의_웹훅은_후처리를_다시_적용하지_않는다() {
+        payment.setStatus(Payment.PaymentStatus.REFUNDED);
+        Refund existing = new Refund();
+        existing.setPaymentId(PAYMENT_ID);
+        when(refundRepository.findByPaymentId(PAYMENT_ID)).thenReturn(List.of(existing));
+
+        refundService.processWebhookRefund(PAYMENT_KEY, "PG Webhook Notification");
+
+        verify(paymentRepository, never()).saveAndFlush(any(Payment.class));
+        verify(refundRepository, never()).save(any(Refund.class));
+        verifyNoInteractions(pointBalanceService, membershipService);
+    }
+
+    @Test
+    void 결제_완료되지_않은_결제의_웹훅은_환불_처리하지_않는다() {
+        payment.setStatus(Payment.PaymentStatus.READY);
+
+        assertThatThrownBy(() -> refundService.processWebhookRefund(PAYMENT_KEY, "PG Webhook Notification"))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(payment.getStatus()).isEqualTo(Payment.PaymentStatus.READY);
+        verifyNoInteractions(refundRepository, pointBalanceService, membershipService);
+    }
+
+    private static RefundRequestDto request() {
+        RefundRequestDto requestDto = new RefundRequestDto();
+        requestDto.setPaymentId(PAYMENT_ID);
+        requestDto.setReason("단순 변심");
+        return requestDto;
+    }
+}
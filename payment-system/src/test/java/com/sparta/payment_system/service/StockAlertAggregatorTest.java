@@ -0,0 +1,139 @@
+package com.sparta.payment_system.service;
+
+import com.sparta.payment_system.entity.StockAlert;
+import com.sparta.payment_system.repository.StockAlertRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StockAlertAggregatorTest {
+
+    private static final int MIN_STOCK = 5;
+
+    private StockAlertRepository stockAlertRepository;
+    private StockAlertStreamHub stockAlertStreamHub;
+    private StockAlertAggregator aggregator;
+
+    /** saveAll로 저장된 배치 목록 */
+    private final List<List<StockAlert>> savedBatches = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        stockAlertRepository = mock(StockAlertRepository.class);
+        stockAlertStreamHub = mock(StockAlertStreamHub.class);
+        when(stockAlertRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<StockAlert> batch = new ArrayList<>();
+            invocation.<Iterable<StockAlert>>getArgument(0).forEach(batch::add);
+            savedBatches.add(batch);
+            return batch;
+        });
+
+        // 트랜잭션 없이 콜백을 바로 실행합니다.
+        TransactionTemplate transactionTemplate = new TransactionTemplate() {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                return action.doInTransaction(null);
+            }
+        };
+
+        aggregator = new StockAlertAggregator(stockAlertRepository, transactionTemplate, stockAlertStreamHub, 3600);
+    }
+
+    @Test
+    void 같은_상품과_알림_타입의_이벤트는_최신_값_하나로_합쳐_한_번에_저장한다() {
+        aggregator.onThresholdCrossed(event(1L, 4, StockAlert.AlertType.LOW_STOCK));
+        aggregator.onThresholdCrossed(event(1L, 3, StockAlert.AlertType.LOW_STOCK));
+        aggregator.onThresholdCrossed(event(1L, 2, StockAlert.AlertType.LOW_STOCK));
+        aggregator.onThresholdCrossed(event(1L, 0, StockAlert.AlertType.OUT_OF_STOCK));
+        aggregator.onThresholdCrossed(event(2L, 1, StockAlert.AlertType.LOW_STOCK));
+        assertThat(aggregator.getPendingCount()).isEqualTo(3);
+
+        aggregator.flush();
+
+        assertThat(savedBatches).hasSize(1);
+        assertThat(savedBatches.get(0))
+                .extracting(StockAlert::getProductId, StockAlert::getAlertType, StockAlert::getCurrentStock)
+                .containsExactlyInAnyOrder(
+                        tuple(1L, StockAlert.AlertType.LOW_STOCK, 2),
+                        tuple(1L, StockAlert.AlertType.OUT_OF_STOCK, 0),
+                        tuple(2L, StockAlert.AlertType.LOW_STOCK, 1));
+        assertThat(aggregator.getReceivedCount()).isEqualTo(5);
+        assertThat(aggregator.getCoalescedCount()).isEqualTo(2);
+        assertThat(aggregator.getWrittenCount()).isEqualTo(3);
+        assertThat(aggregator.getPendingCount()).isZero();
+        verify(stockAlertStreamHub).publishAlerts(savedBatches.get(0));
+    }
+
+    @Test
+    void 중복_제거_구간_안에_다시_발생한_같은_알림은_저장하지_않는다() {
+        aggregator.onThresholdCrossed(event(1L, 3, StockAlert.AlertType.LOW_STOCK));
+        aggregator.flush();
+
+        aggregator.onThresholdCrossed(event(1L, 2, StockAlert.AlertType.LOW_STOCK));
+        aggregator.flush();
+
+        assertThat(savedBatches).hasSize(1);
+        assertThat(aggregator.getSuppressedCount()).isEqualTo(1);
+        verify(stockAlertRepository, times(1)).saveAll(any());
+    }
+
+    @Test
+    void 재고가_복구되면_다음_부족_알림은_중복_제거_구간과_무관하게_저장한다() {
+        aggregator.onThresholdCrossed(event(1L, 3, StockAlert.AlertType.LOW_STOCK));
+        aggregator.flush();
+        aggregator.onThresholdCrossed(event(1L, 20, StockAlert.AlertType.STOCK_RESTORED));
+        aggregator.flush();
+
+        aggregator.onThresholdCrossed(event(1L, 4, StockAlert.AlertType.LOW_STOCK));
+        aggregator.flush();
+
+        assertThat(savedBatches).hasSize(3);
+        assertThat(savedBatches.get(2))
+                .extracting(StockAlert::getAlertType, StockAlert::getCurrentStock)
+                .containsExactly(tuple(StockAlert.AlertType.LOW_STOCK, 4));
+        assertThat(aggregator.getSuppressedCount()).isZero();
+    }
+
+    @Test
+    void 저장에_실패한_알림은_중복_제거_상태에_남기지_않는다() {
+        doThrow(new IllegalStateException("DB 오류"))
+                .doAnswer(invocation -> invocation.getArgument(0))
+                .when(stockAlertRepository).saveAll(any());
+        aggregator.onThresholdCrossed(event(1L, 3, StockAlert.AlertType.LOW_STOCK));
+        aggregator.flush();
+
+        aggregator.onThresholdCrossed(event(1L, 2, StockAlert.AlertType.LOW_STOCK));
+        aggregator.flush();
+
+        verify(stockAlertRepository, times(2)).saveAll(any());
+        assertThat(aggregator.getWrittenCount()).isEqualTo(1);
+        assertThat(aggregator.getSuppressedCount()).isZero();
+    }
+
+    @Test
+    void 모인_이벤트가_없으면_저장하지_않는다() {
+        aggregator.flush();
+
+        verify(stockAlertRepository, never()).saveAll(any());
+        verify(stockAlertStreamHub, never()).publishAlerts(anyList());
+    }
+
+    private static StockThresholdEvent event(Long productId, int currentStock, StockAlert.AlertType alertType) {
+        return new StockThresholdEvent(productId, currentStock, MIN_STOCK, alertType);
+    }
+}
@@ -0,0 +1,71 @@
+package com.sparta.payment_system.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class StockAlertStreamHubTest {
+
+    private static final int MAX_SUBSCRIBERS = 2;
+
+    private StockAlertStreamHub hub;
+
+    @BeforeEach
+    void setUp() {
+        hub = new StockAlertStreamHub(mock(StockReservationManager.class), 16, 60_000, MAX_SUBSCRIBERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.shutdown();
+    }
+
+    @Test
+    void 구독자_수가_한도에_도달하면_새_구독을_거절한다() {
+        hub.subscribe(null);
+        hub.subscribe(null);
+
+        assertThatThrownBy(() -> hub.subscribe(null))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(hub.getSubscriberCount()).isEqualTo(MAX_SUBSCRIBERS);
+    }
+
+    @Test
+    void 끊긴_구독을_정리하면_한도가_다시_열린다() throws InterruptedException {
+        SseEmitter closed = hub.subscribe(null);
+        hub.subscribe(null);
+
+        // 연결이 끊긴 클라이언트는 다음 전송에서 실패하여 정리됩니다.
+        closed.complete();
+        hub.heartbeat();
+        awaitSubscriberCount(1);
+
+        hub.subscribe(null);
+        assertThat(hub.getSubscriberCount()).isEqualTo(MAX_SUBSCRIBERS);
+    }
+
+    @Test
+    void 재연결_구독도_한도에_포함한다() {
+        hub.subscribe(null);
+        hub.subscribe(null);
+
+        assertThatThrownBy(() -> hub.subscribe(0L))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    /**
+     * 전송은 전용 스레드에서 처리되므로 구독자 수가 기대값이 될 때까지 기다립니다.
+     */
+    private void awaitSubscriberCount(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (hub.getSubscriberCount() != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(hub.getSubscriberCount()).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,269 @@
+package com.sparta.payment_system.service;
+
+import com.sparta.payment_system.entity.OrderItem;
+import com.sparta.payment_system.entity.Product;
+import com.sparta.payment_system.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StockReservationManagerTest {
+
+    private static final long HOT_PRODUCT_ID = 1L;
+    private static final int STOCK = 100;
+
+    private ProductRepository productRepository;
+    private StockReservationManager manager;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        when(productRepository.findStockByProductId(anyLong())).thenReturn(Optional.of(STOCK));
+        manager = new StockReservationManager(productRepository, 15);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void 인기_상품에_동시_예약이_몰려도_재고를_초과해_예약하지_않는다() throws InterruptedException {
+        int threads = 64;
+        int attemptsPerThread = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicLong orderIds = new AtomicLong();
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                await(start);
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    try {
+                        manager.reserve(orderIds.incrementAndGet(), List.of(item(HOT_PRODUCT_ID, 1)));
+                        succeeded.incrementAndGet();
+                    } catch (IllegalStateException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+            });
+        }
+
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        int attempts = threads * attemptsPerThread;
+
+        assertThat(succeeded.get()).isEqualTo(STOCK);
+        assertThat(rejected.get()).isEqualTo(attempts - STOCK);
+        assertThat(manager.availableStock(HOT_PRODUCT_ID)).isZero();
+        assertThat(manager.getActiveReservations()).isEqualTo(STOCK);
+        assertThat(manager.getRejectedReservations()).isEqualTo(attempts - STOCK);
+    }
+
+    @Test
+    void 동시에_커밋과_롤백이_섞여도_슬롯은_DB_재고와_일치한다() throws InterruptedException {
+        int threads = 32;
+        int attemptsPerThread = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicLong orderIds = new AtomicLong();
+        Set<Long> committedOrderIds = ConcurrentHashMap.newKeySet();
+
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                await(start);
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    long orderId = orderIds.incrementAndGet();
+                    boolean commit = orderId % 2 == 0;
+                    TransactionSynchronizationManager.initSynchronization();
+                    try {
+                        manager.reserve(orderId, List.of(item(HOT_PRODUCT_ID, 1)));
+                        if (commit) {
+                            committedOrderIds.add(orderId);
+                        }
+                    } catch (IllegalStateException e) {
+                        // 재고 부족
+                    } finally {
+                        complete(commit ? TransactionSynchronization.STATUS_COMMITTED
+                                : TransactionSynchronization.STATUS_ROLLED_BACK);
+                    }
+                }
+            });
+        }
+
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        // 커밋된 예약만 남고, 롤백된 예약은 모두 슬롯에 돌려놓았습니다.
+        assertThat(committedOrderIds.size()).isLessThanOrEqualTo(STOCK);
+        assertThat(manager.getActiveReservations()).isEqualTo(committedOrderIds.size());
+        assertThat(manager.availableStock(HOT_PRODUCT_ID)).isEqualTo(STOCK - committedOrderIds.size());
+
+        committedOrderIds.forEach(manager::release);
+        assertThat(manager.availableStock(HOT_PRODUCT_ID)).isEqualTo(STOCK);
+    }
+
+    @Test
+    void 여러_상품_중_하나라도_부족하면_이미_예약한_수량을_되돌린다() {
+        when(productRepository.findStockByProductId(2L)).thenReturn(Optional.of(1));
+
+        assertThatThrownBy(() -> manager.reserve(10L, List.of(item(HOT_PRODUCT_ID, 5), item(2L, 2))))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(manager.availableStock(HOT_PRODUCT_ID)).isEqualTo(STOCK);
+        assertThat(manager.availableStock(2L)).isEqualTo(1);
+        assertThat(manager.getActiveReservations()).isZero();
+    }
+
+    @Test
+    void 예약한_트랜잭션이_롤백되면_예약을_바로_해제한다() {
+        TransactionSynchronizationManager.initSynchronization();
+        manager.reserve(10L, List.of(item(HOT_PRODUCT_ID, 3)));
+        assertThat(manager.availableStock(HOT_PRODUCT_ID)).isEqualTo(STOCK - 3);
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(manager.availableStock(HOT_PRODUCT_ID)).isEqualTo(STOCK);
+        assertThat(manager.getActiveReservations()).isZero();
+    }
+
+    @Test
+    void 예약한_트랜잭션이_커밋되면_예약을_유지한다() {
+        TransactionSynchronizationManager.initSynchronization();
+        manager.reserve(10L, List.of(item(HOT_PRODUCT_ID, 3)));
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(manager.availableStock(HOT_PRODUCT_ID)).isEqualTo(STOCK - 3);
+        assertThat(manager.getActiveReservations()).isEqualTo(1);
+    }
+
+    @Test
+    void 확정_트랜잭션이_롤백되면_예약_상태로_되돌린다() {
+        manager.reserve(10L, List.of(item(HOT_PRODUCT_ID, 3)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        manager.confirm(10L, List.of(item(HOT_PRODUCT_ID, 3)));
+        assertThat(manager.getActiveReservations()).isZero();
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(manager.getActiveReservations()).isEqualTo(1);
+        assertThat(manager.availableStock(HOT_PRODUCT_ID)).isEqualTo(STOCK - 3);
+    }
+
+    @Test
+    void 직접_변경한_재고는_커밋된_뒤에만_슬롯에_반영한다() {
+        assertThat(manager.availableStock(HOT_PRODUCT_ID)).isEqualTo(STOCK);
+
+        TransactionSynchronizationManager.initSynchronization();
+        manager.adjustOnCommit(HOT_PRODUCT_ID, -5);
+        assertThat(manager.availableStock(HOT_PRODUCT_ID)).isEqualTo(STOCK);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertThat(manager.availableStock(HOT_PRODUCT_ID)).isEqualTo(STOCK);
+
+        TransactionSynchronizationManager.initSynchronization();
+        manager.adjustOnCommit(HOT_PRODUCT_ID, -5);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertThat(manager.availableStock(HOT_PRODUCT_ID)).isEqualTo(STOCK - 5);
+    }
+
+    @Test
+    void 슬롯_오차가_두_번_연속_관측되면_DB_재고_기준으로_보정한다() {
+        manager.reserve(10L, List.of(item(HOT_PRODUCT_ID, 3)));
+        // 엔진을 거치지 않고 DB 재고가 20개 줄어든 상황
+        when(productRepository.findStocksByProductIdIn(anyCollection()))
+                .thenReturn(List.<Object[]>of(new Object[]{HOT_PRODUCT_ID, STOCK - 20}));
+
+        manager.resyncSlots();
+        assertThat(manager.availableStock(HOT_PRODUCT_ID)).isEqualTo(STOCK - 3);
+
+        manager.resyncSlots();
+        assertThat(manager.availableStock(HOT_PRODUCT_ID)).isEqualTo(STOCK - 20 - 3);
+    }
+
+    @Test
+    void 사용되지_않고_예약도_없는_슬롯은_정리한다() {
+        when(productRepository.findStocksByProductIdIn(anyCollection()))
+                .thenReturn(List.<Object[]>of(new Object[]{HOT_PRODUCT_ID, STOCK}));
+        manager.reserve(10L, List.of(item(HOT_PRODUCT_ID, 3)));
+        manager.release(10L);
+
+        manager.resyncSlots();
+        assertThat(manager.getLoadedSlots()).isEqualTo(1);
+
+        manager.resyncSlots();
+        assertThat(manager.getLoadedSlots()).isZero();
+        assertThat(manager.peekAvailableStock(HOT_PRODUCT_ID)).isNull();
+    }
+
+    @Test
+    void 직전_동기화_이후_변경된_슬롯은_정리하지_않는다() {
+        when(productRepository.findStocksByProductIdIn(anyCollection()))
+                .thenReturn(List.<Object[]>of(new Object[]{HOT_PRODUCT_ID, STOCK}));
+        manager.reserve(10L, List.of(item(HOT_PRODUCT_ID, 3)));
+        manager.release(10L);
+        manager.resyncSlots();
+
+        // 동기화 사이에 예약과 해제가 있었으면 활성 예약이 없어도 한 주기 더 유지합니다.
+        manager.reserve(11L, List.of(item(HOT_PRODUCT_ID, 2)));
+        manager.release(11L);
+        manager.resyncSlots();
+        assertThat(manager.getLoadedSlots()).isEqualTo(1);
+        assertThat(manager.availableStock(HOT_PRODUCT_ID)).isEqualTo(STOCK);
+
+        manager.resyncSlots();
+        assertThat(manager.getLoadedSlots()).isZero();
+
+        // 정리된 뒤의 예약은 DB 재고로 다시 로드한 슬롯에 반영됩니다.
+        manager.reserve(12L, List.of(item(HOT_PRODUCT_ID, 4)));
+        assertThat(manager.availableStock(HOT_PRODUCT_ID)).isEqualTo(STOCK - 4);
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private static OrderItem item(long productId, int quantity) {
+        Product product = new Product("상품" + productId, BigDecimal.valueOf(1000), STOCK, "");
+        product.setProductId(productId);
+        return new OrderItem(product.getName(), quantity, BigDecimal.valueOf(1000L * quantity), product);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.sparta.payment_system.service;
+
+import com.sparta.payment_system.client.PortOneStubServer;
+import com.sparta.payment_system.config.ConnectionLimitingDataSource;
+import com.sparta.payment_system.dto.payment.PaymentResponseDto;
+import com.sparta.payment_system.entity.MembershipRank;
+import com.sparta.payment_system.entity.Order;
+import com.sparta.payment_system.entity.OrderItem;
+import com.sparta.payment_system.entity.Payment;
+import com.sparta.payment_system.entity.Product;
+import com.sparta.payment_system.entity.User;
+import com.sparta.payment_system.repository.OrderRepository;
+import com.sparta.payment_system.repository.PaymentRepository;
+import com.sparta.payment_system.repository.ProductRepository;
+import com.sparta.payment_system.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 느린 PG(스텁 서버) 앞에서 결제 완료 요청을 플랫폼 스레드 풀(Tomcat 작업 스레드 대신)과 가상 스레드로 각각 처리해 비교합니다.
+ * DB 커넥션은 가상 스레드 모드와 같이 ConnectionLimitingDataSource로 제한합니다.
+ * 가상 스레드가 필요하므로 Java 21 툴체인에서만 실행됩니다: ./gradlew test -PjavaVersion=21
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadCheckoutLoadTest {
+
+    private static final int PLATFORM_THREADS = 16;
+    private static final int DB_CONNECTIONS = 4;
+    private static final long PG_DELAY_MS = 200;
+    private static final int REQUESTS = 128;
+    private static final long USER_ID = 7L;
+
+    private final AtomicInteger connectionsInUse = new AtomicInteger();
+    private final AtomicInteger maxConnectionsInUse = new AtomicInteger();
+    private final Map<String, Payment> payments = new ConcurrentHashMap<>();
+
+    private PortOneStubServer stubServer;
+    private PaymentService paymentService;
+
+    @BeforeEach
+    void setUp() throws IOException, SQLException {
+        stubServer = new PortOneStubServer();
+        stubServer.setPaymentDelayMillis(PG_DELAY_MS);
+
+        PaymentRepository paymentRepository = mock(PaymentRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        when(paymentRepository.findWithOrderItemsByPaymentKey(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(payments.get(invocation.<String>getArgument(0))));
+        when(paymentRepository.saveAndFlush(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        User user = new User("user@example.com", "hash", "user");
+        user.setUserId(USER_ID);
+        user.setMembershipRank(MembershipRank.NORMAL);
+        user.setTotalPoints(BigDecimal.ZERO);
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenAnswer(invocation -> connection());
+        DataSource dataSource = new ConnectionLimitingDataSource(pool, DB_CONNECTIONS, 5000);
+
+        paymentService = new PaymentService(paymentRepository, mock(OrderRepository.class), userRepository,
+                mock(ProductRepository.class), mock(PointBalanceService.class), stubServer.createClient(REQUESTS, 8000),
+                mock(StockReservationManager.class), mock(MembershipService.class),
+                new DataSourceTransactionTemplate(dataSource), new PaymentMetrics(new SimpleMeterRegistry()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        stubServer.close();
+    }
+
+    @Test
+    void 느린_PG_앞에서_가상_스레드는_스레드_풀_크기에_묶이지_않고_DB_커넥션은_제한_안에서_사용한다() throws Exception {
+        ExecutorService platform = Executors.newFixedThreadPool(PLATFORM_THREADS);
+        long platformMillis;
+        try {
+            platformMillis = runCheckouts(platform, "P");
+        } finally {
+            platform.shutdownNow();
+        }
+        long virtualMillis = runCheckouts(new VirtualThreadTaskExecutor("checkout-"), "V");
+
+        // 플랫폼 스레드는 PG 지연 x (요청 수 / 스레드 수)만큼 걸리고, 가상 스레드는 PG 조회를 한꺼번에 기다립니다.
+        assertThat(platformMillis).isGreaterThanOrEqualTo(PG_DELAY_MS * REQUESTS / PLATFORM_THREADS);
+        assertThat(virtualMillis).isLessThan(platformMillis / 2);
+        assertThat(stubServer.getMaxInFlight()).isGreaterThan(PLATFORM_THREADS);
+        assertThat(maxConnectionsInUse.get()).isLessThanOrEqualTo(DB_CONNECTIONS);
+    }
+
+    /**
+     * 요청을 한꺼번에 제출하고 모두 끝날 때까지 걸린 시간(ms)을 반환합니다.
+     */
+    private long runCheckouts(Executor executor, String keyPrefix) throws Exception {
+        for (int i = 0; i < REQUESTS; i++) {
+            payments.put(keyPrefix + i, payment(keyPrefix, i));
+        }
+
+        long start = System.nanoTime();
+        List<CompletableFuture<PaymentResponseDto>> results = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            String paymentKey = keyPrefix + i;
+            results.add(CompletableFuture.supplyAsync(
+                    () -> paymentService.completePaymentVerification(paymentKey, USER_ID), executor));
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(60, TimeUnit.SECONDS);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        for (CompletableFuture<PaymentResponseDto> result : results) {
+            assertThat(result.get().getStatus()).isEqualTo("PAID");
+        }
+        return elapsedMillis;
+    }
+
+    // 닫힐 때 사용 중 커넥션 수를 줄이는 가짜 커넥션입니다.
+    private Connection connection() {
+        maxConnectionsInUse.accumulateAndGet(connectionsInUse.incrementAndGet(), Math::max);
+        AtomicInteger closed = new AtomicInteger();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && closed.getAndIncrement() == 0) {
+                        connectionsInUse.decrementAndGet();
+                    }
+                    return null;
+                });
+    }
+
+    private static Payment payment(String keyPrefix, int index) {
+        Product product = new Product("상품", BigDecimal.valueOf(10000), 1000, "");
+        product.setProductId(1L);
+        Order order = new Order(USER_ID);
+        order.setOrderId(100L + index);
+        order.setOrderItem(new OrderItem("상품", 1, BigDecimal.valueOf(10000), product));
+
+        Payment payment = new Payment();
+        payment.setPaymentId(10L + index);
+        payment.setPaymentKey(keyPrefix + index);
+        payment.setOrder(order);
+        payment.setAmount(BigDecimal.valueOf(10000));
+        payment.setStatus(Payment.PaymentStatus.READY);
+        return payment;
+    }
+
+    /**
+     * 트랜잭션마다 DataSource에서 커넥션을 빌리고 끝나면 닫는 TransactionTemplate입니다.
+     */
+    private static class DataSourceTransactionTemplate extends TransactionTemplate {
+
+        private final DataSource dataSource;
+
+        DataSourceTransactionTemplate(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        @Override
+        public <T> T execute(TransactionCallback<T> action) {
+            try (Connection ignored = dataSource.getConnection()) {
+                return action.doInTransaction(null);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
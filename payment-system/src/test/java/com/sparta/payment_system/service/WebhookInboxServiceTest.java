@@ -0,0 +1,95 @@
+package com.sparta.payment_system.service;
+
+import com.sparta.payment_system.entity.WebhookInbox;
+import com.sparta.payment_system.repository.WebhookInboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WebhookInboxServiceTest {
+
+    private static final int MAX_ATTEMPTS = 5;
+
+    private WebhookInboxRepository webhookInboxRepository;
+    private PaymentService paymentService;
+    private RefundService refundService;
+    private WebhookInboxService webhookInboxService;
+
+    @BeforeEach
+    void setUp() {
+        webhookInboxRepository = mock(WebhookInboxRepository.class);
+        paymentService = mock(PaymentService.class);
+        refundService = mock(RefundService.class);
+        when(webhookInboxRepository.claim(anyLong(), any())).thenReturn(1);
+
+        webhookInboxService = new WebhookInboxService(webhookInboxRepository, paymentService, refundService,
+                4, 100, MAX_ATTEMPTS, 300, new StandardEnvironment());
+    }
+
+    @Test
+    void 같은_결제_키의_웹훅은_수신_순서대로_처리한다() throws InterruptedException {
+        when(webhookInboxRepository.findProcessable(any(Pageable.class)))
+                .thenReturn(List.of(inbox(1L, "T1", "PAID"), inbox(2L, "T2", "PAID")))
+                .thenReturn(List.of(inbox(3L, "T1", "CANCELLED")))
+                .thenReturn(List.of());
+
+        webhookInboxService.drain();
+        webhookInboxService.drain();
+        webhookInboxService.shutdown();
+
+        InOrder order = inOrder(paymentService, refundService);
+        order.verify(paymentService).completePaymentVerification("T1", null);
+        order.verify(refundService).processWebhookRefund(eq("T1"), anyString());
+        verify(paymentService).completePaymentVerification("T2", null);
+        verify(webhookInboxRepository).markProcessed(eq(1L), any());
+        verify(webhookInboxRepository).markProcessed(eq(3L), any());
+    }
+
+    @Test
+    void 다시_시도해도_같은_오류는_바로_FAILED로_보낸다() throws InterruptedException {
+        doThrow(new IllegalStateException("환불이 진행 중이거나 완료된 결제는 완료 처리할 수 없습니다."))
+                .when(paymentService).completePaymentVerification("T1", null);
+        when(webhookInboxRepository.findProcessable(any(Pageable.class)))
+                .thenReturn(List.of(inbox(1L, "T1", "PAID")));
+
+        webhookInboxService.drain();
+        webhookInboxService.shutdown();
+
+        verify(webhookInboxRepository).markFailed(eq(1L), anyString(), eq(1));
+        verify(webhookInboxRepository, never()).markProcessed(anyLong(), any());
+    }
+
+    @Test
+    void 일시적인_오류는_재시도_한도까지_다시_대기시킨다() throws InterruptedException {
+        doThrow(new RuntimeException("PortOne 응답 지연"))
+                .when(paymentService).completePaymentVerification("T1", null);
+        when(webhookInboxRepository.findProcessable(any(Pageable.class)))
+                .thenReturn(List.of(inbox(1L, "T1", "PAID")));
+
+        webhookInboxService.drain();
+        webhookInboxService.shutdown();
+
+        verify(webhookInboxRepository).markFailed(eq(1L), anyString(), eq(MAX_ATTEMPTS));
+    }
+
+    private static WebhookInbox inbox(Long inboxId, String paymentKey, String status) {
+        WebhookInbox inbox = new WebhookInbox(paymentKey, status, "");
+        inbox.setInboxId(inboxId);
+        return inbox;
+    }
+}